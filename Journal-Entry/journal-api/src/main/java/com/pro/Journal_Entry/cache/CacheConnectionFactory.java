@@ -0,0 +1,82 @@
+package com.pro.Journal_Entry.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.time.Duration;
+
+/**
+ * The Redis connection of the cache tier (TieredCache L2 and the RedisCircuitBreaker probe)
+ *
+ * WHY A SEPARATE CLIENT?
+ * Cache calls must fail fast - a slow Redis should cost milliseconds, then L1 or the DB
+ * answers (cache.redis.timeout). The other Redis users have no such fallback: the rate
+ * limiter, the revocation filter, streaks and ETag versions keep Spring Boot's connection
+ * and spring.data.redis.timeout, so a short Redis stall does not turn into errors there.
+ *
+ * Same servers, credentials and client options as Spring Boot's connection factory, only the
+ * command timeout differs; the event loops (ClientResources) are shared.
+ * Deliberately not a RedisConnectionFactory bean - Spring Boot would back off its own.
+ */
+public class CacheConnectionFactory implements DisposableBean {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final LettuceConnectionFactory owned;
+
+    public CacheConnectionFactory(RedisConnectionFactory shared, Duration commandTimeout) {
+        if (shared instanceof LettuceConnectionFactory lettuce) {
+            owned = new LettuceConnectionFactory(configuration(lettuce),
+                    clientConfiguration(lettuce.getClientConfiguration(), commandTimeout));
+            owned.afterPropertiesSet();
+            owned.start();
+            connectionFactory = owned;
+        } else {
+            // another client library - no separate timeout, use it as it is
+            owned = null;
+            connectionFactory = shared;
+        }
+    }
+
+    public RedisConnectionFactory connectionFactory() {
+        return connectionFactory;
+    }
+
+    @Override
+    public void destroy() {
+        if (owned != null) {
+            owned.destroy();
+        }
+    }
+
+    private static RedisConfiguration configuration(LettuceConnectionFactory shared) {
+        if (shared.getClusterConfiguration() != null) {
+            return shared.getClusterConfiguration();
+        }
+        if (shared.getSentinelConfiguration() != null) {
+            return shared.getSentinelConfiguration();
+        }
+        return shared.getStandaloneConfiguration();
+    }
+
+    private static LettuceClientConfiguration clientConfiguration(LettuceClientConfiguration shared,
+                                                                  Duration commandTimeout) {
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder()
+                .commandTimeout(commandTimeout)
+                .shutdownTimeout(shared.getShutdownTimeout());
+        if (shared.isUseSsl()) {
+            LettuceClientConfiguration.LettuceSslClientConfigurationBuilder ssl =
+                    builder.useSsl().verifyPeer(shared.getVerifyMode());
+            if (shared.isStartTls()) {
+                ssl.startTls();
+            }
+        }
+        shared.getClientResources().ifPresent(builder::clientResources);
+        shared.getClientOptions().ifPresent(builder::clientOptions);
+        shared.getClientName().ifPresent(builder::clientName);
+        shared.getReadFrom().ifPresent(builder::readFrom);
+        return builder.build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.pro.Journal_Entry.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+/**
+ * Cache errors from @Cacheable / @CachePut / @CacheEvict are logged and counted, never thrown
+ *
+ * WHY?
+ * The default SimpleCacheErrorHandler rethrows, so a cache failure turns into a 500
+ * although the database could answer. TieredCache already swallows Redis errors;
+ * this covers everything else (serialization, L1, other cache managers).
+ * A failed get is treated as a miss, the method runs and reads the DB.
+ */
+@Slf4j
+public class CountingCacheErrorHandler implements CacheErrorHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    public CountingCacheErrorHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        record("get", exception, cache, key);
+    }
+
+    @Override
+    public void handleCachePutError(RuntimeException exception, Cache cache, Object key, Object value) {
+        record("put", exception, cache, key);
+    }
+
+    @Override
+    public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
+        record("evict", exception, cache, key);
+    }
+
+    @Override
+    public void handleCacheClearError(RuntimeException exception, Cache cache) {
+        record("clear", exception, cache, null);
+    }
+
+    private void record(String operation, RuntimeException exception, Cache cache, Object key) {
+        meterRegistry.counter("cache.errors", "cache", cache.getName(), "operation", operation).increment();
+        log.warn("Cache {} failed on {} (key={}): {}", operation, cache.getName(), key, exception.getMessage());
+    }
+}
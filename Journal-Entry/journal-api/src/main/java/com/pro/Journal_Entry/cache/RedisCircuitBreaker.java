@@ -0,0 +1,116 @@
+package com.pro.Journal_Entry.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker for the Redis cache tier (TieredCache L2)
+ *
+ * WHY?
+ * Even with a short command timeout, every cache call during a Redis outage waits for
+ * that timeout before falling back to the database. With the breaker open the caches skip
+ * Redis entirely: L1 (Caffeine) or the method itself (DB) answers at once.
+ *
+ * CLOSED    - Redis is used; cache.redis.circuit.failure-threshold consecutive failures -> OPEN
+ * OPEN      - Redis is skipped; after open-duration a probe runs
+ * HALF_OPEN - one PING from the probe (no user request pays for it): PONG -> CLOSED, error -> OPEN
+ *
+ * Errors are logged and counted (cache.errors{cache,operation}), never thrown to callers.
+ * Probes over the cache's own connection (CacheConnectionFactory, bean in RedisConfig).
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final RedisConnectionFactory connectionFactory;
+    private final MeterRegistry meterRegistry;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
+    public RedisCircuitBreaker(RedisConnectionFactory connectionFactory,
+                               MeterRegistry meterRegistry,
+                               int failureThreshold,
+                               Duration openDuration) {
+        this.connectionFactory = connectionFactory;
+        this.meterRegistry = meterRegistry;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        Gauge.builder("cache.redis.circuit.state", state, s -> s.get().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    /**
+     * May this call go to Redis?
+     */
+    public boolean allowRequest() {
+        return state.get() == State.CLOSED;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    public void onFailure(String cacheName, String operation, RuntimeException e) {
+        meterRegistry.counter("cache.errors", "cache", cacheName, "operation", operation).increment();
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold
+                && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            openedAt = System.nanoTime();
+            log.warn("Redis circuit OPEN after {} consecutive failures, caches bypass Redis: {}",
+                    failureThreshold, e.getMessage());
+        } else {
+            log.debug("Redis {} failed for cache {}: {}", operation, cacheName, e.getMessage());
+        }
+    }
+
+    public void onBypass(String cacheName) {
+        meterRegistry.counter("cache.redis.bypassed", "cache", cacheName).increment();
+    }
+
+    /**
+     * Called after the circuit closes again (TieredCache drops what it could not evict meanwhile)
+     */
+    public void onClose(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.redis.circuit.probe-interval:PT1S}")
+    public void probe() {
+        if (state.get() != State.OPEN || System.nanoTime() - openedAt < openNanos
+                || !state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        } catch (RuntimeException e) {
+            openedAt = System.nanoTime();
+            state.set(State.OPEN);
+            log.debug("Redis probe failed, circuit stays open: {}", e.getMessage());
+            return;
+        }
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+        log.info("Redis circuit CLOSED, caches use Redis again");
+        closeListeners.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,568 @@
+package com.pro.Journal_Entry.cache;
+
+import com.pro.Journal_Entry.diagnostics.CacheEvent;
+import com.pro.Journal_Entry.diagnostics.RequestCost;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Two-level cache
+ *
+ * L1 - Caffeine, lives inside this JVM (node-local, very fast, long TTL)
+ * L2 - Redis, shared by every node (source of truth for cached values)
+ *
+ * READ:  L1 → L2 → method (DB)
+ * WRITE: L2 first, then L1
+ * EVICT: both tiers on this node
+ *
+ * Other nodes drop their L1 copy when they see the journal event
+ * (see CacheInvalidationService), so L1 staleness is bounded by event lag
+ *
+ * BATCH (getAll / putAll): L1 first, then ONE Redis MGET for the rest;
+ * backfill is one pipelined round trip of SET ... PX (same key format and TTL as RedisCache)
+ * A batch backfill writes rows read outside the cache, so it goes through a BatchLoad opened
+ * BEFORE the query: keys evicted since then (evict, evictLocal from the broadcast, clear) are
+ * not written, and a key evicted while the write was running is evicted again right after it.
+ *
+ * REDIS FAILURES never reach the caller (RedisCircuitBreaker):
+ * - a failed L2 read is a miss (-> DB), a failed L2 write only skips L2
+ * - while the circuit is open L2 is not called at all, L1 keeps working
+ * - an eviction that could not reach Redis leaves a stale L2 entry, so after the
+ *   outage the whole L2 cache is cleared once (afterOutage)
+ *
+ * STATS (TieredCacheMetrics): hits per tier, misses, puts and load time.
+ * The load time is only known for get(key, loader) - @Cacheable(sync = true), which is how
+ * JournalService caches. A plain get(key) miss is counted, but nothing is kept between it and
+ * the put that may (or may not, when the method throws) follow.
+ * Slow lookups and loads are also JFR journal.Cache events (ContinuousRecording),
+ * get / put time of the current request goes to RequestCost (Server-Timing cache-get / cache-put).
+ */
+public class TieredCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache remote;
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCircuitBreaker circuitBreaker;
+    // an evict / clear did not reach Redis
+    private final AtomicBoolean missedEvictions = new AtomicBoolean();
+    // keys of the BatchLoads in flight -> evictions since; clears counts clear() calls
+    private final Map<Object, Watch> watches = new ConcurrentHashMap<>();
+    private final AtomicLong clears = new AtomicLong();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public TieredCache(String name,
+                       com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                       Cache remote,
+                       RedisConnectionFactory connectionFactory,
+                       RedisCircuitBreaker circuitBreaker) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.connectionFactory = connectionFactory;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        RequestCost cost = RequestCost.current();
+        long start = cost == null ? 0 : System.nanoTime();
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            if (cost != null) {
+                cost.add(RequestCost.Stage.CACHE_GET, System.nanoTime() - start);
+            }
+            return new SimpleValueWrapper(value);
+        }
+
+        CacheEvent event = new CacheEvent();
+        event.begin();
+        ValueWrapper wrapper = remote("get", () -> remote.get(key), null);
+        boolean hit = wrapper != null && wrapper.get() != null;
+        if (hit) {
+            remoteHits.increment();
+            local.put(key, wrapper.get());
+        } else {
+            misses.increment();
+        }
+        commit(event, "lookup", hit ? "remote" : "miss");
+        if (cost != null) {
+            cost.add(RequestCost.Stage.CACHE_GET, System.nanoTime() - start);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        RequestCost cost = RequestCost.current();
+        long getStart = cost == null ? 0 : System.nanoTime();
+        // [0] L1 missed, [1] loader ran, [2] loader nanos, [3] loader returned
+        long[] trace = new long[4];
+        Object[] loaded = new Object[1];
+        Callable<T> timedLoader = () -> {
+            trace[1] = 1;
+            CacheEvent event = new CacheEvent();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                T value = valueLoader.call();
+                loaded[0] = value;
+                trace[3] = 1;
+                return value;
+            } finally {
+                trace[2] = System.nanoTime() - start;
+                recordLoad(trace[2]);
+                commit(event, "load", "miss");
+            }
+        };
+        T result = (T) local.get(key, k -> {
+            trace[0] = 1;
+            if (circuitBreaker.allowRequest()) {
+                try {
+                    T value = remote.get(k, timedLoader);
+                    circuitBreaker.onSuccess();
+                    return value;
+                } catch (ValueRetrievalException e) {
+                    // the loader failed, not Redis
+                    throw e;
+                } catch (RuntimeException e) {
+                    circuitBreaker.onFailure(name, "get", e);
+                    if (trace[3] == 1) {
+                        // only the L2 write after the load failed - do not run the method twice
+                        return (T) loaded[0];
+                    }
+                }
+            } else {
+                circuitBreaker.onBypass(name);
+            }
+            try {
+                return timedLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+        });
+        if (trace[0] == 0) {
+            localHits.increment();
+        } else if (trace[1] == 1) {
+            misses.increment();
+        } else {
+            remoteHits.increment();
+        }
+        if (cost != null) {
+            // the loader's time is the method's (db), not the cache's
+            cost.add(RequestCost.Stage.CACHE_GET, System.nanoTime() - getStart - trace[2]);
+        }
+        return result;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        puts.increment();
+        RequestCost cost = RequestCost.current();
+        long start = cost == null ? 0 : System.nanoTime();
+        remote("put", () -> {
+            remote.put(key, value);
+            return null;
+        }, null);
+        if (value != null) {
+            local.put(key, value);
+        }
+        if (cost != null) {
+            cost.add(RequestCost.Stage.CACHE_PUT, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        markEvicted(key);
+        Boolean evicted = remote("evict", () -> {
+            remote.evict(key);
+            return true;
+        }, false);
+        if (!evicted) {
+            missedEvictions.set(true);
+        }
+        local.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        markEvicted(key);
+        local.invalidate(key);
+        Boolean present = remote("evict", () -> remote.evictIfPresent(key), null);
+        if (present == null) {
+            missedEvictions.set(true);
+            return false;
+        }
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        clears.incrementAndGet();
+        Boolean cleared = remote("clear", () -> {
+            remote.clear();
+            return true;
+        }, false);
+        if (!cleared) {
+            missedEvictions.set(true);
+        }
+        local.invalidateAll();
+    }
+
+    /**
+     * Redis is back (circuit closed): drop L2 entries that may have missed an eviction
+     */
+    void afterOutage() {
+        if (missedEvictions.getAndSet(false)) {
+            Boolean cleared = remote("clear", () -> {
+                remote.clear();
+                return true;
+            }, false);
+            if (!cleared) {
+                missedEvictions.set(true);
+            }
+        }
+    }
+
+    private void recordLoad(long nanos) {
+        loads.increment();
+        loadNanos.add(nanos);
+    }
+
+    private void commit(CacheEvent event, String operation, String result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = name;
+            event.operation = operation;
+            event.result = result;
+            event.commit();
+        }
+    }
+
+    private <T> T remote(String operation, Supplier<T> call, T fallback) {
+        if (!circuitBreaker.allowRequest()) {
+            circuitBreaker.onBypass(name);
+            return fallback;
+        }
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(name, operation, e);
+            return fallback;
+        }
+    }
+
+    /**
+     * Values for many keys at once - missing keys are absent from the result
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        RequestCost cost = RequestCost.current();
+        long start = cost == null ? 0 : System.nanoTime();
+        try {
+            return getAllTiers(keys);
+        } finally {
+            if (cost != null) {
+                cost.add(RequestCost.Stage.CACHE_GET, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private Map<Object, Object> getAllTiers(Collection<?> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        for (Object key : keys) {
+            Object value = local.getIfPresent(key);
+            if (value != null) {
+                found.put(key, value);
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+        localHits.add(found.size());
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        if (!circuitBreaker.allowRequest()) {
+            circuitBreaker.onBypass(name);
+            misses.add(remoteKeys.size());
+            return found;
+        }
+        if (!(remote instanceof RedisCache redisCache) || connectionFactory == null) {
+            for (Object key : remoteKeys) {
+                ValueWrapper wrapper = get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    found.put(key, wrapper.get());
+                }
+            }
+            return found;
+        }
+
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        byte[][] rawKeys = new byte[remoteKeys.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = rawKey(config, remoteKeys.get(i));
+        }
+
+        List<byte[]> rawValues;
+        CacheEvent event = new CacheEvent();
+        event.begin();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+            circuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(name, "get", e);
+            misses.add(remoteKeys.size());
+            commit(event, "batch-lookup", "miss");
+            return found;
+        }
+        commit(event, "batch-lookup", "remote");
+        if (rawValues == null) {
+            misses.add(remoteKeys.size());
+            return found;
+        }
+
+        int before = found.size();
+
+        for (int i = 0; i < rawValues.size(); i++) {
+            byte[] raw = rawValues.get(i);
+            if (raw == null) {
+                continue;
+            }
+            Object value = config.getValueSerializationPair().read(ByteBuffer.wrap(raw));
+            if (value != null) {
+                local.put(remoteKeys.get(i), value);
+                found.put(remoteKeys.get(i), value);
+            }
+        }
+        remoteHits.add(found.size() - before);
+        misses.add(remoteKeys.size() - (found.size() - before));
+        return found;
+    }
+
+    /**
+     * Store many values - L2 in one pipelined round trip, then L1
+     */
+    public void putAll(Map<?, ?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (!(remote instanceof RedisCache redisCache) || connectionFactory == null) {
+            values.forEach(this::put);
+            return;
+        }
+        puts.add(values.size());
+        RequestCost cost = RequestCost.current();
+        long start = cost == null ? 0 : System.nanoTime();
+        try {
+            putAllTiers(redisCache, values);
+        } finally {
+            if (cost != null) {
+                cost.add(RequestCost.Stage.CACHE_PUT, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void putAllTiers(RedisCache redisCache, Map<?, ?> values) {
+        if (!circuitBreaker.allowRequest()) {
+            circuitBreaker.onBypass(name);
+            putAllLocal(values);
+            return;
+        }
+
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            values.forEach((key, value) -> {
+                if (value == null) {
+                    return;
+                }
+                ByteBuffer buffer = config.getValueSerializationPair().write(value);
+                byte[] raw = new byte[buffer.remaining()];
+                buffer.get(raw);
+                Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                connection.stringCommands().set(rawKey(config, key), raw,
+                        ttl == null || ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                        RedisStringCommands.SetOption.upsert());
+            });
+            connection.closePipeline();
+            circuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(name, "put", e);
+        }
+        putAllLocal(values);
+    }
+
+    private void putAllLocal(Map<?, ?> values) {
+        values.forEach((key, value) -> {
+            if (value != null) {
+                local.put(key, value);
+            }
+        });
+    }
+
+    private byte[] rawKey(RedisCacheConfiguration config, Object key) {
+        // same as RedisCache: prefix ("journals::") + key, String keys with the StringRedisSerializer
+        return (config.getKeyPrefixFor(name) + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    long localHitCount() {
+        return localHits.sum();
+    }
+
+    long remoteHitCount() {
+        return remoteHits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long putCount() {
+        return puts.sum();
+    }
+
+    long loadCount() {
+        return loads.sum();
+    }
+
+    long loadTotalNanos() {
+        return loadNanos.sum();
+    }
+
+    long localSize() {
+        return local.estimatedSize();
+    }
+
+    long localEvictionCount() {
+        return local.stats().evictionCount();
+    }
+
+    /**
+     * Drop only the node-local copy (L2 was already evicted by the writer node)
+     */
+    public void evictLocal(Object key) {
+        markEvicted(key);
+        local.invalidate(key);
+    }
+
+    /**
+     * Start a batch load of these keys - open it before reading the values from the source,
+     * write them with BatchLoad.putAll, then close it (try-with-resources)
+     */
+    public BatchLoad batchLoad(Collection<?> keys) {
+        return new BatchLoad(keys);
+    }
+
+    private void markEvicted(Object key) {
+        // only keys a batch load is watching - nothing is kept for the others
+        watches.computeIfPresent(key, (k, watch) -> {
+            watch.evictions++;
+            return watch;
+        });
+    }
+
+    private static final class Watch {
+        private int watchers;
+        private volatile long evictions;
+    }
+
+    public final class BatchLoad implements AutoCloseable {
+
+        private final Map<Object, Long> seen = new HashMap<>();
+        private final long clearsSeen;
+
+        private BatchLoad(Collection<?> keys) {
+            clearsSeen = clears.get();
+            for (Object key : keys) {
+                watches.compute(key, (k, watch) -> {
+                    Watch current = watch == null ? new Watch() : watch;
+                    current.watchers++;
+                    seen.put(k, current.evictions);
+                    return current;
+                });
+            }
+        }
+
+        /**
+         * Store the values of watched keys not evicted since this load was opened
+         */
+        public void putAll(Map<?, ?> values) {
+            Map<Object, Object> fresh = new HashMap<>();
+            values.forEach((key, value) -> {
+                if (seen.containsKey(key) && !evictedSince(key)) {
+                    fresh.put(key, value);
+                }
+            });
+            TieredCache.this.putAll(fresh);
+            // evicted between the check and the write - the eviction may have run before the write landed
+            fresh.keySet().stream().filter(this::evictedSince).forEach(TieredCache.this::evict);
+        }
+
+        private boolean evictedSince(Object key) {
+            Watch watch = watches.get(key);
+            return clears.get() != clearsSeen || watch == null || watch.evictions != seen.get(key);
+        }
+
+        @Override
+        public void close() {
+            for (Object key : seen.keySet()) {
+                watches.computeIfPresent(key, (k, watch) -> --watch.watchers == 0 ? null : watch);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.pro.Journal_Entry.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache Manager that puts a Caffeine tier (L1) in front of every Redis cache (L2)
+ */
+public class TieredCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final Duration localTtl;
+    private final long localMaximumSize;
+    // for the batch operations (MGET / pipelined SET) of TieredCache
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCircuitBreaker circuitBreaker;
+    // cache.gets / cache.puts / cache.load ... per cache name (TieredCacheMetrics), null = no metrics
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, TieredCache> caches = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(CacheManager remoteCacheManager, Duration localTtl, long localMaximumSize,
+                              RedisConnectionFactory connectionFactory, RedisCircuitBreaker circuitBreaker,
+                              MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localTtl = localTtl;
+        this.localMaximumSize = localMaximumSize;
+        this.connectionFactory = connectionFactory;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        circuitBreaker.onClose(() -> caches.values().forEach(TieredCache::afterOutage));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TieredCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            throw new IllegalStateException("No remote cache configured for: " + name);
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder()
+                .expireAfterWrite(localTtl)
+                .maximumSize(localMaximumSize)
+                .recordStats()
+                .build();
+
+        TieredCache cache = new TieredCache(name, local, remote, connectionFactory, circuitBreaker);
+        if (meterRegistry != null) {
+            new TieredCacheMetrics(cache, List.of()).bindTo(meterRegistry);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,78 @@
+package com.pro.Journal_Entry.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer binding for TieredCache - tagged by cache name only
+ *
+ * Standard cache meters (same names as for any Spring cache):
+ * - cache.gets{result=hit|miss}  hits of either tier / misses that went to the method (DB)
+ * - cache.puts, cache.evictions (L1 size evictions), cache.size (L1 entries)
+ * Tiered specifics:
+ * - cache.tier.hits{tier=local|remote}
+ * - cache.load                   time from a miss until the loaded value is put
+ */
+public class TieredCacheMetrics extends CacheMeterBinder<TieredCache> {
+
+    public TieredCacheMetrics(TieredCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        TieredCache cache = getCache();
+        return cache == null ? null : cache.localSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        TieredCache cache = getCache();
+        return cache == null ? 0 : cache.localHitCount() + cache.remoteHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        TieredCache cache = getCache();
+        return cache == null ? null : cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TieredCache cache = getCache();
+        return cache == null ? null : cache.localEvictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        TieredCache cache = getCache();
+        return cache == null ? 0 : cache.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        TieredCache cache = getCache();
+        if (cache == null) {
+            return;
+        }
+        FunctionCounter.builder("cache.tier.hits", cache, TieredCache::localHitCount)
+                .tags(Tags.concat(getTagsWithCacheName(), "tier", "local"))
+                .description("Hits served by Caffeine on this node")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.hits", cache, TieredCache::remoteHitCount)
+                .tags(Tags.concat(getTagsWithCacheName(), "tier", "remote"))
+                .description("Hits served by Redis")
+                .register(registry);
+        FunctionTimer.builder("cache.load", cache, TieredCache::loadCount,
+                        TieredCache::loadTotalNanos, TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName())
+                .description("Time to load a missing value (method / DB)")
+                .register(registry);
+    }
+}
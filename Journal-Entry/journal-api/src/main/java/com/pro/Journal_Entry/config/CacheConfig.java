@@ -0,0 +1,53 @@
+package com.pro.Journal_Entry.config;
+
+import com.pro.Journal_Entry.cache.CountingCacheErrorHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Cache Configuration
+ *
+ * CACHE NAMES USED:
+ * - "journals" - Individual journal entries
+ * - "calendar" - Calendar month view
+ *
+ * Each cache has two tiers (see RedisConfig / TieredCacheManager):
+ * Caffeine on this node (L1) and Redis shared by all nodes (L2)
+ *
+ * A cache failure never fails the request: errors are logged and counted
+ * (CountingCacheErrorHandler), Redis is bypassed while it is unhealthy (RedisCircuitBreaker)
+ */
+@Configuration
+@EnableCaching
+@EnableScheduling
+public class CacheConfig implements CachingConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public CacheConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new CountingCacheErrorHandler(meterRegistry.getObject());
+    }
+
+    /**
+     * Clear all caches at midnight
+     * Prevents stale data accumulation
+     * Cron: "0 0 0 * * ?" = Every day at 00:00:00
+     */
+    @Scheduled(cron = "0 0 0 * * ?")
+    @CacheEvict(value = {"journals","calendar"},allEntries = true)
+    public void clearCacheMidnight(){
+        //Caches are automatically cleared bt @CacheEvict
+    }
+}
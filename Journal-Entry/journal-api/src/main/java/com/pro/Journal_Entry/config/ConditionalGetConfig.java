@@ -0,0 +1,150 @@
+package com.pro.Journal_Entry.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conditional GET support
+ *
+ * - JournalController answers 304 itself for journals, calendar and lists (JournalVersionService)
+ * - stats and streaks are computed from rollups the worker applies later, so there is no
+ *   write-time version for them; ShallowEtagHeaderFilter hashes the body instead
+ *   (saves the bytes on the wire, not the work)
+ * - bytes saved: the filter below counts the body size of 200s that carry an ETag and,
+ *   for each 304, adds the average 200 size of that endpoint to http.conditional.bytes.saved
+ */
+@Configuration
+public class ConditionalGetConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/journals/stats", "/api/journals/streaks");
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConditionalGetMetricsFilter> conditionalGetMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConditionalGetMetricsFilter> registration =
+                new FilterRegistrationBean<>(new ConditionalGetMetricsFilter(meterRegistry));
+        registration.addUrlPatterns("/api/journals/*");
+        // outside the security chain and the ETag filter, so it sees the final status
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    static class ConditionalGetMetricsFilter extends OncePerRequestFilter {
+
+        private final MeterRegistry meterRegistry;
+        // endpoint pattern -> {sum of 200 body bytes, count}
+        private final Map<String, AtomicLong[]> sizes = new ConcurrentHashMap<>();
+
+        ConditionalGetMetricsFilter(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return !"GET".equals(request.getMethod());
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+            CountingResponse counting = new CountingResponse(response);
+            filterChain.doFilter(request, counting);
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern == null || response.getHeader(HttpHeaders.ETAG) == null) {
+                return;
+            }
+            // bounded tag values: the mapping pattern, never the raw path
+            String endpoint = pattern.toString();
+            AtomicLong[] stats = sizes.computeIfAbsent(endpoint, key -> new AtomicLong[]{new AtomicLong(), new AtomicLong()});
+
+            if (response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+                meterRegistry.counter("http.conditional.not-modified", "endpoint", endpoint).increment();
+                long count = stats[1].get();
+                if (count > 0) {
+                    meterRegistry.counter("http.conditional.bytes.saved", "endpoint", endpoint)
+                            .increment((double) stats[0].get() / count);
+                }
+            } else if (response.getStatus() == HttpServletResponse.SC_OK) {
+                stats[0].addAndGet(counting.bytes());
+                stats[1].incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Counts body bytes as they pass, without buffering them
+     */
+    static class CountingResponse extends HttpServletResponseWrapper {
+
+        private final AtomicLong bytes = new AtomicLong();
+        private ServletOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytes() {
+            return bytes.get();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytes.incrementAndGet();
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytes.addAndGet(len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+    }
+}
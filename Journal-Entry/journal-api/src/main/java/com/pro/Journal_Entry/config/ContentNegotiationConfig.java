@@ -0,0 +1,117 @@
+package com.pro.Journal_Entry.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary response formats, chosen by the Accept header
+ *
+ * - Accept: application/cbor             -> CBOR
+ * - Accept: application/x-jackson-smile  -> Smile
+ * - anything else (incl. no Accept, * / *) -> JSON as before
+ *
+ * WHY?
+ * Native clients parse binary formats faster and get smaller payloads:
+ * field names and numbers are not text, dates stay ISO strings (same shape as the JSON).
+ * Numbers: SerializationBenchmark (speed) and PayloadSizeTest (size), both in journal-benchmarks.
+ *
+ * Spring MVC already registers CBOR / Smile converters when the dataformats are on the classpath,
+ * right after the JSON converter - so for Accept: * / * Spring picks JSON, browsers and curl
+ * keep getting JSON. But those use a plain Jackson2ObjectMapperBuilder: no spring.jackson.*
+ * settings, WRITE_DATES_AS_TIMESTAMPS on, dates as [2026,1,5] arrays. They are REPLACED IN PLACE
+ * with converters built from Spring Boot's builder (JavaTimeModule, spring.jackson.*), so the
+ * fields and dates are exactly those of the JSON responses.
+ * Request bodies in CBOR / Smile (Content-Type) are read by the same converters.
+ *
+ * One URL, three bodies:
+ * - every /api response says Vary: Accept, so no cache hands a CBOR body to a JSON client
+ * - JournalController adds the representation to its ETags (representation() below),
+ *   a JSON ETag never 304s a CBOR request
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public ContentNegotiationConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // the builder bean is a prototype - a fresh one for each format
+        HttpMessageConverter<?> cbor = new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build());
+        HttpMessageConverter<?> smile = new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build());
+        replaceOrAdd(converters, MappingJackson2CborHttpMessageConverter.class, cbor);
+        replaceOrAdd(converters, MappingJackson2SmileHttpMessageConverter.class, smile);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                // before the handler - a 304 needs it as well
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Suffix for the ETag of the representation Spring will write for these Accept types:
+     * "cbor" / "smile", or null for JSON (unchanged ETags for existing clients)
+     *
+     * Same choice as the converters: the most preferred acceptable type wins,
+     * wildcards fall to the first converter (JSON).
+     */
+    public static String representation(List<MediaType> accepted) {
+        List<MediaType> sorted = new ArrayList<>(accepted);
+        MimeTypeUtils.sortBySpecificity(sorted);
+        for (MediaType mediaType : sorted) {
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()
+                    || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "cbor";
+            }
+            if (mediaType.isCompatibleWith(SMILE)) {
+                return "smile";
+            }
+        }
+        return null;
+    }
+
+    private static void replaceOrAdd(List<HttpMessageConverter<?>> converters,
+                                     Class<?> type, HttpMessageConverter<?> converter) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, converter);
+                return;
+            }
+        }
+        converters.add(converter);
+    }
+}
@@ -2,17 +2,23 @@ package com.pro.Journal_Entry.config;
 
 
 import com.pro.Journal_Entry.dto.JournalEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -28,6 +34,10 @@ import java.util.Map;
  * - Asynchronous processing - Don't wait for background tasks
  * - Decoupling - Journal service doesn't know who uses events
  * - Scalability - Multiple consumers can process events
+ *
+ * METRICS:
+ * - spring.kafka.template - send -> broker ack latency per template and topic (observation)
+ * - kafka.producer.*      - client metrics (batch size, request latency, errors)
  */
 
 @Configuration
@@ -35,9 +45,21 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    private final MeterRegistry meterRegistry;
+
+    public KafkaProducerConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     //producer Factory configuration
     @Bean
     public ProducerFactory<String, JournalEvent> producerFactory(){
+        DefaultKafkaProducerFactory<String, JournalEvent> factory = new DefaultKafkaProducerFactory<>(producerConfig());
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    private Map<String,Object> producerConfig(){
         Map<String,Object> config = new HashMap<>();
 
         //kafka server address
@@ -53,7 +75,7 @@ public class KafkaProducerConfig {
         config.put(ProducerConfig.ACKS_CONFIG,"all"); //wait for all replicas
         config.put(ProducerConfig.RETRIES_CONFIG,3);  // Retry 3 time on failure
 
-        return new DefaultKafkaProducerFactory<>(config);
+        return config;
     }
 
     /**
@@ -62,6 +84,29 @@ public class KafkaProducerConfig {
 
     @Bean
     public KafkaTemplate<String,JournalEvent> kafkaTemplate(){
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String,JournalEvent> template = new KafkaTemplate<>(producerFactory());
+        template.setObservationEnabled(true);
+        return template;
+    }
+
+    /**
+     * Kafka Template used by DeadLetterService to replay DLT records
+     * byte[] values (raw DLT records) are sent untouched, JournalEvent as JSON
+     */
+    @Bean
+    public KafkaTemplate<String,Object> replayKafkaTemplate(){
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(JournalEvent.class, new JsonSerializer<>());
+
+        DefaultKafkaProducerFactory<String,Object> factory = new DefaultKafkaProducerFactory<>(
+                producerConfig(),
+                new StringSerializer(),
+                new DelegatingByTypeSerializer(delegates)
+        );
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        KafkaTemplate<String,Object> template = new KafkaTemplate<>(factory);
+        template.setObservationEnabled(true);
+        return template;
     }
 }
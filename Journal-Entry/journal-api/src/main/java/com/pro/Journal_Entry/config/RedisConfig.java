@@ -88,6 +88,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pro.Journal_Entry.cache.CacheConnectionFactory;
+import com.pro.Journal_Entry.cache.RedisCircuitBreaker;
+import com.pro.Journal_Entry.cache.TieredCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -106,6 +111,12 @@ import java.time.Duration;
 @EnableCaching
 public class RedisConfig {
 
+    @Value("${cache.local.ttl:PT6H}")
+    private Duration localTtl;
+
+    @Value("${cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -138,8 +149,32 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * The cache tier's own Redis client - short cache.redis.timeout, see CacheConnectionFactory
+     */
+    @Bean
+    public CacheConnectionFactory cacheConnectionFactory(RedisConnectionFactory connectionFactory,
+                                                         @Value("${cache.redis.timeout:250ms}") Duration timeout) {
+        return new CacheConnectionFactory(connectionFactory, timeout);
+    }
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCircuitBreaker redisCircuitBreaker(CacheConnectionFactory cacheConnectionFactory,
+                                                   MeterRegistry meterRegistry,
+                                                   @Value("${cache.redis.circuit.failure-threshold:5}") int failureThreshold,
+                                                   @Value("${cache.redis.circuit.open-duration:PT5S}") Duration openDuration) {
+        return new RedisCircuitBreaker(cacheConnectionFactory.connectionFactory(), meterRegistry,
+                failureThreshold, openDuration);
+    }
+
+    /**
+     * Cache Manager - Caffeine (L1, per node) in front of Redis (L2, shared)
+     * L1 can keep a long TTL because journal events evict it on every node
+     */
+    @Bean
+    public CacheManager cacheManager(CacheConnectionFactory cacheConnectionFactory, RedisCircuitBreaker circuitBreaker,
+                                     MeterRegistry meterRegistry) {
+        RedisConnectionFactory connectionFactory = cacheConnectionFactory.connectionFactory();
         // Same ObjectMapper configuration
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());  // ← FIX: Support LocalDate
@@ -167,8 +202,12 @@ public class RedisConfig {
                 )
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TieredCacheManager(redisCacheManager, localTtl, localMaximumSize, connectionFactory, circuitBreaker,
+                meterRegistry);
     }
 }
@@ -0,0 +1,137 @@
+package com.pro.Journal_Entry.config;
+
+import com.pro.Journal_Entry.security.BoundedPasswordEncoder;
+import com.pro.Journal_Entry.ratelimit.RateLimitProperties;
+import com.pro.Journal_Entry.security.JwtAuthenticationFilter;
+import com.pro.Journal_Entry.security.RateLimitFilter;
+import com.pro.Journal_Entry.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.header.writers.DelegatingRequestMatcherHeaderWriter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
+
+@Configuration
+@EnableWebSecurity//Enables Spring Security
+@EnableMethodSecurity//Allows @PreAuthorize on methods
+@EnableConfigurationProperties(RateLimitProperties.class)
+@RequiredArgsConstructor
+public class SecurityConfig {
+
+    private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final UserDetailsServiceImpl userDetailsService;
+
+    /*
+     GETs that answer with an ETag (JournalController, ShallowEtagHeaderFilter) and set
+     "Cache-Control: private, no-cache" themselves. Spring Security's default
+     "no-cache, no-store" would forbid the browser to keep the body, so there would
+     never be an If-None-Match to answer with 304.
+    */
+    private static final RequestMatcher CONDITIONAL_GET = new OrRequestMatcher(
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/journals"),
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/journals/date/*"),
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/journals/calendar"),
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/journals/search"),
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/journals/stats"),
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/journals/streaks"),
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/journals/admin/all"));
+
+    /**
+     * Security Filter Chain
+     * Defines what's protected and what's public
+     */
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception{
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .headers(headers -> headers
+                        .cacheControl(HeadersConfigurer.CacheControlConfig::disable)
+                        .addHeaderWriter(new DelegatingRequestMatcherHeaderWriter(
+                                new NegatedRequestMatcher(CONDITIONAL_GET), new CacheControlHeadersWriter())))
+                .authorizeHttpRequests(auth -> auth
+                        // the async dispatch that ends an SSE stream - the request was authorized when it started
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/api/health").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        // scraped without a token - only on the management port (8090), which is not published
+                        .requestMatchers("/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // also checked by @PreAuthorize - here a non-admin gets a plain 403 before the controller
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .anyRequest().authenticated()
+                )
+                .sessionManagement(session ->session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authenticationProvider(authenticationProvider)
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
+
+                 return http.build();
+    }
+
+    /**
+     * BCrypt on its own bounded pool (see BoundedPasswordEncoder)
+     * threads defaults to the core count - more threads than cores only adds queueing inside the CPU
+     */
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.hashing.threads:0}") int threads,
+            @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.hashing.timeout:PT5S}") Duration timeout,
+            @Value("${security.password.hashing.retry-after-seconds:2}") long retryAfterSeconds){
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(strength),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                timeout,
+                retryAfterSeconds,
+                meterRegistry
+        );
+    }
+
+    /**
+     * setUserDetailsPasswordService: after a successful login, a hash made with a lower
+     * BCrypt cost than security.password.bcrypt-strength is re-encoded and saved (rehash-on-login)
+     */
+    @Bean
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder){
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsService);
+        return authProvider;
+    }
+
+    @Bean
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception{
+        return config.getAuthenticationManager();
+    }
+}
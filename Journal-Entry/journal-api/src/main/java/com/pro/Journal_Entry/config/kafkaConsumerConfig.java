@@ -1,16 +1,20 @@
 package com.pro.Journal_Entry.config;
 
 import com.pro.Journal_Entry.dto.JournalEvent;
-import com.pro.Journal_Entry.entity.JournalEntry;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
@@ -20,6 +24,11 @@ import java.util.Map;
  * Kafka Consumer Configuration
  *
  * Consumer listens to topics and processes messages
+ * The API only runs the per-node broadcast listener (CacheInvalidationService),
+ * journal-group processing lives in journal-worker
+ *
+ * METRICS: kafka.consumer.* client metrics - consumer lag is
+ * kafka.consumer.fetch.manager.records.lag(.max) per topic / partition
  */
 @Configuration
 @EnableKafka
@@ -30,8 +39,21 @@ public class kafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final MeterRegistry meterRegistry;
+
+    public kafkaConsumerConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Consumer Factory Configuration
+     *
+     * JsonDeserializer is wrapped in ErrorHandlingDeserializer:
+     * a payload that can't be parsed becomes a DeserializationException for that
+     * one record (logged and skipped) instead of failing every poll of the partition
      */
     @Bean
     public ConsumerFactory<String, JournalEvent> consumerFactory(){
@@ -52,10 +74,31 @@ public class kafkaConsumerConfig {
         //Start reading from the earliest message if no offset found
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG,"earliest");
 
+        DefaultKafkaConsumerFactory<String, JournalEvent> factory = new DefaultKafkaConsumerFactory<>(
+                config,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(JournalEvent.class,false))
+        );
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Raw consumer for inspecting dead-letter records
+     * Values stay as bytes - a DLT record may not be valid JSON at all
+     * No group: DeadLetterService assigns partitions itself and never commits
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> deadLetterConsumerFactory(){
+        Map<String,Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG,bootstrapServers);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG,false);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG,"earliest");
+
         return new DefaultKafkaConsumerFactory<>(
                 config,
                 new StringDeserializer(),
-                new JsonDeserializer<>(JournalEvent.class,false)
+                new ByteArrayDeserializer()
         );
     }
 
@@ -67,6 +110,13 @@ public class kafkaConsumerConfig {
     public ConcurrentKafkaListenerContainerFactory<String,JournalEvent> kafkaListenerContainerFactory(){
         ConcurrentKafkaListenerContainerFactory<String,JournalEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.getContainerProperties().setObservationEnabled(true);
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            // virtual-thread mode: consumer threads are virtual, a consumer blocked in poll() holds no platform thread
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kafka-vt-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
         return factory;
     }
 }
@@ -2,6 +2,7 @@ package com.pro.Journal_Entry.controller;
 
 import com.pro.Journal_Entry.dto.AuthRequest;
 import com.pro.Journal_Entry.dto.AuthResponse;
+import com.pro.Journal_Entry.dto.RefreshRequest;
 import com.pro.Journal_Entry.dto.RegisterRequest;
 import com.pro.Journal_Entry.service.AuthService;
 import jakarta.validation.Valid;
@@ -39,6 +40,31 @@ public class AuthController {
         return new ResponseEntity<>(response,HttpStatus.CREATED);
     }
 
+    /**
+     * New access + refresh token (the refresh token is single use)
+     * POST /api/auth/refresh
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request){
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    /**
+     * Revoke the current access token (and the refresh token, if sent)
+     * POST /api/auth/logout
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader("Authorization") String authorization,
+            @RequestBody(required = false) RefreshRequest request
+    ){
+        if (!authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        authService.logout(authorization.substring(7), request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Health check
      * GET /api/auth/health
@@ -0,0 +1,48 @@
+package com.pro.Journal_Entry.controller;
+
+import com.pro.Journal_Entry.dto.DeadLetterRecord;
+import com.pro.Journal_Entry.service.DeadLetterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/dlt")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class DeadLetterController {
+
+    private final DeadLetterService deadLetterService;
+
+    /**
+     * Inspect dead-letter records
+     * GET /api/admin/dlt?limit=50  (per partition, clamped to 1..500)
+     */
+    @GetMapping
+    public ResponseEntity<List<DeadLetterRecord>> getDeadLetters(
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(deadLetterService.getDeadLetters(Math.max(1, Math.min(limit, 500))));
+    }
+
+    /**
+     * Replay one dead-letter record to the main topic
+     * POST /api/admin/dlt/{partition}/{offset}/replay
+     */
+    @PostMapping("/{partition}/{offset}/replay")
+    public ResponseEntity<Map<String, Object>> replay(
+            @PathVariable int partition,
+            @PathVariable long offset
+    ) throws Exception {
+        long replayedOffset = deadLetterService.replay(partition, offset);
+        return ResponseEntity.ok(Map.of(
+                "partition", partition,
+                "offset", offset,
+                "replayedOffset", replayedOffset
+        ));
+    }
+}
@@ -0,0 +1,59 @@
+package com.pro.Journal_Entry.controller;
+
+import com.pro.Journal_Entry.diagnostics.ContinuousRecording;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class DiagnosticsController {
+
+    private final ObjectProvider<ContinuousRecording> continuousRecording;
+
+    /**
+     * Download the last N minutes of the continuous JFR recording (open with JDK Mission Control)
+     * GET /api/admin/jfr?minutes=5
+     */
+    @GetMapping
+    public ResponseEntity<Resource> dump(@RequestParam(defaultValue = "5") int minutes) throws IOException {
+        ContinuousRecording recording = continuousRecording.getIfAvailable();
+        Path file = recording == null ? null
+                : recording.dump(Duration.ofMinutes(Math.max(1, Math.min(minutes, 60))));
+        if (file == null) {
+            return ResponseEntity.noContent().build();
+        }
+        // the temp file is deleted once the body is written
+        Resource body = new FileSystemResource(file) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName().toString()).build().toString())
+                .body(body);
+    }
+}
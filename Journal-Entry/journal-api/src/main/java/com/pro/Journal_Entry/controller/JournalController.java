@@ -0,0 +1,344 @@
+package com.pro.Journal_Entry.controller;
+
+import com.pro.Journal_Entry.config.ContentNegotiationConfig;
+import com.pro.Journal_Entry.dto.BatchGetRequest;
+import com.pro.Journal_Entry.dto.BatchGetResponse;
+import com.pro.Journal_Entry.dto.CalendarDayResponse;
+import com.pro.Journal_Entry.dto.JournalRequest;
+import com.pro.Journal_Entry.dto.JournalResponse;
+import com.pro.Journal_Entry.dto.JournalStatsResponse;
+import com.pro.Journal_Entry.dto.StreakResponse;
+import com.pro.Journal_Entry.repository.JournalField;
+import com.pro.Journal_Entry.security.JwtPrincipal;
+import com.pro.Journal_Entry.service.JournalService;
+import com.pro.Journal_Entry.service.JournalStatsService;
+import com.pro.Journal_Entry.service.JournalVersionService;
+import com.pro.Journal_Entry.service.StreakService;
+import com.pro.Journal_Entry.stream.JournalStreamService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/journals")
+@RequiredArgsConstructor
+public class JournalController {
+
+    private final JournalService journalService;
+    private final JournalStatsService journalStatsService;
+    private final StreakService streakService;
+    private final JournalVersionService journalVersionService;
+    private final JournalStreamService journalStreamService;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    // The caller comes from JwtAuthenticationFilter (@AuthenticationPrincipal) - the token is not parsed again here
+
+    /*
+     Conditional GET: if the client's If-None-Match still matches, checkNotModified()
+     sets 304 + ETag and the handler returns null - no body is built or written.
+     A null ETag (version store unavailable) means a plain 200.
+     "private, no-cache": browsers keep the body but revalidate every time (never a stale day),
+     shared caches keep nothing - every response is one user's data.
+     Spring Security's "no-store" is switched off for these paths (SecurityConfig.CONDITIONAL_GET).
+    */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private boolean notModified(ServletWebRequest webRequest, String eTag) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+        return eTag != null && webRequest.checkNotModified(withRepresentation(eTag, webRequest));
+    }
+
+    /*
+     JSON, CBOR and Smile bodies of the same version are different bytes - each gets its own
+     strong ETag ("c5f3a;cbor"), JSON keeps the plain one (see ContentNegotiationConfig)
+    */
+    private String withRepresentation(String eTag, ServletWebRequest webRequest) {
+        String representation;
+        try {
+            representation = ContentNegotiationConfig.representation(
+                    contentNegotiationManager.resolveMediaTypes(webRequest));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // unparseable Accept - the response will be a 406, not a body to tag
+            return eTag;
+        }
+        return suffixed(eTag, representation);
+    }
+
+    /*
+     Sparse fieldsets: ?fields=title,mood,excerpt selects only those columns (id is always included).
+     Each field set is a different representation of the same list, so it gets its own ETag.
+    */
+    private static String withFields(String eTag, Set<JournalField> fields) {
+        return fields == null ? eTag : suffixed(eTag, JournalField.toString(fields));
+    }
+
+    private static String suffixed(String eTag, String suffix) {
+        if (eTag == null || suffix == null) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + ";" + suffix + "\"";
+    }
+
+    /**
+     * Create journal entry
+     * POST /api/journals
+     */
+    @PostMapping
+    public ResponseEntity<JournalResponse> createJournal(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @Valid @RequestBody JournalRequest request
+    ) {
+        Long userId = principal.userId();
+        JournalResponse response = journalService.createJournal(userId, request);
+        journalVersionService.bump(userId, response.getJournalDate());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Get journal by date
+     * GET /api/journals/date/2026-01-05
+     */
+    @GetMapping("/date/{date}")
+    public ResponseEntity<JournalResponse> getJournalByDate(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            ServletWebRequest webRequest
+    ) {
+        Long userId = principal.userId();
+        // served from the journals cache - the ETag comes from id + updatedAt, no JSON needed for a 304
+        JournalResponse response = journalService.getJournalByDate(userId, date);
+        if (notModified(webRequest, journalVersionService.journalETag(response))) {
+            return null;
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get many journals at once (one request instead of N GET /date/{date})
+     * POST /api/journals/batch-get  {"dates": ["2026-01-05", ...], "ids": [42, ...]}
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse> batchGet(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @Valid @RequestBody BatchGetRequest request
+    ) {
+        return ResponseEntity.ok(journalService.getJournalsBatch(principal.userId(),
+                request.getDates() == null ? List.of() : request.getDates(),
+                request.getIds() == null ? List.of() : request.getIds()));
+    }
+
+    /**
+     * Get user's journals (paginated)
+     * GET /api/journals?page=0&size=10&sort=journalDate,desc
+     * GET /api/journals?fields=title,mood,excerpt  (sparse fieldset)
+     */
+    @GetMapping
+    public ResponseEntity<Page<?>> getUserJournals(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "journalDate,desc") String[] sort,
+            @RequestParam(required = false) String fields,
+            ServletWebRequest webRequest
+    ) {
+        Long userId = principal.userId();
+        Set<JournalField> selected = JournalField.parse(fields);
+        if (notModified(webRequest, withFields(journalVersionService.userListETag(userId), selected))) {
+            return null;
+        }
+
+        // Create Pageable with sorting
+        Pageable pageable = PageRequest.of(
+                page,
+                size,
+                Sort.by(Sort.Direction.fromString(sort[1]), sort[0])
+        );
+
+        if (selected != null) {
+            return ResponseEntity.ok(journalService.getUserJournals(userId, selected, pageable));
+        }
+        Page<JournalResponse> response = journalService.getUserJournals(userId, pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Live journal changes of the caller (server-sent events) - replaces polling the list / calendar
+     * GET /api/journals/stream   (reconnect with header Last-Event-ID to get missed events)
+     * events: JOURNAL_CREATED / JOURNAL_UPDATED / JOURNAL_DELETED with the JournalEvent as data,
+     *         "reset" = missed events are unknown, refetch everything
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return journalStreamService.subscribe(principal, lastEventId);
+    }
+
+    /**
+     * Get calendar month view
+     * GET /api/journals/calendar?month=2026-01
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<List<CalendarDayResponse>> getCalendarMonth(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            ServletWebRequest webRequest
+    ) {
+        Long userId = principal.userId();
+        // per-user month version - checked before the calendar is loaded at all
+        if (notModified(webRequest, journalVersionService.calendarETag(userId, month))) {
+            return null;
+        }
+
+        List<CalendarDayResponse> calendar = journalService.getCalendarMonth(userId, month);
+
+        return ResponseEntity.ok(calendar);
+    }
+
+    /**
+     * Mood and activity stats for a date range (served from rollups)
+     * GET /api/journals/stats?from=2026-01-01&to=2026-03-31
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<JournalStatsResponse> getStats(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        Long userId = principal.userId();
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(journalStatsService.getStats(userId, from, to));
+    }
+
+    /**
+     * Writing streaks - current, longest and for one month
+     * GET /api/journals/streaks?month=2026-01 (month defaults to the current one)
+     */
+    @GetMapping("/streaks")
+    public ResponseEntity<StreakResponse> getStreaks(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month
+    ) {
+        Long userId = principal.userId();
+        return ResponseEntity.ok().cacheControl(REVALIDATE)
+                .body(streakService.getStreaks(userId, month != null ? month : YearMonth.now()));
+    }
+
+    /**
+     * Update journal
+     * PUT /api/journals/{id}
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<JournalResponse> updateJournal(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @PathVariable Long id,
+            @Valid @RequestBody JournalRequest request
+    ) {
+        Long userId = principal.userId();
+        JournalResponse response = journalService.updateJournal(userId, id, request);
+        journalVersionService.bump(userId, response.getJournalDate());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Delete journal
+     * DELETE /api/journals/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteJournal(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @PathVariable Long id
+    ) {
+        Long userId = principal.userId();
+        JournalResponse deleted = journalService.deleteJournal(userId, id);
+        journalVersionService.bump(userId, deleted.getJournalDate());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Search journals by keyword
+     * GET /api/journals/search?keyword=happy&page=0&size=10&fields=title,excerpt
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<?>> searchJournals(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields,
+            ServletWebRequest webRequest
+    ) {
+        Long userId = principal.userId();
+        Set<JournalField> selected = JournalField.parse(fields);
+        if (notModified(webRequest, withFields(journalVersionService.userListETag(userId), selected))) {
+            return null;
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("journalDate").descending());
+
+        if (selected != null) {
+            return ResponseEntity.ok(journalService.searchJournals(userId, keyword, selected, pageable));
+        }
+
+        Page<JournalResponse> response = journalService.searchJournals(userId, keyword, pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    // ===== ADMIN ENDPOINTS =====
+
+    /**
+     * Admin: Get all journals
+     * GET /api/journals/admin/all?fields=title,username,createdAt
+     */
+    @GetMapping("/admin/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<?>> getAllJournals(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields,
+            ServletWebRequest webRequest
+    ) {
+        Set<JournalField> selected = JournalField.parse(fields);
+        if (notModified(webRequest, withFields(journalVersionService.adminListETag(), selected))) {
+            return null;
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        if (selected != null) {
+            return ResponseEntity.ok(journalService.getAllJournals(selected, pageable));
+        }
+        Page<JournalResponse> response = journalService.getAllJournals(pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Admin: Delete any journal
+     * DELETE /api/journals/admin/{id}
+     */
+    @DeleteMapping("/admin/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> adminDeleteJournal(@PathVariable Long id) {
+        JournalResponse deleted = journalService.adminDeleteJournal(id);
+        journalVersionService.bump(deleted.getUserId(), deleted.getJournalDate());
+        return ResponseEntity.noContent().build();
+    }
+}
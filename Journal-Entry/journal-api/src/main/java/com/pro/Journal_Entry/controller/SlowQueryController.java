@@ -0,0 +1,49 @@
+package com.pro.Journal_Entry.controller;
+
+import com.pro.Journal_Entry.db.SlowQueryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class SlowQueryController {
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    /**
+     * Top-N slow statements with bind shape and plan
+     * GET /api/admin/slow-queries?limit=20&sort=total|max|count
+     */
+    @GetMapping
+    public ResponseEntity<List<SlowQueryLog.Entry>> top(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "total") String sort
+    ) {
+        SlowQueryLog log = slowQueryLog.getIfAvailable();
+        if (log == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(log.top(Math.min(limit, 500), sort));
+    }
+
+    /**
+     * Clear the table (e.g. after a deploy)
+     * DELETE /api/admin/slow-queries
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        slowQueryLog.ifAvailable(SlowQueryLog::reset);
+        return ResponseEntity.noContent().build();
+    }
+}
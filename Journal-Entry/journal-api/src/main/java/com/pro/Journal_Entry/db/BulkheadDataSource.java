@@ -0,0 +1,127 @@
+package com.pro.Journal_Entry.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Semaphore bulkhead in front of the connection pool
+ *
+ * WHY?
+ * With virtual threads there is no thread pool limiting how many requests run at once:
+ * 5000 concurrent requests are 5000 threads, all asking Hikari for one of 10 connections.
+ * Hikari would park them all for up to connectionTimeout (30s) - requests pile up,
+ * latency explodes and every waiter still fails in the end.
+ * Here at most `permits` (= pool size) callers hold or wait for a pool connection;
+ * the rest wait at most maxWait for a permit, then fail fast (503 + Retry-After, see
+ * GlobalExceptionHandler) while the database keeps serving the ones it can.
+ *
+ * A permit is held from getConnection() until Connection.close() (back to the pool).
+ * One instance per pool (tag pool=user / reporting), see DatabaseBulkheadConfig.
+ * db.bulkhead.wait is the queue time: how long callers waited for a permit.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public BulkheadDataSource(String name, DataSource target, int permits, Duration maxWait, MeterRegistry meterRegistry) {
+        super(target);
+        // fair - callers get connections in arrival order, no starvation under overload
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.rejected = meterRegistry.counter("db.bulkhead.rejected", "pool", name);
+        this.waitTimer = Timer.builder("db.bulkhead.wait")
+                .description("Time waited for a database connection permit")
+                .tag("pool", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.waiting", this.permits, Semaphore::getQueueLength)
+                .tag("pool", name)
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .tag("pool", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guarded(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guarded(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejected.increment();
+                // same exception type as a Hikari timeout - Spring translates it to CannotGetJdbcConnectionException
+                throw new SQLTransientConnectionException("Database bulkhead full, no connection within "
+                        + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection", e);
+        }
+    }
+
+    /**
+     * The same connection, releasing the permit (once) when it is closed
+     */
+    private Connection guarded(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,129 @@
+package com.pro.Journal_Entry.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection pools and their bulkheads
+ *
+ * WHY TWO POOLS?
+ * GET /api/journals/admin/all sorts the whole table and counts it. On the shared pool one admin
+ * paging through data held connections that user reads were waiting for.
+ * Admin / reporting requests (db.reporting.paths) now run on their own small pool:
+ * - at most db.reporting.max-concurrent of them use the database at once, the rest wait
+ *   up to db.reporting.max-wait and then get 503 + Retry-After
+ * - every statement has a server-side timeout (db.reporting.connection-init-sql, statement_timeout)
+ * The user pool never lends connections to them, so user p99 does not see admin load.
+ *
+ * - dataSource (primary, used by JPA): routes by DbRoute to
+ *   - userDataSource      spring.datasource.hikari.*  (+ bulkhead when db.bulkhead.enabled, see BulkheadDataSource)
+ *   - reportingDataSource db.reporting.*               (always behind its bulkhead)
+ * Queue time: db.bulkhead.wait{pool}; pool usage: hikaricp.connections.*{pool}
+ * Statements slower than db.slow-query.threshold: SlowQueryLog (datasource-proxy around the router)
+ */
+@Configuration
+@Slf4j
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource userDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("user");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource reportingDataSource(DataSourceProperties properties,
+                                                @Value("${db.reporting.pool-size:2}") int poolSize,
+                                                @Value("${db.reporting.connection-timeout:PT5S}") Duration connectionTimeout,
+                                                @Value("${db.reporting.connection-init-sql:}") String connectionInitSql) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("reporting");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        if (StringUtils.hasText(connectionInitSql)) {
+            dataSource.setConnectionInitSql(connectionInitSql);
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource userDataSource,
+                                 HikariDataSource reportingDataSource,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${db.bulkhead.enabled:false}") boolean userBulkhead,
+                                 @Value("${db.bulkhead.permits:0}") int userPermits,
+                                 @Value("${db.bulkhead.max-wait:PT2S}") Duration userMaxWait,
+                                 @Value("${db.reporting.max-concurrent:2}") int reportingPermits,
+                                 @Value("${db.reporting.max-wait:PT1S}") Duration reportingMaxWait,
+                                 ObjectProvider<SlowQueryLog> slowQueryLog) {
+        DataSource user = userDataSource;
+        if (userBulkhead) {
+            int permits = userPermits > 0 ? userPermits : userDataSource.getMaximumPoolSize();
+            user = new BulkheadDataSource("user", userDataSource, permits, userMaxWait, meterRegistry);
+            log.info("Database bulkhead on the user pool: {} permits, max wait {}", permits, userMaxWait);
+        }
+        DataSource reporting = new BulkheadDataSource("reporting", reportingDataSource,
+                reportingPermits, reportingMaxWait, meterRegistry);
+
+        DbRoute.RoutingDataSource routing = new DbRoute.RoutingDataSource();
+        routing.setTargetDataSources(Map.of(DbRoute.USER, user, DbRoute.REPORTING, reporting));
+        routing.setDefaultTargetDataSource(user);
+
+        SlowQueryLog listener = slowQueryLog.getIfAvailable();
+        if (listener == null) {
+            return routing;
+        }
+        // the router is no longer the bean itself, so Spring will not initialize it
+        routing.afterPropertiesSet();
+        return ProxyDataSourceBuilder.create("journal", routing)
+                .listener(listener)
+                .build();
+    }
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> reportingRouteFilter(
+            @Value("${db.reporting.paths:/api/journals/admin/*,/api/admin/*}") List<String> paths) {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+                DbRoute.set(DbRoute.REPORTING);
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    DbRoute.clear();
+                }
+            }
+        });
+        registration.setUrlPatterns(paths);
+        // before the security chain and open-in-view - no connection is taken yet
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,43 @@
+package com.pro.Journal_Entry.db;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Which connection pool the current thread uses
+ *
+ * USER      - the main pool, all user-facing traffic (default)
+ * REPORTING - the small admin / reporting pool with statement timeouts
+ *
+ * Set per request by the reporting route filter (DatabaseBulkheadConfig), before any
+ * connection is taken: with open-in-view the connection is held until the request ends,
+ * so the route must be known when the request starts.
+ */
+public enum DbRoute {
+    USER,
+    REPORTING;
+
+    private static final ThreadLocal<DbRoute> CURRENT = new ThreadLocal<>();
+
+    public static DbRoute current() {
+        DbRoute route = CURRENT.get();
+        return route != null ? route : USER;
+    }
+
+    public static void set(DbRoute route) {
+        CURRENT.set(route);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * DataSource picking the pool of DbRoute.current() at getConnection() time
+     */
+    static class RoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return current();
+        }
+    }
+}
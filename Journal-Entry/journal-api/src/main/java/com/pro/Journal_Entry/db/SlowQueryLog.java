@@ -0,0 +1,331 @@
+package com.pro.Journal_Entry.db;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Slow statements with their bind shape and plan - GET /api/admin/slow-queries
+ *
+ * WHY?
+ * show-sql printed every statement to stdout (synchronously, on the request thread) and still
+ * said nothing about which one was slow. A regression in a JournalRepository query (the LIKE
+ * search, a date range scan losing its index) only showed up as a fatter p99.
+ *
+ * HOW:
+ * - DatabaseBulkheadConfig wraps the routing DataSource in a datasource-proxy with this listener
+ * - statements faster than db.slow-query.threshold cost one comparison, nothing is kept
+ * - slower ones are grouped by SQL text (Hibernate binds with ?, so the text is the statement):
+ *   count, total / max time, failures, last seen and the bind shape - parameter TYPES
+ *   like (Long, String, Date), never the values
+ * - the first time a statement is slow, db.slow-query.explain + the statement runs ONCE on a
+ *   background thread, on a reporting pool connection (statement_timeout applies). The plan is
+ *   the GENERIC one - no bind value is kept or sent, so none can show up in a plan:
+ *   PostgreSQL (15 has no EXPLAIN (GENERIC_PLAN)) prepares the statement, sets
+ *   plan_cache_mode = force_generic_plan and explains EXECUTE with NULLs; other databases
+ *   (H2 in the tests) explain the statement with its parameters unset
+ * - at most db.slow-query.max-statements distinct statements are kept (least used are dropped)
+ *
+ * The time is what the driver spent in execute*() - rows fetched later by the ResultSet are not in it.
+ * Metric: db.query.slow (count of slow executions)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "db.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLog implements QueryExecutionListener {
+
+    private static final int MAX_BIND_SHAPES = 8;
+    private static final String PLAN_STATEMENT = "slow_query_plan";
+
+    private final DataSource explainDataSource;
+    private final long thresholdMillis;
+    private final String explainPrefix;
+    private final Cache<String, SlowQuery> statements;
+    private final ThreadPoolExecutor explainer;
+    private final Counter slowCounter;
+
+    public SlowQueryLog(@Qualifier("reportingDataSource") DataSource reportingDataSource,
+                        MeterRegistry meterRegistry,
+                        @Value("${db.slow-query.threshold:PT0.1S}") Duration threshold,
+                        @Value("${db.slow-query.max-statements:500}") long maxStatements,
+                        @Value("${db.slow-query.explain:EXPLAIN (ANALYZE off)}") String explainPrefix) {
+        this.explainDataSource = reportingDataSource;
+        this.thresholdMillis = threshold.toMillis();
+        this.explainPrefix = explainPrefix == null ? "" : explainPrefix.trim();
+        this.statements = Caffeine.newBuilder()
+                .maximumSize(maxStatements)
+                .build();
+        // one plan at a time, a few waiting - anything beyond that is taken on a later slow execution
+        this.explainer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.slowCounter = meterRegistry.counter("db.query.slow");
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        if (elapsedMillis < thresholdMillis) {
+            return;
+        }
+        slowCounter.increment();
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            if (!StringUtils.hasText(sql)) {
+                continue;
+            }
+            List<List<ParameterSetOperation>> parameters = queryInfo.getParametersList();
+            SlowQuery query = statements.get(sql, SlowQuery::new);
+            String shape = bindShape(parameters);
+            if (query.record(elapsedMillis, shape, execInfo.isSuccess())) {
+                log.warn("Slow query {}ms binds={}: {}", elapsedMillis, shape, sql);
+            }
+            if (explainable(execInfo.getStatementType(), sql) && query.explainRequested.compareAndSet(false, true)) {
+                try {
+                    explainer.execute(() -> explain(query));
+                } catch (RejectedExecutionException e) {
+                    query.explainRequested.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Slowest statements first
+     * @param sort total (time summed over executions), max (single worst) or count
+     */
+    public List<Entry> top(int limit, String sort) {
+        Comparator<Entry> order = switch (sort == null ? "total" : sort) {
+            case "max" -> Comparator.comparingLong(Entry::maxMillis);
+            case "count" -> Comparator.comparingLong(Entry::count);
+            default -> Comparator.comparingLong(Entry::totalMillis);
+        };
+        return statements.asMap().values().stream()
+                .map(SlowQuery::snapshot)
+                .sorted(order.reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    /**
+     * Forget everything (e.g. right after a deploy, to see only the new build's statements)
+     */
+    public void reset() {
+        statements.invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    private boolean explainable(StatementType type, String sql) {
+        if (explainPrefix.isEmpty() || type == StatementType.CALLABLE) {
+            return false;
+        }
+        String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+        // without ANALYZE the statement is only planned, so DML is safe too
+        return verb.startsWith("select") || verb.startsWith("with")
+                || verb.startsWith("insert") || verb.startsWith("update") || verb.startsWith("delete");
+    }
+
+    private void explain(SlowQuery query) {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = explainDataSource.getConnection()) {
+            if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                explainGeneric(connection, query.sql, plan);
+            } else {
+                try (PreparedStatement statement = connection.prepareStatement(explainPrefix + " " + query.sql);
+                     ResultSet resultSet = statement.executeQuery()) {
+                    appendRows(resultSet, plan);
+                }
+            }
+            log.info("Plan of slow query: {}\n{}", query.sql, plan);
+        } catch (Exception e) {
+            plan.setLength(0);
+            plan.append("EXPLAIN failed: ").append(e.getMessage());
+            log.debug("EXPLAIN failed for {}", query.sql, e);
+        }
+        query.plan = plan.toString();
+    }
+
+    /**
+     * PREPARE (types inferred) + force_generic_plan + EXPLAIN EXECUTE (NULL, ...) - the planner
+     * never sees a value, the NULLs only fill the parameter list
+     */
+    private void explainGeneric(Connection connection, String sql, StringBuilder plan) throws SQLException {
+        Numbered numbered = numberParameters(sql);
+        String arguments = numbered.parameters() == 0 ? ""
+                : "(" + String.join(", ", Collections.nCopies(numbered.parameters(), "NULL")) + ")";
+        boolean autoCommit = connection.getAutoCommit();
+        boolean prepared = false;
+        try (Statement statement = connection.createStatement()) {
+            try {
+                connection.setAutoCommit(false);
+                // SET LOCAL - the pooled connection gets its default back with the rollback
+                statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE " + PLAN_STATEMENT + " AS " + numbered.sql());
+                prepared = true;
+                try (ResultSet resultSet = statement.executeQuery(explainPrefix + " EXECUTE " + PLAN_STATEMENT + arguments)) {
+                    appendRows(resultSet, plan);
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+                // prepared statements outlive the transaction
+                if (prepared) {
+                    statement.execute("DEALLOCATE " + PLAN_STATEMENT);
+                }
+            }
+        }
+    }
+
+    private static void appendRows(ResultSet resultSet, StringBuilder plan) throws SQLException {
+        while (resultSet.next()) {
+            if (!plan.isEmpty()) {
+                plan.append('\n');
+            }
+            plan.append(resultSet.getString(1));
+        }
+    }
+
+    /**
+     * JDBC ? placeholders as PostgreSQL $1..$n (not inside quotes; ?? is the JDBC escape of ?)
+     */
+    static Numbered numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 8);
+        int parameters = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+                numbered.append(c);
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                numbered.append(c);
+            } else if (c == '?' && i + 1 < sql.length() && sql.charAt(i + 1) == '?') {
+                numbered.append('?');
+                i++;
+            } else if (c == '?') {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return new Numbered(numbered.toString(), parameters);
+    }
+
+    record Numbered(String sql, int parameters) {
+    }
+
+    /**
+     * (Long, String, null) - the setter types in parameter order; " x25" for a batch of 25
+     */
+    static String bindShape(List<List<ParameterSetOperation>> parameters) {
+        if (parameters.isEmpty()) {
+            return "()";
+        }
+        List<ParameterSetOperation> first = new ArrayList<>(parameters.get(0));
+        first.sort(Comparator.comparingInt(operation -> operation.getArgs()[0] instanceof Integer index ? index : 0));
+        StringJoiner shape = new StringJoiner(", ", "(", ")");
+        for (ParameterSetOperation operation : first) {
+            String method = operation.getMethod().getName();
+            shape.add(ParameterSetOperation.isSetNullParameterOperation(operation) ? "null"
+                    : method.startsWith("set") ? method.substring(3) : method);
+        }
+        return parameters.size() > 1 ? shape + " x" + parameters.size() : shape.toString();
+    }
+
+    /**
+     * One row of the slow-query table
+     */
+    public record Entry(String sql, long count, long totalMillis, long meanMillis, long maxMillis,
+                        long failures, Instant lastSeen, List<String> bindShapes, String plan) {
+    }
+
+    private static final class SlowQuery {
+
+        private final String sql;
+        private final AtomicBoolean explainRequested = new AtomicBoolean();
+        private final Set<String> bindShapes = new LinkedHashSet<>();
+        private volatile String plan;
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+        private long failures;
+        private Instant lastSeen;
+
+        private SlowQuery(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * @return true the first time this statement was slow
+         */
+        synchronized boolean record(long elapsedMillis, String shape, boolean success) {
+            count++;
+            totalMillis += elapsedMillis;
+            maxMillis = Math.max(maxMillis, elapsedMillis);
+            if (!success) {
+                failures++;
+            }
+            lastSeen = Instant.now();
+            if (bindShapes.size() < MAX_BIND_SHAPES) {
+                bindShapes.add(shape);
+            }
+            return count == 1;
+        }
+
+        synchronized Entry snapshot() {
+            return new Entry(sql, count, totalMillis, count == 0 ? 0 : totalMillis / count, maxMillis,
+                    failures, lastSeen, List.copyOf(bindShapes), plan);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JwtAuthenticationFilter - token parse, revocation check, authorities
+ */
+@Name(AuthEvent.NAME)
+@Label("Authentication")
+@Category({"Journal", "Request"})
+@Description("JWT authentication of one request")
+@StackTrace(false)
+@Threshold("5 ms")
+public class AuthEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "journal.Auth";
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,33 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * TieredCache lookups (L1 -> L2) and loads (the method run by get(key, loader) on a miss)
+ */
+@Name(CacheEvent.NAME)
+@Label("Cache")
+@Category({"Journal", "Cache"})
+@Description("Cache lookup or load of a missing value")
+@StackTrace(false)
+@Threshold("10 ms")
+public class CacheEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "journal.Cache";
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Operation")
+    @Description("lookup, load or batch-lookup")
+    public String operation;
+
+    @Label("Result")
+    @Description("local, remote, miss")
+    public String result;
+}
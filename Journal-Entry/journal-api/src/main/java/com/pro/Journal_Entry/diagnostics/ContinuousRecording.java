@@ -0,0 +1,126 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Always-on JDK Flight Recorder recording
+ *
+ * WHY?
+ * When an incident is noticed it is already over - a profiler attached afterwards sees nothing.
+ * The recording runs all the time with the JDK "default" settings (designed for production)
+ * plus the custom journal.* events, which are only recorded when slower than their threshold
+ * (diagnostics.jfr.thresholds.*). Data goes to a rolling on-disk buffer bounded by max-age
+ * and max-size; GET /api/admin/jfr?minutes=N dumps the last N minutes.
+ *
+ * COST (JfrRequestOverheadBenchmark): the journal.* events are not measurable per request,
+ * even all recorded; the JDK's sampling and periodic events are. On a single CPU they added
+ * ~1.2 ms to a 2-5 ms request - settings: none keeps only the journal.* events there.
+ *
+ * EVENTS: journal.Auth, journal.Cache, journal.Repository, journal.KafkaSend
+ * (plus the JDK's own: GC, locks, allocation samples, socket / file I/O, CPU samples)
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.jfr.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ContinuousRecording implements SmartLifecycle {
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration authThreshold;
+    private final Duration cacheThreshold;
+    private final Duration repositoryThreshold;
+    private final Duration kafkaSendThreshold;
+    private volatile Recording recording;
+
+    public ContinuousRecording(@Value("${diagnostics.jfr.settings:default}") String settings,
+                               @Value("${diagnostics.jfr.max-age:PT30M}") Duration maxAge,
+                               @Value("${diagnostics.jfr.max-size:256MB}") DataSize maxSize,
+                               @Value("${diagnostics.jfr.thresholds.auth:5ms}") Duration authThreshold,
+                               @Value("${diagnostics.jfr.thresholds.cache:10ms}") Duration cacheThreshold,
+                               @Value("${diagnostics.jfr.thresholds.repository:20ms}") Duration repositoryThreshold,
+                               @Value("${diagnostics.jfr.thresholds.kafka-send:50ms}") Duration kafkaSendThreshold) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.authThreshold = authThreshold;
+        this.cacheThreshold = cacheThreshold;
+        this.repositoryThreshold = repositoryThreshold;
+        this.kafkaSendThreshold = kafkaSendThreshold;
+    }
+
+    @Override
+    public void start() {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("JDK Flight Recorder is not available, no continuous recording");
+            return;
+        }
+        Recording continuous;
+        try {
+            // "none": only the journal.* events, none of the JDK's
+            continuous = "none".equals(settings) ? new Recording()
+                    : new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            log.warn("JFR settings '{}' not found, no continuous recording: {}", settings, e.getMessage());
+            return;
+        }
+        continuous.setName("journal-continuous");
+        continuous.setToDisk(true);
+        continuous.setMaxAge(maxAge);
+        continuous.setMaxSize(maxSize.toBytes());
+        continuous.enable(AuthEvent.class).withThreshold(authThreshold);
+        continuous.enable(CacheEvent.class).withThreshold(cacheThreshold);
+        continuous.enable(RepositoryEvent.class).withThreshold(repositoryThreshold);
+        continuous.enable(KafkaSendEvent.class).withThreshold(kafkaSendThreshold);
+        continuous.start();
+        recording = continuous;
+        log.info("Continuous JFR recording on ({} settings, last {} / {})", settings, maxAge, maxSize);
+    }
+
+    @Override
+    public void stop() {
+        Recording continuous = recording;
+        recording = null;
+        if (continuous != null) {
+            continuous.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    /**
+     * Write the last minutes of recorded data to a temp .jfr file (the caller deletes it)
+     * @return the file, or null when nothing is recorded
+     */
+    public Path dump(Duration last) throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            if (snapshot.getSize() == 0) {
+                return null;
+            }
+            snapshot.setMaxAge(last);
+            Path file = Files.createTempFile("journal-", ".jfr");
+            snapshot.dump(file);
+            return file;
+        }
+    }
+}
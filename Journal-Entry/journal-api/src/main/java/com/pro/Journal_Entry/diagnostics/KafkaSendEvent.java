@@ -0,0 +1,31 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * KafkaProducerService send -> broker ack (committed on the producer I/O thread)
+ */
+@Name(KafkaSendEvent.NAME)
+@Label("Kafka Send")
+@Category({"Journal", "Kafka"})
+@Description("Journal event send until the broker acknowledged it")
+@StackTrace(false)
+@Threshold("50 ms")
+public class KafkaSendEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "journal.KafkaSend";
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Failed")
+    public boolean failed;
+}
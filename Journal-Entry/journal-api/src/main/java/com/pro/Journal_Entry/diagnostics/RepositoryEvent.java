@@ -0,0 +1,31 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One Spring Data repository call (query + mapping, and the connection wait)
+ */
+@Name(RepositoryEvent.NAME)
+@Label("Repository Call")
+@Category({"Journal", "Database"})
+@Description("Spring Data repository method call")
+@StackTrace(false)
+@Threshold("20 ms")
+public class RepositoryEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "journal.Repository";
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,65 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * journal.Repository JFR events for every Spring Data repository call
+ *
+ * The interceptor goes into each repository proxy (custom fragments like
+ * JournalRepositoryImpl included). With the event disabled or under its
+ * threshold the cost is begin() + end() + one threshold check.
+ */
+@Configuration
+public class RepositoryEventConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // before afterPropertiesSet, which creates the repository proxy
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, information) ->
+                                    proxyFactory.addAdvice(new RepositoryEventInterceptor(
+                                            information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class RepositoryEventInterceptor implements MethodInterceptor {
+
+        private final String repository;
+
+        RepositoryEventInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryEvent event = new RepositoryEvent();
+            event.begin();
+            boolean failed = true;
+            try {
+                Object result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-request cost accounting - where the time of one request went
+ *
+ * WHY?
+ * "The calendar is slow" - was it JWT parsing, Redis, Postgres or serialization?
+ * Each stage adds its time and count here; RequestCostConfig turns the totals into a
+ * Server-Timing header and one log line per request.
+ *
+ * Opt-in (diagnostics.request-cost.enabled). When it is off no context is ever bound,
+ * current() is null and every call site is a ThreadLocal read and a null check:
+ * no allocation, no clock read. Call sites that time something take current() first and
+ * only read the clock when it is not null (record() is for code that times anyway).
+ *
+ * Only the request thread records - work on other threads (Kafka acks, async) is not counted.
+ */
+public final class RequestCost {
+
+    public enum Stage {
+        AUTH("auth", false),
+        CACHE_GET("cache-get", true),
+        CACHE_PUT("cache-put", true),
+        // Redis calls outside the caches (ETag versions)
+        REDIS("redis", true),
+        DB_CONNECTION("db-conn", true),
+        DB("db", true),
+        KAFKA("kafka", true),
+        RENDER("render", false);
+
+        private final String metricName;
+        // the number of operations is worth showing (statements, gets, sends)
+        private final boolean counted;
+
+        Stage(String metricName, boolean counted) {
+            this.metricName = metricName;
+            this.counted = counted;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+
+        public boolean counted() {
+            return counted;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[STAGES.length];
+    private final int[] counts = new int[STAGES.length];
+    private Map<String, Object> annotations;
+
+    private RequestCost() {
+    }
+
+    /**
+     * The context of the request on this thread, null when accounting is off
+     */
+    public static RequestCost current() {
+        return CURRENT.get();
+    }
+
+    static RequestCost begin() {
+        RequestCost cost = new RequestCost();
+        CURRENT.set(cost);
+        return cost;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Add one operation of this stage (no-op without a context)
+     */
+    public static void record(Stage stage, long elapsedNanos) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.add(stage, elapsedNanos);
+        }
+    }
+
+    /**
+     * Business facts for the request log line
+     * @return false without a context - the caller logs the fact itself
+     */
+    public static boolean annotate(String key, Object value) {
+        RequestCost cost = CURRENT.get();
+        if (cost == null) {
+            return false;
+        }
+        if (cost.annotations == null) {
+            cost.annotations = new LinkedHashMap<>();
+        }
+        cost.annotations.put(key, value);
+        return true;
+    }
+
+    public void add(Stage stage, long elapsedNanos) {
+        nanos[stage.ordinal()] += elapsedNanos;
+        counts[stage.ordinal()]++;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    long nanos(Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    int count(Stage stage) {
+        return counts[stage.ordinal()];
+    }
+
+    Map<String, Object> annotations() {
+        return annotations == null ? Map.of() : annotations;
+    }
+
+    static Stage[] stages() {
+        return STAGES;
+    }
+}
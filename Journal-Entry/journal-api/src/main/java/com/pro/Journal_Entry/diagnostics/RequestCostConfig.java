@@ -0,0 +1,168 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Server-Timing header + one log line per request (diagnostics.request-cost.enabled)
+ *
+ *   Server-Timing: auth;dur=0.41, cache-get;dur=1.20;desc="1", db;dur=5.10;desc="3", render;dur=0.80, total;dur=9.70
+ *   request method=GET uri=/api/journals/calendar?month=2026-01 status=200 total=9.70ms auth=0.41ms cache-get=1.20ms/1 db=5.10ms/3 render=0.80ms userId=42
+ *
+ * dur = milliseconds, desc = number of operations (statements, cache gets, sends)
+ * render = from the first byte of the body until the controller chain returned (serialization)
+ * The body is buffered so the header can still be set after serialization;
+ * streaming endpoints (diagnostics.request-cost.exclude) are not accounted.
+ */
+@Configuration
+@ConditionalOnProperty(name = "diagnostics.request-cost.enabled", havingValue = "true")
+public class RequestCostConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestCostFilter> requestCostFilter(
+            @Value("${diagnostics.request-cost.exclude:/api/journals/stream,/api/admin/jfr}") List<String> exclude) {
+        FilterRegistrationBean<RequestCostFilter> registration = new FilterRegistrationBean<>(new RequestCostFilter(exclude));
+        // outermost: auth, routing and every other filter are inside the measured time
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestCostSessionEvents() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                RequestCostSessionListener.class.getName());
+    }
+
+    @Slf4j
+    static class RequestCostFilter extends OncePerRequestFilter {
+
+        private final List<String> exclude;
+        private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+        RequestCostFilter(List<String> exclude) {
+            this.exclude = exclude;
+        }
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            String path = request.getRequestURI();
+            for (String pattern : exclude) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+            RequestCost cost = RequestCost.begin();
+            RenderTimingResponse wrapped = new RenderTimingResponse(response);
+            try {
+                filterChain.doFilter(request, wrapped);
+            } finally {
+                RequestCost.end();
+                if (wrapped.firstWriteNanos != 0) {
+                    cost.add(RequestCost.Stage.RENDER, System.nanoTime() - wrapped.firstWriteNanos);
+                }
+                long total = cost.elapsedNanos();
+                if (!response.isCommitted()) {
+                    response.setHeader("Server-Timing", serverTiming(cost, total));
+                }
+                wrapped.copyBodyToResponse();
+                if (log.isInfoEnabled()) {
+                    log.info(logLine(request, wrapped.getStatus(), cost, total));
+                }
+            }
+        }
+
+        static String serverTiming(RequestCost cost, long totalNanos) {
+            StringBuilder header = new StringBuilder();
+            for (RequestCost.Stage stage : RequestCost.stages()) {
+                int count = cost.count(stage);
+                if (count == 0) {
+                    continue;
+                }
+                header.append(stage.metricName()).append(";dur=").append(millis(cost.nanos(stage)));
+                if (stage.counted()) {
+                    header.append(";desc=\"").append(count).append('"');
+                }
+                header.append(", ");
+            }
+            return header.append("total;dur=").append(millis(totalNanos)).toString();
+        }
+
+        static String logLine(HttpServletRequest request, int status, RequestCost cost, long totalNanos) {
+            StringBuilder line = new StringBuilder("request method=").append(request.getMethod())
+                    .append(" uri=").append(request.getRequestURI());
+            if (request.getQueryString() != null) {
+                line.append('?').append(request.getQueryString());
+            }
+            line.append(" status=").append(status)
+                    .append(" total=").append(millis(totalNanos)).append("ms");
+            for (RequestCost.Stage stage : RequestCost.stages()) {
+                int count = cost.count(stage);
+                if (count > 0) {
+                    line.append(' ').append(stage.metricName()).append('=').append(millis(cost.nanos(stage))).append("ms");
+                    if (stage.counted()) {
+                        line.append('/').append(count);
+                    }
+                }
+            }
+            cost.annotations().forEach((key, value) -> line.append(' ').append(key).append('=').append(value));
+            return line.toString();
+        }
+
+        private static String millis(long nanos) {
+            return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Buffers the body (ContentCachingResponseWrapper) and remembers when writing started
+     */
+    static class RenderTimingResponse extends ContentCachingResponseWrapper {
+
+        long firstWriteNanos;
+
+        RenderTimingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (firstWriteNanos == 0) {
+                firstWriteNanos = System.nanoTime();
+            }
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (firstWriteNanos == 0) {
+                firstWriteNanos = System.nanoTime();
+            }
+            return super.getWriter();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * SQL statements of a Hibernate session -> RequestCost (db, db-conn)
+ *
+ * Hibernate creates one per session (hibernate.session.events.auto),
+ * only registered while request cost accounting is enabled.
+ */
+public class RequestCostSessionListener implements SessionEventListener {
+
+    private long connectionStart;
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestCost.record(RequestCost.Stage.DB_CONNECTION, System.nanoTime() - connectionStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestCost.record(RequestCost.Stage.DB, System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestCost.record(RequestCost.Stage.DB, System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,98 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier (virtual-thread mode only)
+ *
+ * WHY?
+ * A virtual thread that blocks inside synchronized (or a native frame) cannot unmount:
+ * it holds one of the few carrier threads (= CPU count) for the whole wait.
+ * A few of those in a driver and the "unlimited" threads are back to a small pool.
+ *
+ * Listens to the JFR event jdk.VirtualThreadPinned in-process (RecordingStream, no file):
+ * - counter jvm.threads.virtual.pinned on every pin longer than the threshold
+ * - one WARN with the stack per distinct pinning site (top frames), so the log is not flooded
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Counter pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${diagnostics.pinning.threshold:PT0.02S}") Duration threshold,
+                                       MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinned = meterRegistry.counter("jvm.threads.virtual.pinned");
+    }
+
+    @Override
+    public void start() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled is set but this JVM is Java {} - virtual threads need Java 21",
+                    Runtime.version().feature());
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Virtual thread pinning monitor on (threshold {})", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        if (event.getStackTrace() == null) {
+            return;
+        }
+        String frames = event.getStackTrace().getFrames().stream()
+                .limit(12)
+                .map(VirtualThreadPinningMonitor::frame)
+                .collect(Collectors.joining("\n\tat "));
+        String site = frames.lines().limit(3).collect(Collectors.joining("|"));
+        // bounded - there are only so many pinning sites in the code
+        if (reportedSites.size() < 1000 && reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {}ms:\n\tat {}", event.getDuration().toMillis(), frames);
+        }
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
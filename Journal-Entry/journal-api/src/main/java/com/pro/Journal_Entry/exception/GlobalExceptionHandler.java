@@ -2,9 +2,12 @@ package com.pro.Journal_Entry.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.graphql.GraphQlProperties;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -63,6 +66,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response,HttpStatus.CONFLICT);
     }
 
+    //Handle invalid request parameters
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String,Object>> handleIllegalArgument(
+            IllegalArgumentException ex
+    ){
+        Map<String,Object> response = new HashMap<>();
+        response.put("timestamp",LocalDateTime.now());
+        response.put("status",HttpStatus.BAD_REQUEST.value());
+        response.put("message",ex.getMessage());
+
+        return new ResponseEntity<>(response,HttpStatus.BAD_REQUEST);
+    }
+
     //Handle authentication errors
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Map<String,Object>> handleBadCredentials(
@@ -76,6 +92,44 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response,HttpStatus.UNAUTHORIZED);
     }
 
+    //Handle invalid / reused / revoked tokens
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<Map<String,Object>> handleInvalidToken(
+            InvalidTokenException ex
+    ){
+        Map<String,Object> response = new HashMap<>();
+        response.put("timestamp",LocalDateTime.now());
+        response.put("status",HttpStatus.UNAUTHORIZED.value());
+        response.put("message",ex.getMessage());
+
+        return new ResponseEntity<>(response,HttpStatus.UNAUTHORIZED);
+    }
+
+    //Handle load shedding (429 / 503 + Retry-After)
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String,Object>> handleServiceBusy(
+            ServiceBusyException ex
+    ){
+        Map<String,Object> response = new HashMap<>();
+        response.put("timestamp",LocalDateTime.now());
+        response.put("status",ex.getStatus().value());
+        response.put("message",ex.getMessage());
+
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    //No database connection in time (bulkhead full / pool exhausted) - overload, not a bug
+    @ExceptionHandler({CannotGetJdbcConnectionException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<Map<String,Object>> handleNoConnection(
+            Exception ex
+    ){
+        log.warn("No database connection: {}", ex.getMessage());
+        return handleServiceBusy(new ServiceBusyException(
+                "Service busy, retry shortly", HttpStatus.SERVICE_UNAVAILABLE, 1));
+    }
+
     //Handle all other exception
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String,Object>> handleGlobalException(Exception ex){
@@ -0,0 +1,7 @@
+package com.pro.Journal_Entry.exception;
+
+public class InvalidTokenException extends RuntimeException{
+    public InvalidTokenException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.pro.Journal_Entry.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Shed load quickly instead of queueing without bound
+ * Mapped to the given status (429 / 503) with a Retry-After header
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
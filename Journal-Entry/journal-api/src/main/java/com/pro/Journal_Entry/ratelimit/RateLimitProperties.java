@@ -0,0 +1,72 @@
+package com.pro.Journal_Entry.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * rate-limit.* in application.yml
+ *
+ * Endpoint classes are matched in order, the first class whose paths match wins.
+ * Each class has a per-user budget (userId, or client IP when not logged in)
+ * and an optional global budget shared by everyone.
+ * Validated at startup - a capacity of 0 would divide by zero on the first request.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * local: buckets in this JVM (each node enforces the budget on its own)
+     * redis: buckets in Redis, shared by every node
+     */
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * Local buckets not used for this long are dropped (bounded memory)
+     */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+    private long maximumBuckets = 100_000;
+
+    @Valid
+    private List<EndpointClass> classes = new ArrayList<>();
+
+    public enum Mode { LOCAL, REDIS }
+
+    @Data
+    public static class EndpointClass {
+        @NotBlank
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        @Valid
+        private Budget perUser;
+        @Valid
+        private Budget global;
+    }
+
+    /**
+     * capacity requests per period - also the burst size
+     */
+    @Data
+    public static class Budget {
+        @Positive
+        private int capacity;
+        @NotNull
+        private Duration period = Duration.ofMinutes(1);
+
+        public long intervalNanos() {
+            return period.toNanos() / capacity;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.pro.Journal_Entry.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pro.Journal_Entry.cache.RedisCircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user + global token buckets for each endpoint class
+ *
+ * LOCAL mode: TokenBucket instances in memory (lock-free), user buckets in a bounded
+ * Caffeine cache that drops idle ones. Each node enforces the budgets by itself.
+ *
+ * REDIS mode: one EVAL of scripts/rate-limit.lua per request, checking the user and
+ * global bucket atomically on the Redis clock, so the budgets hold for the whole cluster.
+ * Keys: rl:{class}:u:{subject} and rl:{class}:g (hash tag keeps both in one slot).
+ * If Redis fails the local buckets take over, so an outage never turns into 429s or 500s.
+ *
+ * The EVAL goes through the cache tier's RedisCircuitBreaker (same Redis server): its failures
+ * count towards opening the circuit, and while it is open the local buckets answer at once -
+ * without that, every rate-limited request of an outage would wait spring.data.redis.timeout first.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private static final RedisScript<Long> SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rate-limit.lua"), Long.class);
+
+    private final RateLimitProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final Cache<String, TokenBucket> userBuckets;
+    private final Map<String, TokenBucket> globalBuckets = new ConcurrentHashMap<>();
+    private volatile boolean redisFailing;
+
+    public RateLimiter(RateLimitProperties properties, StringRedisTemplate redisTemplate,
+                       RedisCircuitBreaker circuitBreaker) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.userBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumBuckets())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+    }
+
+    /**
+     * Take a token for this subject (userId / client IP) in this endpoint class
+     * @return 0 if allowed, otherwise nanos until the request would be allowed
+     */
+    public long acquire(RateLimitProperties.EndpointClass endpointClass, String subject) {
+        if (properties.getMode() == RateLimitProperties.Mode.REDIS) {
+            if (!circuitBreaker.allowRequest()) {
+                circuitBreaker.onBypass("rate-limit");
+                if (!redisFailing) {
+                    log.warn("Rate limiting falls back to local buckets, Redis circuit is {}", circuitBreaker.state());
+                    redisFailing = true;
+                }
+                return acquireLocal(endpointClass, subject, System.nanoTime());
+            }
+            try {
+                long waitNanos = acquireRedis(endpointClass, subject);
+                circuitBreaker.onSuccess();
+                if (redisFailing) {
+                    log.info("Rate limiting back on Redis");
+                    redisFailing = false;
+                }
+                return waitNanos;
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure("rate-limit", "eval", e);
+                if (!redisFailing) {
+                    log.warn("Rate limiting falls back to local buckets, Redis failed: {}", e.getMessage());
+                    redisFailing = true;
+                }
+            }
+        }
+        return acquireLocal(endpointClass, subject, System.nanoTime());
+    }
+
+    long acquireLocal(RateLimitProperties.EndpointClass endpointClass, String subject, long nowNanos) {
+        TokenBucket user = null;
+        if (endpointClass.getPerUser() != null) {
+            user = userBuckets.get(endpointClass.getName() + ":" + subject,
+                    key -> bucket(endpointClass.getPerUser()));
+            long wait = user.tryAcquire(nowNanos);
+            if (wait > 0) {
+                return wait;
+            }
+        }
+        if (endpointClass.getGlobal() != null) {
+            TokenBucket global = globalBuckets.computeIfAbsent(endpointClass.getName(),
+                    name -> bucket(endpointClass.getGlobal()));
+            long wait = global.tryAcquire(nowNanos);
+            if (wait > 0) {
+                if (user != null) {
+                    user.release();
+                }
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    private long acquireRedis(RateLimitProperties.EndpointClass endpointClass, String subject) {
+        List<String> keys = new ArrayList<>(2);
+        List<String> args = new ArrayList<>(4);
+        String prefix = "rl:{" + endpointClass.getName() + "}:";
+        if (endpointClass.getPerUser() != null) {
+            keys.add(prefix + "u:" + subject);
+            addBudget(args, endpointClass.getPerUser());
+        }
+        if (endpointClass.getGlobal() != null) {
+            keys.add(prefix + "g");
+            addBudget(args, endpointClass.getGlobal());
+        }
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long waitMicros = redisTemplate.execute(SCRIPT, keys, args.toArray());
+        return waitMicros == null ? 0 : TimeUnit.MICROSECONDS.toNanos(waitMicros);
+    }
+
+    private static void addBudget(List<String> args, RateLimitProperties.Budget budget) {
+        long intervalMicros = TimeUnit.NANOSECONDS.toMicros(budget.intervalNanos());
+        args.add(Long.toString(intervalMicros));
+        args.add(Long.toString(intervalMicros * budget.getCapacity()));
+    }
+
+    private static TokenBucket bucket(RateLimitProperties.Budget budget) {
+        return new TokenBucket(budget.intervalNanos(), budget.getCapacity());
+    }
+}
@@ -0,0 +1,50 @@
+package com.pro.Journal_Entry.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket
+ *
+ * Stored as a single "theoretical arrival time" (GCRA - the token bucket written as one number):
+ * - each request pushes tat forward by one interval (period / capacity)
+ * - the request is allowed while tat stays within capacity * interval of now
+ * - an idle bucket refills by itself because now catches up with tat
+ * One AtomicLong + CAS, so request threads never block each other.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(long intervalNanos, int capacity) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    /**
+     * Take one token
+     * @return 0 if allowed, otherwise nanos until a token is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = tat.get();
+            long base = current == Long.MIN_VALUE ? nowNanos : Math.max(current, nowNanos);
+            long next = base + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken by tryAcquire (the request was rejected by another bucket)
+     */
+    public void release() {
+        tat.addAndGet(-intervalNanos);
+    }
+}
@@ -0,0 +1,65 @@
+package com.pro.Journal_Entry.repository;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields a client can ask for with ?fields= (sparse fieldsets on list endpoints)
+ *
+ * Each field maps to one selected column, so a list that only shows titles and moods
+ * never reads the content column - see JournalRepositoryImpl.
+ * excerpt is computed by the database (SUBSTRING of content), not by loading the content.
+ */
+public enum JournalField {
+    ID("id"),
+    TITLE("title"),
+    CONTENT("content"),
+    EXCERPT("excerpt"),
+    JOURNAL_DATE("journalDate"),
+    MOOD("mood"),
+    USER_ID("userId"),
+    USERNAME("username"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String name;
+
+    JournalField(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * "title,mood,excerpt" -> {ID, TITLE, EXCERPT, MOOD}
+     * id is always included, the set is in declaration order (stable JSON + cache keys)
+     * @return null when fields is null (no sparse fieldset requested - full JournalResponse)
+     */
+    public static Set<JournalField> parse(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<JournalField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.name.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + trimmed
+                            + ", allowed: " + Arrays.stream(values()).map(JournalField::getName)
+                            .collect(Collectors.joining(",")))));
+        }
+        return selected;
+    }
+
+    public static String toString(Set<JournalField> fields) {
+        return fields.stream().map(JournalField::getName).collect(Collectors.joining(","));
+    }
+}
@@ -9,11 +9,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface JournalRepository extends JpaRepository<JournalEntry, Long> {
+public interface JournalRepository extends JpaRepository<JournalEntry, Long>, JournalRepositoryCustom {
 
     /**
      * Find journal by user and date
@@ -54,6 +55,27 @@ public interface JournalRepository extends JpaRepository<JournalEntry, Long> {
             @Param("endDate") LocalDate endDate
     );
 
+    /**
+     * Batch get: the user's journals on any of these dates OR with any of these ids - one IN query
+     * (an empty list is a false predicate in Hibernate 6, so either list may be empty)
+     * user is fetched in the same query, mapToResponse needs the username
+     */
+    @Query("SELECT j FROM JournalEntry j JOIN FETCH j.user WHERE j.user.id = :userId " +
+            "AND j.deleted = false " +
+            "AND (j.journalDate IN :dates OR j.id IN :ids)")
+    List<JournalEntry> findByUserIdAndDatesOrIds(
+            @Param("userId") Long userId,
+            @Param("dates") Collection<LocalDate> dates,
+            @Param("ids") Collection<Long> ids
+    );
+
+    /**
+     * All journal dates of a user (used once per user to backfill streak bitmaps)
+     */
+    @Query("SELECT j.journalDate FROM JournalEntry j WHERE j.user.id = :userId " +
+            "AND j.deleted = false")
+    List<LocalDate> findJournalDatesByUserId(@Param("userId") Long userId);
+
     /**
      * Search journals by keyword in title or content
      */
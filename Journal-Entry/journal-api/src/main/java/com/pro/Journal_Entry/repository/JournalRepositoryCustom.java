@@ -0,0 +1,20 @@
+package com.pro.Journal_Entry.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queries Spring Data cannot derive - implemented in JournalRepositoryImpl
+ */
+public interface JournalRepositoryCustom {
+
+    /**
+     * Non-deleted journals with only the given fields selected (field name -> value, in field order)
+     * @param userId  owner, or null for every user (admin)
+     * @param keyword title/content search like searchJournals, or null for no filter
+     */
+    Page<Map<String, Object>> findFields(Long userId, String keyword, Set<JournalField> fields, Pageable pageable);
+}
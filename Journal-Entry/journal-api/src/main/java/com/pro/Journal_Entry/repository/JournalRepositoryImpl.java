@@ -0,0 +1,137 @@
+package com.pro.Journal_Entry.repository;
+
+import com.pro.Journal_Entry.entity.JournalEntry;
+import com.pro.Journal_Entry.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets pushed down to SQL
+ *
+ * WHY?
+ * JournalResponse always carries the full content. A timeline page that only shows
+ * title + mood still read every content column from the database, held the entities
+ * on the heap and wrote the content into the JSON.
+ * Here the SELECT list is built from the requested fields (Criteria tuple query),
+ * so unrequested columns are never read, no entities are created (nothing to dirty-check),
+ * and the user table is joined only when username is asked for.
+ *
+ * excerpt = SUBSTRING(content, 1, excerptLength + 1) in SQL; the last word is cut here.
+ */
+public class JournalRepositoryImpl implements JournalRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private final int excerptLength;
+
+    public JournalRepositoryImpl(EntityManager entityManager,
+                                 @Value("${journal.excerpt-length:200}") int excerptLength) {
+        this.entityManager = entityManager;
+        this.excerptLength = excerptLength;
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(Long userId, String keyword, Set<JournalField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<JournalEntry> root = query.from(JournalEntry.class);
+        Join<JournalEntry, User> user = fields.contains(JournalField.USERNAME) ? root.join("user") : null;
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (JournalField field : fields) {
+            selections.add(column(cb, root, user, field).alias(field.getName()));
+        }
+        query.multiselect(selections)
+                .where(filter(cb, root, userId, keyword))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<Map<String, Object>> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> journal = new LinkedHashMap<>();
+            for (JournalField field : fields) {
+                Object value = row.get(field.getName());
+                journal.put(field.getName(), field == JournalField.EXCERPT ? excerpt((String) value) : value);
+            }
+            content.add(journal);
+        }
+        // count query only when the page does not already tell the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(userId, keyword));
+    }
+
+    private long count(Long userId, String keyword) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<JournalEntry> root = query.from(JournalEntry.class);
+        query.select(cb.count(root)).where(filter(cb, root, userId, keyword));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Expression<?> column(CriteriaBuilder cb, Root<JournalEntry> root, Join<JournalEntry, User> user, JournalField field) {
+        return switch (field) {
+            case ID -> root.get("id");
+            case TITLE -> root.get("title");
+            case CONTENT -> root.get("content");
+            case EXCERPT -> cb.substring(root.get("content"), 1, excerptLength + 1);
+            case JOURNAL_DATE -> root.get("journalDate");
+            case MOOD -> root.get("mood");
+            // the foreign key column, no join
+            case USER_ID -> root.get("user").get("id");
+            case USERNAME -> user.get("username");
+            case CREATED_AT -> root.get("createdAt");
+            case UPDATED_AT -> root.get("updatedAt");
+        };
+    }
+
+    private static Predicate[] filter(CriteriaBuilder cb, Root<JournalEntry> root, Long userId, String keyword) {
+        List<Predicate> predicates = new ArrayList<>(3);
+        predicates.add(cb.isFalse(root.get("deleted")));
+        if (userId != null) {
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+        }
+        if (keyword != null) {
+            // same match as JournalRepository.searchJournals
+            String pattern = "%" + keyword.toLowerCase() + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("content")), pattern)));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    /**
+     * The database returned up to excerptLength + 1 characters - one more means the content goes on
+     */
+    private String excerpt(String prefix) {
+        if (prefix == null || prefix.length() <= excerptLength) {
+            return prefix;
+        }
+        int cut = prefix.lastIndexOf(' ', excerptLength);
+        if (cut < excerptLength / 2) {
+            // one very long word - cut it
+            cut = excerptLength;
+        }
+        return prefix.substring(0, cut).stripTrailing() + "…";
+    }
+}
@@ -0,0 +1,159 @@
+package com.pro.Journal_Entry.security;
+
+import com.pro.Journal_Entry.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder that runs BCrypt on a dedicated, bounded pool
+ *
+ * WHY?
+ * - BCrypt is ~100ms of CPU per call; on Tomcat threads a login burst
+ *   (app launch, credential stuffing) takes every core and starves journal reads
+ * - Here at most `threads` hashes run at once and at most `queue-capacity` wait;
+ *   everything beyond that fails fast: 429 when the queue is full,
+ *   503 when a queued hash does not finish within `timeout` (both with Retry-After)
+ * - Used by DaoAuthenticationProvider (login), AuthService.register and the
+ *   rehash-on-login upgrade, so every BCrypt call goes through the same limit
+ *
+ * Metrics:
+ * - auth.password.hashing{op=encode|matches, stage=queue|hash} - time waiting / time hashing
+ * - auth.password.hashing.rejected{reason=queue-full|timeout}
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeQueue;
+    private final Timer encodeHash;
+    private final Timer matchesQueue;
+    private final Timer matchesHash;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  int threads,
+                                  int queueCapacity,
+                                  Duration timeout,
+                                  long retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeQueue = stageTimer(meterRegistry, "encode", "queue");
+        this.encodeHash = stageTimer(meterRegistry, "encode", "hash");
+        this.matchesQueue = stageTimer(meterRegistry, "matches", "queue");
+        this.matchesHash = stageTimer(meterRegistry, "matches", "hash");
+        this.rejectedQueueFull = meterRegistry.counter("auth.password.hashing.rejected", "reason", "queue-full");
+        this.rejectedTimeout = meterRegistry.counter("auth.password.hashing.rejected", "reason", "timeout");
+        meterRegistry.gauge("auth.password.hashing.queued", this, BoundedPasswordEncoder::queued);
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String op, String stage) {
+        return Timer.builder("auth.password.hashing")
+                .tag("op", op)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeQueue, encodeHash);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesQueue, matchesHash);
+    }
+
+    /**
+     * No hashing involved - reads the cost out of the stored hash, stays on the caller thread
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> hash, Timer queueTimer, Timer hashTimer) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return hash.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new ServiceBusyException("Too many login attempts in progress, try again shortly",
+                    HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedTimeout.increment();
+            throw new ServiceBusyException("Authentication is temporarily overloaded, try again shortly",
+                    HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Hashes waiting for a thread
+     */
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Called by Spring on shutdown (inferred destroy method)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,160 @@
+package com.pro.Journal_Entry.security;
+
+import com.pro.Journal_Entry.diagnostics.AuthEvent;
+import com.pro.Journal_Entry.diagnostics.RequestCost;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Authenticates each request from its Bearer token
+ *
+ * Authorities come from (security.jwt.authorities):
+ * - claims (default): the token's role claim - stateless, no DB query per request
+ * - user-details: UserDetailsCache (bounded + TTL) - for deployments that need live
+ *   account / role checks; one DB load per user per TTL instead of per request
+ *
+ * Time spent here: security.jwt.filter{outcome}, slow ones also as JFR journal.Auth events
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final List<String> OUTCOMES = List.of("no-token", "invalid", "revoked", "rejected", "authenticated");
+
+    private final JwtUtil jwtUtil;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean authoritiesFromClaims;
+    // one per outcome, built once - no builder / registry lookup per request
+    private final Map<String, Timer> filterTimers;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   UserDetailsCache userDetailsCache,
+                                   TokenRevocationService tokenRevocationService,
+                                   @Value("${security.jwt.authorities:claims}") String authoritiesSource,
+                                   MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.authoritiesFromClaims = !"user-details".equalsIgnoreCase(authoritiesSource);
+        this.filterTimers = OUTCOMES.stream().collect(Collectors.toUnmodifiableMap(Function.identity(),
+                outcome -> Timer.builder("security.jwt.filter")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        // ✅ ADDED: Skip JWT authentication for public endpoints
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/auth/") || path.equals("/api/health")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // only this filter's own work is timed, not the rest of the chain
+        long start = System.nanoTime();
+        AuthEvent event = new AuthEvent();
+        event.begin();
+        String outcome = authenticate(request);
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = outcome;
+            event.commit();
+        }
+        long elapsed = System.nanoTime() - start;
+        RequestCost.record(RequestCost.Stage.AUTH, elapsed);
+        filterTimers.get(outcome).record(elapsed, TimeUnit.NANOSECONDS);
+
+        // 9. Continue the filter chain
+        filterChain.doFilter(request,response);
+    }
+
+    /**
+     * Sets the Authentication when the Bearer token is valid
+     * @return outcome tag: no-token, invalid, revoked, rejected or authenticated
+     */
+    private String authenticate(HttpServletRequest request) {
+        // 1.Get Authorization header
+        final String authHeader = request.getHeader("Authorization");
+        final String jwt;
+        final JwtPrincipal principal;
+
+        // 2. Check if header exists and start with Bearer
+        if(authHeader == null || !authHeader.startsWith("Bearer ")){
+            return "no-token";
+        }
+        // 3. Extract token (remove "Bearer " prefix)
+        jwt = authHeader.substring(7);
+
+        // 4. Verify signature + expiration and read the claims (the only parse for this request)
+        try {
+            principal = jwtUtil.parse(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // invalid / expired token -> continue unauthenticated, Spring Security rejects it
+            return "invalid";
+        }
+
+        // 4b. Logged out? (in-memory Bloom filter - Redis only for the rare positive)
+        if (tokenRevocationService.isRevoked(principal.tokenId())) {
+            return "revoked";
+        }
+        RequestCost.annotate("userId", principal.userId());
+
+        // 5. If username exists and user not already authenticated
+        if(principal.username() != null && SecurityContextHolder.getContext().getAuthentication() == null){
+            // 6 Authorities - from the token, or from the (cached) user for live checks
+            Collection<? extends GrantedAuthority> authorities;
+            if (authoritiesFromClaims) {
+                authorities = principal.authorities();
+            } else {
+                UserDetails userDetails;
+                try {
+                    userDetails = userDetailsCache.get(principal.username());
+                } catch (UsernameNotFoundException e) {
+                    return "rejected";
+                }
+                if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+                    return "rejected";
+                }
+                authorities = userDetails.getAuthorities();
+            }
+
+            //7 create authentication object - the principal carries userId/username/role
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    principal,
+                    null,
+                    authorities
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+
+            //8 Set authentication in securityContext
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+        return "authenticated";
+    }
+}
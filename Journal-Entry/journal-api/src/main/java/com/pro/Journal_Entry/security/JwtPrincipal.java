@@ -0,0 +1,35 @@
+package com.pro.Journal_Entry.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The authenticated caller, built from the JWT claims
+ *
+ * JwtAuthenticationFilter parses the token once and stores this as the
+ * Authentication principal, so controllers get it with
+ * {@code @AuthenticationPrincipal JwtPrincipal principal}
+ * instead of re-parsing the Authorization header.
+ *
+ * role holds every role of the user, comma separated (e.g. "ROLE_ADMIN,ROLE_USER")
+ * tokenId (jti) and expiresAt are what a revocation needs
+ */
+public record JwtPrincipal(Long userId, String username, String role,
+                           String tokenId, Instant expiresAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    /**
+     * Authorities from the role claim (stateless mode - no user lookup)
+     */
+    public List<GrantedAuthority> authorities() {
+        return role == null ? List.of() : AuthorityUtils.commaSeparatedStringToAuthorityList(role);
+    }
+}
@@ -0,0 +1,127 @@
+package com.pro.Journal_Entry.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JWT Utility - Handles JWT token creation and validation
+
+ * SIMPLE EXPLANATION:
+ * JWT is like a secure ID card that contains:
+ * - Who you are (username)
+ * - What you can do (roles)
+ * - When it expires
+
+ * It's signed with a secret key so nobody can fake it
+
+ * WHY BUILD THE KEY ONCE?
+ * - Decoding the Base64 secret and building the HMAC key is the same work
+ *   for every token, so it happens once here instead of per call
+ * - JwtParser is immutable and thread-safe, so one instance is shared
+ * - parse() verifies the signature and expiration in a single pass;
+ *   the filter calls it once per request and hands the result on as a JwtPrincipal
+
+ * Two token types (typ claim), both with a unique id (jti) so they can be revoked:
+ * - access: short-lived (jwt.expiration), sent on every request
+ * - refresh: long-lived (jwt.refresh-expiration), only accepted by /api/auth/refresh
+ */
+@Component
+public class JwtUtil {
+
+    private final SecretKey signKey;
+    private final JwtParser parser;
+    private final long expiration;
+    private final long refreshExpiration;
+
+    private static final String TYPE_ACCESS = "access";
+    private static final String TYPE_REFRESH = "refresh";
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   @Value("${jwt.refresh-expiration:1209600000}") Long refreshExpiration) {
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser().verifyWith(signKey).build();
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    //Generation of JWT access token for user
+
+    public String generateToken(String username,Long userId,String role){
+        return createToken(claims(userId, role, TYPE_ACCESS), username, UUID.randomUUID().toString(), expiration);
+    }
+
+    //Generation of refresh token - the caller keeps tokenId (stored in Redis for rotation)
+
+    public String generateRefreshToken(String username,Long userId,String role,String tokenId){
+        return createToken(claims(userId, role, TYPE_REFRESH), username, tokenId, refreshExpiration);
+    }
+
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    private static Map<String,Object> claims(Long userId, String role, String type){
+        Map<String,Object> claims = new HashMap<>();
+        claims.put("userId",userId);
+        claims.put("role",role);
+        claims.put("typ",type);
+        return claims;
+    }
+
+    //create token with claims
+
+    public String createToken(Map<String,Object> claims,String subject,String tokenId,long ttlMillis){
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claims(claims)
+                .subject(subject)
+                .id(tokenId)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMillis))
+                .signWith(signKey, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    /**
+     * Verify an access token: signature + expiration + claims - one HMAC per token
+     * Throws JwtException (ExpiredJwtException, SignatureException, ...) if the token is not valid
+     */
+    public JwtPrincipal parse(String token) throws JwtException {
+        return parse(token, TYPE_ACCESS);
+    }
+
+    /**
+     * Verify a refresh token (only /api/auth/refresh uses it)
+     */
+    public JwtPrincipal parseRefresh(String token) throws JwtException {
+        return parse(token, TYPE_REFRESH);
+    }
+
+    private JwtPrincipal parse(String token, String expectedType) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (!expectedType.equals(claims.get("typ", String.class))) {
+            throw new JwtException("Expected a " + expectedType + " token");
+        }
+        return new JwtPrincipal(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getId(),
+                claims.getExpiration().toInstant()
+        );
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.pro.Journal_Entry.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pro.Journal_Entry.ratelimit.RateLimitProperties;
+import com.pro.Journal_Entry.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiting - runs right after JwtAuthenticationFilter so the userId is known
+ *
+ * WHY?
+ * /api/journals/search (LIKE scan) and /api/journals/admin/all (full count) are expensive;
+ * one client looping on them slows every other user down.
+ *
+ * - endpoint class = first rate-limit.classes entry whose paths match the request
+ * - subject = userId from the JwtPrincipal, or the client IP before login
+ *   (behind a load balancer the IP comes from X-Forwarded-For, see server.forward-headers-strategy)
+ * - over budget -> 429 with Retry-After (seconds, rounded up)
+ * Requests outside every class (actuator, ...) are not limited.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, MeterRegistry meterRegistry,
+                           ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RateLimitProperties.EndpointClass endpointClass = match(request.getRequestURI());
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.acquire(endpointClass, subject(request));
+        if (waitNanos > 0) {
+            meterRegistry.counter("http.ratelimit.rejected", "class", endpointClass.getName()).increment();
+            reject(response, Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitProperties.EndpointClass match(String path) {
+        for (RateLimitProperties.EndpointClass endpointClass : properties.getClasses()) {
+            for (String pattern : endpointClass.getPaths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return endpointClass;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal
+                && principal.userId() != null) {
+            return "u" + principal.userId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // same shape and serializer as GlobalExceptionHandler responses
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("message", "Too many requests, retry after " + retryAfterSeconds + " seconds");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,38 @@
+package com.pro.Journal_Entry.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Live refresh tokens - auth:refresh:{jti} -> username, expires with the token
+ *
+ * ROTATION: every refresh consumes the old id with GETDEL and issues a new one,
+ * so a refresh token works exactly once. A second use (stolen / replayed token)
+ * finds nothing and is rejected. Logout deletes it.
+ */
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    private static final String PREFIX = "auth:refresh:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void save(String tokenId, String username, Duration ttl) {
+        redisTemplate.opsForValue().set(PREFIX + tokenId, username, ttl);
+    }
+
+    /**
+     * Atomically take the token - true only for the first caller
+     */
+    public boolean consume(String tokenId, String username) {
+        return username.equals(redisTemplate.opsForValue().getAndDelete(PREFIX + tokenId));
+    }
+
+    public void delete(String tokenId) {
+        redisTemplate.delete(PREFIX + tokenId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.pro.Journal_Entry.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * "revocation" health contributor, part of the readiness group (application.yml)
+ *
+ * OUT_OF_SERVICE until TokenRevocationService has loaded the revocation log once - before
+ * that every request costs a Redis round trip and fails closed when Redis does not answer,
+ * so the node should not get traffic yet.
+ */
+@Component("revocation")
+@RequiredArgsConstructor
+public class RevocationHealthIndicator implements HealthIndicator {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    @Override
+    public Health health() {
+        return tokenRevocationService.isReady()
+                ? Health.up().build()
+                : Health.outOfService().withDetail("reason", "revocation filter not loaded yet").build();
+    }
+}
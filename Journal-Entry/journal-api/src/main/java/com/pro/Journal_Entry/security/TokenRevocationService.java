@@ -0,0 +1,252 @@
+package com.pro.Journal_Entry.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Access token revocation (logout) with a Bloom-filter fast path
+ *
+ * REDIS (source of truth):
+ * - auth:revoked:{jti}  "1", expires with the token           -> exact check
+ * - auth:revoked:log    ZSET member "{jti}|{expMillis}", score = revokedAt millis
+ *                       -> lets every node mirror new revocations incrementally
+ *
+ * IN MEMORY (per node):
+ * - BloomFilter of revoked jtis
+ * - sync() every security.revocation.sync-interval adds log entries newer than the last one seen
+ * - rebuild() every security.revocation.rebuild-interval starts a fresh filter from the
+ *   log, dropping expired tokens (a Bloom filter cannot remove) and trims the log
+ *
+ * isRevoked():
+ * - Bloom negative (almost every request)  -> not revoked, no network round trip
+ * - Bloom positive                         -> confirmed with EXISTS auth:revoked:{jti}
+ * A revocation made on another node is seen here within one sync interval.
+ *
+ * BEFORE THE FIRST REBUILD (Redis slow or down at startup, or rebuild-on-startup=false):
+ * the filter is empty, so a negative means nothing. Every check then asks Redis directly
+ * (EXISTS auth:revoked:{jti}) and fails CLOSED if Redis does not answer - a logged-out token is
+ * never accepted. The node also reports OUT_OF_SERVICE on readiness (RevocationHealthIndicator)
+ * until the filter is ready, so load balancers keep traffic away meanwhile.
+ * sync() keeps retrying the rebuild.
+ *
+ * Metrics: auth.revocation.check{result=bloom-negative|revoked|false-positive|unsynced|unsynced-revoked}
+ * false-positive / (false-positive + bloom-negative) is the observed FP rate.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private static final String REVOKED_PREFIX = "auth:revoked:";
+    private static final String REVOKED_LOG = "auth:revoked:log";
+    // log scores come from each node's clock - re-read this far back so a lagging clock is not missed
+    private static final long CLOCK_SKEW_MILLIS = 5_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final long expectedInsertions;
+    private final double fpp;
+    private final Duration maxTokenLifetime;
+    private final boolean rebuildOnStartup;
+
+    private final Counter bloomNegative;
+    private final Counter revoked;
+    private final Counter falsePositive;
+    private final Counter unsynced;
+    private final Counter unsyncedRevoked;
+
+    // not synchronized: sync/rebuild block on Redis, a virtual thread would stay pinned to its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+    private boolean warned;
+    // score of the newest log entry already in the filter
+    private double lastSeen;
+
+    public TokenRevocationService(StringRedisTemplate redisTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.revocation.bloom.expected-insertions:100000}") long expectedInsertions,
+                                  @Value("${security.revocation.bloom.fpp:0.001}") double fpp,
+                                  @Value("${jwt.expiration}") long accessExpiration,
+                                  @Value("${security.revocation.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.redisTemplate = redisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.maxTokenLifetime = Duration.ofMillis(accessExpiration);
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.filter = new BloomFilter(expectedInsertions, fpp);
+
+        this.bloomNegative = checkCounter(meterRegistry, "bloom-negative");
+        this.revoked = checkCounter(meterRegistry, "revoked");
+        this.falsePositive = checkCounter(meterRegistry, "false-positive");
+        this.unsynced = checkCounter(meterRegistry, "unsynced");
+        this.unsyncedRevoked = checkCounter(meterRegistry, "unsynced-revoked");
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return meterRegistry.counter("auth.revocation.check", "result", result);
+    }
+
+    @PostConstruct
+    void init() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Revoke an access token until it expires (logout)
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (tokenId == null || ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        redisTemplate.opsForValue().set(REVOKED_PREFIX + tokenId, "1", ttl);
+        redisTemplate.opsForZSet().add(REVOKED_LOG, tokenId + "|" + expiresAt.toEpochMilli(), System.currentTimeMillis());
+        // visible on this node right away, other nodes pick it up from the log
+        filter.put(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (!ready) {
+            return isRevokedUnsynced(tokenId);
+        }
+        if (!filter.mightContain(tokenId)) {
+            bloomNegative.increment();
+            return false;
+        }
+
+        boolean confirmed;
+        try {
+            confirmed = Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_PREFIX + tokenId));
+        } catch (RuntimeException e) {
+            // Bloom positive -> most likely revoked, fail closed
+            log.warn("Revocation check failed for token {}: {}", tokenId, e.getMessage());
+            return true;
+        }
+
+        if (confirmed) {
+            revoked.increment();
+        } else {
+            falsePositive.increment();
+        }
+        return confirmed;
+    }
+
+    /**
+     * The filter is not loaded yet - exact check against Redis, fail closed
+     */
+    private boolean isRevokedUnsynced(String tokenId) {
+        boolean confirmed;
+        try {
+            confirmed = Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_PREFIX + tokenId));
+        } catch (RuntimeException e) {
+            log.debug("Revocation check before the first rebuild failed for token {}: {}", tokenId, e.getMessage());
+            confirmed = true;
+        }
+        (confirmed ? unsyncedRevoked : unsynced).increment();
+        return confirmed;
+    }
+
+    /**
+     * The in-memory filter holds every live revocation (first rebuild done)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Mirror revocations made on any node since the last sync
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval:PT1S}",
+            initialDelayString = "${security.revocation.sync-interval:PT1S}")
+    public void sync() {
+        lock.lock();
+        try {
+            if (!ready) {
+                rebuild();
+                return;
+            }
+            try {
+                Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                        .rangeByScoreWithScores(REVOKED_LOG, lastSeen - CLOCK_SKEW_MILLIS, Double.POSITIVE_INFINITY);
+                addAll(filter, entries, System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.debug("Revocation sync failed: {}", e.getMessage());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fresh filter without expired tokens, then trim the log
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.rebuild-interval:PT10M}",
+            initialDelayString = "${security.revocation.rebuild-interval:PT10M}")
+    public void rebuild() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            double oldest = now - maxTokenLifetime.toMillis();
+            try {
+                redisTemplate.opsForZSet().removeRangeByScore(REVOKED_LOG, Double.NEGATIVE_INFINITY, oldest);
+                Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                        .rangeByScoreWithScores(REVOKED_LOG, oldest, Double.POSITIVE_INFINITY);
+
+                BloomFilter fresh = new BloomFilter(expectedInsertions, fpp);
+                int added = addAll(fresh, entries, now);
+                filter = fresh;
+                if (!ready) {
+                    log.info("Revocation filter ready: {} revoked tokens, {} bits, {} hashes",
+                            added, fresh.bitCount(), fresh.hashCount());
+                }
+                ready = true;
+                warned = false;
+            } catch (RuntimeException e) {
+                if (!warned) {
+                    log.warn("Revocation filter rebuild failed, every token is checked against Redis until it succeeds: {}", e.getMessage());
+                    warned = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int addAll(BloomFilter target, Set<ZSetOperations.TypedTuple<String>> entries, long now) {
+        if (entries == null) {
+            return 0;
+        }
+        int added = 0;
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            String member = entry.getValue();
+            int separator = member == null ? -1 : member.lastIndexOf('|');
+            if (separator < 0) {
+                continue;
+            }
+            if (Long.parseLong(member.substring(separator + 1)) > now) {
+                target.put(member.substring(0, separator));
+                added++;
+            }
+            if (entry.getScore() != null && entry.getScore() > lastSeen) {
+                lastSeen = entry.getScore();
+            }
+        }
+        return added;
+    }
+}
@@ -0,0 +1,48 @@
+package com.pro.Journal_Entry.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pro.Journal_Entry.service.UserDetailsServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL'd cache of UserDetails - only used when
+ * security.jwt.authorities=user-details (live account / role checks)
+ *
+ * WHY?
+ * - loadUserByUsername costs two queries (users + user_roles) per request
+ * - With the cache it is one load per user per TTL; steady state is zero queries
+ * - evict() must be called wherever a user's roles change (AuthService does on register/login),
+ *   other nodes pick the change up within the TTL
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<String, UserDetails> users;
+
+    public UserDetailsCache(UserDetailsServiceImpl userDetailsService,
+                            @Value("${security.user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${security.user-cache.ttl:PT5M}") Duration ttl) {
+        this.userDetailsService = userDetailsService;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Throws UsernameNotFoundException if the user no longer exists (not cached)
+     */
+    public UserDetails get(String username) {
+        return users.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String username) {
+        users.invalidate(username);
+    }
+}
@@ -0,0 +1,176 @@
+package com.pro.Journal_Entry.service;
+
+import com.pro.Journal_Entry.dto.AuthRequest;
+import com.pro.Journal_Entry.dto.AuthResponse;
+import com.pro.Journal_Entry.dto.RegisterRequest;
+import com.pro.Journal_Entry.entity.Role;
+import com.pro.Journal_Entry.entity.User;
+import com.pro.Journal_Entry.exception.InvalidTokenException;
+import com.pro.Journal_Entry.repository.RoleRepository;
+import com.pro.Journal_Entry.repository.UserRepository;
+import com.pro.Journal_Entry.security.JwtPrincipal;
+import com.pro.Journal_Entry.security.JwtUtil;
+import com.pro.Journal_Entry.security.RefreshTokenStore;
+import com.pro.Journal_Entry.security.TokenRevocationService;
+import com.pro.Journal_Entry.security.UserDetailsCache;
+import io.jsonwebtoken.JwtException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class AuthService {
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final AuthenticationManager authenticationManager;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Register new user
+     * @Transactional - If anything fails, rollback everything
+     */
+
+    @Transactional
+    public AuthResponse register(RegisterRequest request){
+        //check if username or email already exists
+        if(userRepository.existsByUsername(request.getUsername())){
+            throw new RuntimeException("Username already exists");
+        }
+
+        if(userRepository.existsByEmail(request.getEmail())){
+            throw new RuntimeException("Email already exists");
+        }
+
+        //Get Role_user from database
+        Role userRole = roleRepository.findByName("ROLE_USER")
+                .orElseThrow(() -> new RuntimeException("Role not found"));
+
+        //Create new user
+        User user = User.builder()
+                .username(request.getUsername())
+                .email(request.getEmail())
+                .password(passwordEncoder.encode(request.getPassword()))
+                .roles(Set.of(userRole))
+                .build();
+
+        user = userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
+
+        //Generate Jwt access + refresh token
+        return issueTokens(user);
+    }
+
+    //Login user
+    public AuthResponse login(AuthRequest request){
+        //Authenticate user(Spring Security handles password verification)
+        authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(
+                        request.getUsername(),
+                        request.getPassword()
+                )
+        );
+
+        //If authentication successful,get user
+        User user = userRepository.findByUsername(request.getUsername())
+                .orElseThrow(()-> new RuntimeException("User not found"));
+
+        //Roles may have changed since the last login - drop the cached UserDetails
+        userDetailsCache.evict(user.getUsername());
+
+        //Generate JWT access + refresh token
+        return issueTokens(user);
+    }
+
+    /**
+     * Refresh token rotation - the old refresh token is consumed, a new pair is issued
+     * Roles are re-read so a role change shows up at the next refresh
+     */
+    public AuthResponse refresh(String refreshToken){
+        JwtPrincipal principal;
+        try {
+            principal = jwtUtil.parseRefresh(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+
+        //Already used, logged out or expired in Redis -> reject
+        if (!refreshTokenStore.consume(principal.tokenId(), principal.username())) {
+            throw new InvalidTokenException("Refresh token has already been used or revoked");
+        }
+
+        User user = userRepository.findByUsername(principal.username())
+                .orElseThrow(()-> new InvalidTokenException("User no longer exists"));
+        return issueTokens(user);
+    }
+
+    /**
+     * Logout - revoke the access token until it expires and drop the refresh token
+     * The refresh token must belong to the same user as the access token - otherwise anyone
+     * holding someone else's refresh token could end that session
+     */
+    public void logout(String accessToken, String refreshToken){
+        JwtPrincipal access;
+        try {
+            access = jwtUtil.parse(accessToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid access token");
+        }
+
+        JwtPrincipal refresh = null;
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            try {
+                refresh = jwtUtil.parseRefresh(refreshToken);
+            } catch (JwtException | IllegalArgumentException e) {
+                // already expired / not a refresh token - nothing to delete
+            }
+        }
+        if (refresh != null && !Objects.equals(refresh.userId(), access.userId())) {
+            throw new InvalidTokenException("Refresh token does not belong to this user");
+        }
+
+        tokenRevocationService.revoke(access.tokenId(), access.expiresAt());
+        if (refresh != null) {
+            refreshTokenStore.delete(refresh.tokenId());
+        }
+    }
+
+    private AuthResponse issueTokens(User user){
+        //All roles go into the token (stateless authorization reads them from the role claim)
+        String roles = user.getRoles().stream()
+                .map(Role::getName)
+                .sorted()
+                .collect(Collectors.joining(","));
+        if (roles.isEmpty()) {
+            roles = "ROLE_USER";
+        }
+
+        String token = jwtUtil.generateToken(user.getUsername(), user.getId(), roles);
+
+        String refreshId = UUID.randomUUID().toString();
+        String refreshToken = jwtUtil.generateRefreshToken(user.getUsername(), user.getId(), roles, refreshId);
+        refreshTokenStore.save(refreshId, user.getUsername(), Duration.ofMillis(jwtUtil.getRefreshExpiration()));
+
+        return AuthResponse.builder()
+                .token(token)
+                .refreshToken(refreshToken)
+                .userId(user.getId())
+                .username(user.getUsername())
+                .roles(user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()))
+                .build();
+    }
+
+}
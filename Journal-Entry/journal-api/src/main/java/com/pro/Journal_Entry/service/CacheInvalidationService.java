@@ -0,0 +1,121 @@
+package com.pro.Journal_Entry.service;
+
+import com.pro.Journal_Entry.cache.TieredCache;
+import com.pro.Journal_Entry.dto.JournalEvent;
+import com.pro.Journal_Entry.stream.JournalStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Cross-node cache invalidation
+ *
+ * WHY A SEPARATE LISTENER?
+ * journal-worker consumes with the shared "journal-group", so each event reaches ONE worker.
+ * Every node keeps its own L1 cache, so every node must see every event.
+ * This listener joins a unique group per node (broadcast mode) and starts at "latest",
+ * a fresh node has an empty L1 and does not need history.
+ *
+ * Keys evicted (same format as the @Cacheable keys in JournalService):
+ * - journals: "userId_date"
+ * - calendar: "userId_year_month"
+ * The in-memory streak calendars (StreakService) and ETag versions (JournalVersionService)
+ * are node-local too and updated here.
+ * After the second eviction the event goes to this node's SSE clients (JournalStreamService).
+ */
+@Service
+@Slf4j
+public class CacheInvalidationService {
+
+    private final CacheManager cacheManager;
+    private final StreakService streakService;
+    private final JournalVersionService journalVersionService;
+    private final JournalStreamService journalStreamService;
+    private final TaskScheduler taskScheduler;
+    private final Timer lagTimer;
+
+    /**
+     * The writer evicts Redis only after its method returns, while the event is sent
+     * before that. A node may re-read the old Redis value in between, so the local
+     * copy is evicted a second time after this delay.
+     */
+    @Value("${cache.invalidation.re-evict-delay:PT2S}")
+    private Duration reEvictDelay;
+
+    public CacheInvalidationService(CacheManager cacheManager,
+                                    StreakService streakService,
+                                    JournalVersionService journalVersionService,
+                                    JournalStreamService journalStreamService,
+                                    TaskScheduler taskScheduler,
+                                    MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.streakService = streakService;
+        this.journalVersionService = journalVersionService;
+        this.journalStreamService = journalStreamService;
+        this.taskScheduler = taskScheduler;
+        this.lagTimer = Timer.builder("journal.cache.invalidation.lag")
+                .description("Time between the journal event and the local cache eviction")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topic.journal-events}",
+            groupId = "${cache.invalidation.group-prefix:journal-cache}-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onJournalEvent(JournalEvent event,
+                               @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                               @Header(KafkaHeaders.OFFSET) long offset) {
+        if (event.getUserId() == null || event.getJournalDate() == null) {
+            return;
+        }
+
+        evictLocal(event.getUserId(), event.getJournalDate());
+        streakService.applyLocal(event);
+        taskScheduler.schedule(
+                () -> {
+                    evictLocal(event.getUserId(), event.getJournalDate());
+                    // clients refetch when they see the event - only now is every stale copy gone
+                    journalStreamService.publish(event, partition, offset);
+                },
+                Instant.now().plus(reEvictDelay)
+        );
+
+        if (event.getTimestamp() != null) {
+            Duration lag = Duration.between(
+                    event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant(),
+                    Instant.now()
+            );
+            lagTimer.record(lag.isNegative() ? Duration.ZERO : lag);
+            log.debug("Local cache invalidated: event={}, userId={}, date={}, lag={}ms",
+                    event.getEventType(), event.getUserId(), event.getJournalDate(), lag.toMillis());
+        }
+    }
+
+    private void evictLocal(Long userId, LocalDate date) {
+        journalVersionService.evictLocal(userId, date);
+        evictLocal("journals", userId + "_" + date);
+        evictLocal("calendar", userId + "_" + date.getYear() + "_" + date.getMonthValue());
+    }
+
+    private void evictLocal(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TieredCache tieredCache) {
+            tieredCache.evictLocal(key);
+        }
+    }
+}
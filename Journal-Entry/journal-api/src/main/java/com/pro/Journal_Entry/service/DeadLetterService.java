@@ -0,0 +1,173 @@
+package com.pro.Journal_Entry.service;
+
+import com.pro.Journal_Entry.dto.DeadLetterRecord;
+import com.pro.Journal_Entry.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dead-letter topic inspection and replay (admin only)
+ *
+ * Reads the DLT with a short-lived consumer that assigns partitions itself,
+ * so it never joins a group and never moves any committed offset.
+ */
+@Service
+@Slf4j
+public class DeadLetterService {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final int MAX_EMPTY_POLLS = 3;
+
+    private final ConsumerFactory<String, byte[]> deadLetterConsumerFactory;
+    private final KafkaTemplate<String, Object> replayKafkaTemplate;
+
+    @Value("${kafka.topic.journal-events}")
+    private String topicName;
+
+    @Value("${kafka.topic.journal-events-dlt}")
+    private String deadLetterTopic;
+
+    public DeadLetterService(ConsumerFactory<String, byte[]> deadLetterConsumerFactory,
+                             @Qualifier("replayKafkaTemplate") KafkaTemplate<String, Object> replayKafkaTemplate) {
+        this.deadLetterConsumerFactory = deadLetterConsumerFactory;
+        this.replayKafkaTemplate = replayKafkaTemplate;
+    }
+
+    /**
+     * Latest records of every DLT partition (at most "limit" per partition)
+     */
+    public List<DeadLetterRecord> getDeadLetters(int limit) {
+        List<DeadLetterRecord> records = new ArrayList<>();
+
+        try (Consumer<String, byte[]> consumer = deadLetterConsumerFactory.createConsumer()) {
+            List<TopicPartition> partitions = partitionsOf(consumer);
+            if (partitions.isEmpty()) {
+                return records;
+            }
+            consumer.assign(partitions);
+
+            Map<TopicPartition, Long> beginning = consumer.beginningOffsets(partitions);
+            Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+            long expected = 0;
+            for (TopicPartition partition : partitions) {
+                long start = Math.max(beginning.get(partition), end.get(partition) - limit);
+                consumer.seek(partition, start);
+                expected += end.get(partition) - start;
+            }
+
+            int emptyPolls = 0;
+            while (records.size() < expected && emptyPolls < MAX_EMPTY_POLLS) {
+                ConsumerRecords<String, byte[]> polled = consumer.poll(POLL_TIMEOUT);
+                if (polled.isEmpty()) {
+                    emptyPolls++;
+                }
+                for (ConsumerRecord<String, byte[]> record : polled) {
+                    if (record.offset() < end.get(new TopicPartition(record.topic(), record.partition()))) {
+                        records.add(toDeadLetterRecord(record));
+                    }
+                }
+            }
+        }
+
+        records.sort(Comparator.comparing(DeadLetterRecord::getTimestamp).reversed());
+        return records;
+    }
+
+    /**
+     * Send one DLT record back to the main topic, bytes untouched
+     * The first original partition / offset headers go along: the worker orders its rollups by
+     * the event's FIRST position, so a replayed old event cannot overwrite a newer state.
+     * @return offset of the replayed record in the main topic
+     */
+    public long replay(int partition, long offset) throws Exception {
+        ConsumerRecord<String, byte[]> record = fetch(partition, offset);
+
+        ProducerRecord<String, Object> replayed = new ProducerRecord<>(topicName, record.key(), record.value());
+        for (String name : List.of(KafkaHeaders.DLT_ORIGINAL_PARTITION, KafkaHeaders.DLT_ORIGINAL_OFFSET)) {
+            var values = record.headers().headers(name).iterator();
+            if (values.hasNext()) {
+                replayed.headers().add(name, values.next().value());
+            }
+        }
+        SendResult<String, Object> result = replayKafkaTemplate
+                .send(replayed)
+                .get(10, TimeUnit.SECONDS);
+
+        log.info("DLT record replayed: partition={}, offset={} -> {} offset={}",
+                partition, offset, topicName, result.getRecordMetadata().offset());
+        return result.getRecordMetadata().offset();
+    }
+
+    private ConsumerRecord<String, byte[]> fetch(int partition, long offset) {
+        TopicPartition topicPartition = new TopicPartition(deadLetterTopic, partition);
+
+        try (Consumer<String, byte[]> consumer = deadLetterConsumerFactory.createConsumer()) {
+            consumer.assign(List.of(topicPartition));
+            consumer.seek(topicPartition, offset);
+
+            for (int i = 0; i < MAX_EMPTY_POLLS; i++) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (record.offset() == offset) {
+                        return record;
+                    }
+                    if (record.offset() > offset) {
+                        break;
+                    }
+                }
+            }
+        }
+        throw new ResourceNotFoundException(
+                "No dead-letter record at partition " + partition + ", offset " + offset);
+    }
+
+    private List<TopicPartition> partitionsOf(Consumer<String, byte[]> consumer) {
+        List<PartitionInfo> infos = consumer.partitionsFor(deadLetterTopic);
+        List<TopicPartition> partitions = new ArrayList<>();
+        if (infos != null) {
+            for (PartitionInfo info : infos) {
+                partitions.add(new TopicPartition(info.topic(), info.partition()));
+            }
+        }
+        return partitions;
+    }
+
+    private DeadLetterRecord toDeadLetterRecord(ConsumerRecord<String, byte[]> record) {
+        return DeadLetterRecord.builder()
+                .partition(record.partition())
+                .offset(record.offset())
+                .key(record.key())
+                .timestamp(Instant.ofEpochMilli(record.timestamp()))
+                .originalTopic(header(record, KafkaHeaders.DLT_ORIGINAL_TOPIC))
+                .exceptionClass(header(record, KafkaHeaders.DLT_EXCEPTION_FQCN))
+                .exceptionMessage(header(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE))
+                .payload(record.value() != null ? new String(record.value(), StandardCharsets.UTF_8) : null)
+                .build();
+    }
+
+    private String header(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
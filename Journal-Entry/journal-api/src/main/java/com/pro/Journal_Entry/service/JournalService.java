@@ -1,5 +1,8 @@
 package com.pro.Journal_Entry.service;
 
+import com.pro.Journal_Entry.cache.TieredCache;
+import com.pro.Journal_Entry.diagnostics.RequestCost;
+import com.pro.Journal_Entry.dto.BatchGetResponse;
 import com.pro.Journal_Entry.dto.CalendarDayResponse;  // ← FIXED: Was CalenderDayResponse
 import com.pro.Journal_Entry.dto.JournalRequest;
 import com.pro.Journal_Entry.dto.JournalResponse;
@@ -8,10 +11,14 @@ import com.pro.Journal_Entry.entity.User;
 import com.pro.Journal_Entry.enums.EventType;
 import com.pro.Journal_Entry.exception.DuplicateJournalException;
 import com.pro.Journal_Entry.exception.ResourceNotFoundException;  // ← FIXED: Wrong import
+import com.pro.Journal_Entry.repository.JournalField;
 import com.pro.Journal_Entry.repository.JournalRepository;
 import com.pro.Journal_Entry.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
@@ -24,7 +31,13 @@ import org.springframework.transaction.annotation.Transactional;  // ← FIXED:
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Journal Service - Core business logic
@@ -33,8 +46,16 @@ import java.util.List;
  * - @Cacheable - Check cache first, if not found, execute method and cache result
  * - @CacheEvict - Remove from cache when data changes
  * - @Caching - Combine multiple cache operations
+ *
+ * LOGGING: with request cost accounting on, what happened (action, journalId) is added to
+ * the request's cost line (RequestCost, one line per request with Server-Timing) instead of
+ * a line per call; with it off the service logs as before. Admin deletes are always logged (audit).
+ *
+ * METRICS: journal.service{class,method,exception} times every public method,
+ * cache hits / misses / load time are in cache.gets and cache.load (TieredCacheMetrics)
  */
 @Service
+@Timed(value = "journal.service", description = "JournalService method time")
 @RequiredArgsConstructor
 @Slf4j
 public class JournalService {
@@ -42,6 +63,7 @@ public class JournalService {
     private final JournalRepository journalRepository;
     private final UserRepository userRepository;
     private final KafkaProducerService kafkaProducerService;
+    private final CacheManager cacheManager;
 
     /**
      * Create journal entry
@@ -81,7 +103,11 @@ public class JournalService {
 
         kafkaProducerService.sendJournalEvent(journal, EventType.JOURNAL_CREATED);
 
-        log.info("Journal created: userId={}, date={}", userId, request.getJournalDate());
+        if (RequestCost.annotate("action", "journal.created")) {
+            RequestCost.annotate("journalId", journal.getId());
+        } else {
+            log.info("Journal created: userId={}, date={}", userId, request.getJournalDate());
+        }
         return mapToResponse(journal);
     }
 
@@ -90,8 +116,9 @@ public class JournalService {
      *
      * @Cacheable - Result cached with key "userId_date"
      * Example: "123_2026-01-05"
+     * sync: concurrent misses on this node load once, and the load is timed (TieredCache)
      */
-    @Cacheable(value = "journals", key = "#userId + '_' + #date")
+    @Cacheable(value = "journals", key = "#userId + '_' + #date", sync = true)
     public JournalResponse getJournalByDate(Long userId, LocalDate date) {
 
         // FIXED: Removed extra "JournalEntry" at the end
@@ -101,10 +128,87 @@ public class JournalService {
                         "No journal found for date: " + date
                 ));
 
-        log.info("Journal retrieved from database: userId={}, date={}", userId, date);
+        if (!RequestCost.annotate("action", "journal.loaded")) {
+            log.info("Journal retrieved from database: userId={}, date={}", userId, date);
+        }
         return mapToResponse(journal);
     }
 
+    /**
+     * Batch get by dates and/or ids
+     *
+     * WHY?
+     * A client rendering a week / a list of days called GET /date/{date} N times:
+     * N HTTP requests, N Redis GETs and up to N queries. Here it is one request:
+     * 1. dates -> keys "userId_date" (same as getJournalByDate) -> L1, then ONE Redis MGET
+     * 2. missing dates + all ids -> ONE IN query (ids are not cache keys)
+     * 3. journals of the missing dates -> backfilled into "journals" in one pipelined round trip,
+     *    except dates evicted by a write while the query ran (TieredCache.BatchLoad) - the row read
+     *    here may be older than that write. Journals asked for by id only are not backfilled.
+     * Redis failures only cost the cache: everything is then read from the database.
+     */
+    public BatchGetResponse getJournalsBatch(Long userId, List<LocalDate> dates, List<Long> ids) {
+        Set<LocalDate> wantedDates = new LinkedHashSet<>(dates);
+        Set<Long> wantedIds = new LinkedHashSet<>(ids);
+
+        Map<Object, Object> cached = Map.of();
+        List<String> keys = wantedDates.stream().map(date -> userId + "_" + date).toList();
+        Cache cache = cacheManager.getCache("journals");
+        if (cache instanceof TieredCache tiered && !keys.isEmpty()) {
+            try {
+                cached = tiered.getAll(keys);
+            } catch (RuntimeException e) {
+                log.warn("Batch cache read failed, reading from database: {}", e.getMessage());
+            }
+        }
+
+        Map<Long, JournalResponse> found = new HashMap<>();
+        Set<LocalDate> missingDates = new LinkedHashSet<>(wantedDates);
+        for (Object value : cached.values()) {
+            if (value instanceof JournalResponse response) {
+                found.put(response.getId(), response);
+                missingDates.remove(response.getJournalDate());
+            }
+        }
+
+        if (!missingDates.isEmpty() || !wantedIds.isEmpty()) {
+            // opened before the query: evictions from here on are seen by load.putAll
+            TieredCache.BatchLoad load = cache instanceof TieredCache tiered
+                    ? tiered.batchLoad(missingDates.stream().map(date -> userId + "_" + date).toList())
+                    : null;
+            try {
+                Map<Object, Object> backfill = new HashMap<>();
+                for (JournalEntry journal : journalRepository.findByUserIdAndDatesOrIds(userId, missingDates, wantedIds)) {
+                    JournalResponse response = mapToResponse(journal);
+                    found.put(response.getId(), response);
+                    backfill.put(userId + "_" + response.getJournalDate(), response);
+                }
+                if (load != null) {
+                    try {
+                        load.putAll(backfill);
+                    } catch (RuntimeException e) {
+                        log.warn("Batch cache backfill failed: {}", e.getMessage());
+                    }
+                }
+            } finally {
+                if (load != null) {
+                    load.close();
+                }
+            }
+        }
+
+        List<JournalResponse> journals = new ArrayList<>(found.values());
+        journals.sort(Comparator.comparing(JournalResponse::getJournalDate));
+
+        Set<LocalDate> foundDates = new HashSet<>();
+        journals.forEach(journal -> foundDates.add(journal.getJournalDate()));
+        return BatchGetResponse.builder()
+                .journals(journals)
+                .missingDates(wantedDates.stream().filter(date -> !foundDates.contains(date)).toList())
+                .missingIds(wantedIds.stream().filter(id -> !found.containsKey(id)).toList())
+                .build();
+    }
+
     /**
      * Get user's journals (paginated)
      */
@@ -114,13 +218,21 @@ public class JournalService {
         return journals.map(this::mapToResponse);
     }
 
+    /**
+     * Get user's journals with only the requested fields (?fields=)
+     * The columns are selected in SQL - see JournalRepositoryImpl
+     */
+    public Page<Map<String, Object>> getUserJournals(Long userId, Set<JournalField> fields, Pageable pageable) {
+        return journalRepository.findFields(userId, null, fields, pageable);
+    }
+
     /**
      * Get calendar view for month
      * Shows which days have journals
      *
      * Example: GET /api/journals/calendar?month=2026-01
      */
-    @Cacheable(value = "calendar", key = "#userId + '_' + #yearMonth.year + '_' + #yearMonth.monthValue")
+    @Cacheable(value = "calendar", key = "#userId + '_' + #yearMonth.year + '_' + #yearMonth.monthValue", sync = true)
     public List<CalendarDayResponse> getCalendarMonth(Long userId, YearMonth yearMonth) {  // FIXED: Method name
 
         LocalDate startDate = yearMonth.atDay(1);
@@ -147,7 +259,9 @@ public class JournalService {
                     .build());
         }
 
-        log.info("Calendar retrieved: userId={}, month={}", userId, yearMonth);
+        if (!RequestCost.annotate("action", "calendar.loaded")) {
+            log.info("Calendar retrieved: userId={}, month={}", userId, yearMonth);
+        }
         return calendar;
     }
 
@@ -176,7 +290,11 @@ public class JournalService {
 
         kafkaProducerService.sendJournalEvent(journal, EventType.JOURNAL_UPDATED);
 
-        log.info("Journal updated: id={}", journalId);
+        if (RequestCost.annotate("action", "journal.updated")) {
+            RequestCost.annotate("journalId", journalId);
+        } else {
+            log.info("Journal updated: id={}", journalId);
+        }
         return mapToResponse(journal);
     }
 
@@ -188,7 +306,7 @@ public class JournalService {
             @CacheEvict(value = "journals", allEntries = true),
             @CacheEvict(value = "calendar", allEntries = true)
     })
-    public void deleteJournal(Long userId, Long journalId) {
+    public JournalResponse deleteJournal(Long userId, Long journalId) {
 
         JournalEntry journal = journalRepository.findById(journalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Journal not found"));
@@ -202,7 +320,12 @@ public class JournalService {
 
         kafkaProducerService.sendJournalEvent(journal, EventType.JOURNAL_DELETED);
 
-        log.info("Journal deleted: id={}", journalId);
+        if (RequestCost.annotate("action", "journal.deleted")) {
+            RequestCost.annotate("journalId", journalId);
+        } else {
+            log.info("Journal deleted: id={}", journalId);
+        }
+        return mapToResponse(journal);
     }
 
     /**
@@ -214,6 +337,13 @@ public class JournalService {
         return journals.map(this::mapToResponse);
     }
 
+    /**
+     * Search journals by keyword, only the requested fields
+     */
+    public Page<Map<String, Object>> searchJournals(Long userId, String keyword, Set<JournalField> fields, Pageable pageable) {
+        return journalRepository.findFields(userId, keyword, fields, pageable);
+    }
+
     /**
      * Admin: Get all journals
      */
@@ -223,6 +353,14 @@ public class JournalService {
         return journals.map(this::mapToResponse);
     }
 
+    /**
+     * Admin: Get all journals, only the requested fields
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public Page<Map<String, Object>> getAllJournals(Set<JournalField> fields, Pageable pageable) {
+        return journalRepository.findFields(null, null, fields, pageable);
+    }
+
     /**
      * Admin: Delete any journal
      */
@@ -232,7 +370,7 @@ public class JournalService {
             @CacheEvict(value = "journals", allEntries = true),
             @CacheEvict(value = "calendar", allEntries = true)
     })
-    public void adminDeleteJournal(Long journalId) {
+    public JournalResponse adminDeleteJournal(Long journalId) {
         JournalEntry journal = journalRepository.findById(journalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Journal not found"));
 
@@ -241,7 +379,10 @@ public class JournalService {
 
         kafkaProducerService.sendJournalEvent(journal, EventType.JOURNAL_DELETED);
 
+        RequestCost.annotate("action", "journal.admin-deleted");
+        RequestCost.annotate("journalId", journalId);
         log.info("Admin deleted journal: id={}", journalId);
+        return mapToResponse(journal);
     }
 
     /**
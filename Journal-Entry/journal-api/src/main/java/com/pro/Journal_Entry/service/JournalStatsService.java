@@ -0,0 +1,124 @@
+package com.pro.Journal_Entry.service;
+
+import com.pro.Journal_Entry.analytics.StatsKeys;
+import com.pro.Journal_Entry.dto.JournalStatsResponse;
+import com.pro.Journal_Entry.enums.Mood;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Analytics reader - answers mood/activity stats from the rollups kept by JournalAnalyticsService
+ *
+ * Whole months inside the range are read from monthly rollups, the partial months at
+ * both ends from daily rollups. One pipelined round trip, at most (months + 62) hashes,
+ * no matter how many journals the user has written.
+ */
+@Service
+@RequiredArgsConstructor
+public class JournalStatsService {
+
+    private static final int MAX_RANGE_YEARS = 20;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public JournalStatsResponse getStats(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (from.plusYears(MAX_RANGE_YEARS).isBefore(to)) {
+            throw new IllegalArgumentException("Range cannot exceed " + MAX_RANGE_YEARS + " years");
+        }
+
+        // Plan which rollups cover the range
+        List<String> keys = new ArrayList<>();
+        List<DayOfWeek> dayWeekdays = new ArrayList<>();  // null for monthly keys
+
+        YearMonth month = YearMonth.from(from);
+        YearMonth lastMonth = YearMonth.from(to);
+        while (!month.isAfter(lastMonth)) {
+            LocalDate monthStart = month.atDay(1);
+            LocalDate monthEnd = month.atEndOfMonth();
+
+            if (!monthStart.isBefore(from) && !monthEnd.isAfter(to)) {
+                keys.add(StatsKeys.month(userId, month));
+                dayWeekdays.add(null);
+            } else {
+                LocalDate day = monthStart.isBefore(from) ? from : monthStart;
+                LocalDate end = monthEnd.isAfter(to) ? to : monthEnd;
+                for (; !day.isAfter(end); day = day.plusDays(1)) {
+                    keys.add(StatsKeys.day(userId, day));
+                    dayWeekdays.add(day.getDayOfWeek());
+                }
+            }
+            month = month.plusMonths(1);
+        }
+
+        List<Object> rollups = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.hashCommands().hGetAll(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        // Aggregate
+        long totalEntries = 0;
+        long totalWords = 0;
+        Map<Mood, Long> moodCounts = new EnumMap<>(Mood.class);
+        Map<DayOfWeek, Long> weekdayCounts = new EnumMap<>(DayOfWeek.class);
+
+        for (int i = 0; i < rollups.size(); i++) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> rollup = (Map<String, String>) rollups.get(i);
+            if (rollup == null || rollup.isEmpty()) {
+                continue;
+            }
+
+            long entries = parse(rollup.get(StatsKeys.ENTRIES));
+            totalEntries += entries;
+            totalWords += parse(rollup.get(StatsKeys.WORDS));
+
+            for (Map.Entry<String, String> field : rollup.entrySet()) {
+                String name = field.getKey();
+                if (name.startsWith(StatsKeys.MOOD_PREFIX)) {
+                    moodCounts.merge(Mood.valueOf(name.substring(StatsKeys.MOOD_PREFIX.length())),
+                            parse(field.getValue()), Long::sum);
+                } else if (name.startsWith(StatsKeys.WEEKDAY_PREFIX)) {
+                    weekdayCounts.merge(DayOfWeek.valueOf(name.substring(StatsKeys.WEEKDAY_PREFIX.length())),
+                            parse(field.getValue()), Long::sum);
+                }
+            }
+
+            DayOfWeek weekday = dayWeekdays.get(i);
+            if (weekday != null && entries > 0) {
+                weekdayCounts.merge(weekday, entries, Long::sum);
+            }
+        }
+
+        moodCounts.values().removeIf(count -> count == 0);
+        weekdayCounts.values().removeIf(count -> count == 0);
+
+        return JournalStatsResponse.builder()
+                .from(from)
+                .to(to)
+                .totalEntries(totalEntries)
+                .totalWords(totalWords)
+                .moodCounts(moodCounts)
+                .weekdayCounts(weekdayCounts)
+                .build();
+    }
+
+    private long parse(String value) {
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+}
@@ -0,0 +1,175 @@
+package com.pro.Journal_Entry.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pro.Journal_Entry.cache.TieredCache;
+import com.pro.Journal_Entry.diagnostics.RequestCost;
+import com.pro.Journal_Entry.dto.JournalResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Version stamps for conditional GET (ETag / If-None-Match)
+ *
+ * WHY?
+ * Clients refetch the same day / month on every screen focus. With an ETag the server can
+ * answer 304 from a version stamp alone - no query, no JSON, no body on the wire.
+ *
+ * STAMPS:
+ * - single journal: id + updatedAt of the (cached) JournalResponse
+ * - calendar month: version:{userId}:{yyyy-MM}  - changed by every write to that month
+ * - user's lists:   version:{userId}           - changed by every write of that user
+ * - admin list:     version:all                - changed by every write
+ *
+ * Versions are random numbers, not counters: if Redis loses a key the next read
+ * creates a new random one, it can never repeat an ETag a client still holds.
+ * Each node keeps versions in a local Caffeine cache; it is evicted by the writer and,
+ * on the other nodes, by CacheInvalidationService from the journal events (with the L1 bodies).
+ * If Redis is unavailable no ETag is sent (plain 200), never a wrong 304.
+ *
+ * NEVER A NEW VERSION WITH AN OLD BODY (that pair would be 304'd forever):
+ * - writers bump only after the @CacheEvict of the body has run (JournalController, after the service call)
+ * - a node that has to load a month version from Redis drops its L1 calendar body first,
+ *   the version may be newer than a body its broadcast listener has not evicted yet
+ */
+@Service
+@Slf4j
+public class JournalVersionService {
+
+    private static final String PREFIX = "version:";
+    private static final String ALL = PREFIX + "all";
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheManager cacheManager;
+    private final Cache<String, String> versions;
+    private final Duration keyTtl;
+
+    public JournalVersionService(StringRedisTemplate redisTemplate,
+                                 CacheManager cacheManager,
+                                 @Value("${etag.version-cache.maximum-size:100000}") long maximumSize,
+                                 @Value("${etag.version-cache.ttl:PT10M}") Duration localTtl,
+                                 @Value("${etag.version-ttl:P30D}") Duration keyTtl) {
+        this.redisTemplate = redisTemplate;
+        this.cacheManager = cacheManager;
+        this.keyTtl = keyTtl;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+
+    public String journalETag(JournalResponse journal) {
+        if (journal.getUpdatedAt() == null) {
+            return null;
+        }
+        long stamp = journal.getUpdatedAt().toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L
+                + journal.getUpdatedAt().getNano();
+        return "\"j" + journal.getId() + "-" + Long.toHexString(stamp) + "\"";
+    }
+
+    public String calendarETag(Long userId, YearMonth month) {
+        return eTag("c", monthKey(userId, month), () -> {
+            if (cacheManager.getCache("calendar") instanceof TieredCache calendar) {
+                calendar.evictLocal(userId + "_" + month.getYear() + "_" + month.getMonthValue());
+            }
+        });
+    }
+
+    public String userListETag(Long userId) {
+        return eTag("u", userKey(userId), null);
+    }
+
+    public String adminListETag() {
+        return eTag("a", ALL, null);
+    }
+
+    /**
+     * A journal of this user on this date changed - new month, user and global versions
+     */
+    public void bump(Long userId, LocalDate date) {
+        String[] keys = {monthKey(userId, YearMonth.from(date)), userKey(userId), ALL};
+        RequestCost cost = RequestCost.current();
+        long start = cost == null ? 0 : System.nanoTime();
+        try {
+            for (String key : keys) {
+                redisTemplate.opsForValue().set(key, newVersion(), keyTtl);
+            }
+        } catch (RuntimeException e) {
+            // the keys that were not written keep their old version - drop them so readers cannot 304 on them
+            log.warn("Version bump failed for userId={}, date={}: {}", userId, date, e.getMessage());
+            try {
+                redisTemplate.delete(List.of(keys));
+            } catch (RuntimeException ignored) {
+                // Redis down - nothing else to do; readers get no ETag while it is down
+            }
+        }
+        if (cost != null) {
+            cost.add(RequestCost.Stage.REDIS, System.nanoTime() - start);
+        }
+        evictLocal(userId, date);
+    }
+
+    /**
+     * Drop this node's copies (writer + broadcast listener)
+     */
+    public void evictLocal(Long userId, LocalDate date) {
+        versions.invalidate(monthKey(userId, YearMonth.from(date)));
+        versions.invalidate(userKey(userId));
+        versions.invalidate(ALL);
+    }
+
+    private String eTag(String kind, String key, Runnable beforeLoad) {
+        try {
+            String version = versions.get(key, k -> {
+                if (beforeLoad != null) {
+                    beforeLoad.run();
+                }
+                return load(k);
+            });
+            return version == null ? null : "\"" + kind + version + "\"";
+        } catch (RuntimeException e) {
+            log.debug("No version for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private String load(String key) {
+        RequestCost cost = RequestCost.current();
+        long start = cost == null ? 0 : System.nanoTime();
+        try {
+            String version = redisTemplate.opsForValue().get(key);
+            if (version != null) {
+                return version;
+            }
+            // first read (or key lost) - start a new random version, unless another node just did
+            redisTemplate.opsForValue().setIfAbsent(key, newVersion(), keyTtl);
+            return redisTemplate.opsForValue().get(key);
+        } finally {
+            if (cost != null) {
+                cost.add(RequestCost.Stage.REDIS, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static String newVersion() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static String monthKey(Long userId, YearMonth month) {
+        return PREFIX + userId + ":" + month;
+    }
+
+    private static String userKey(Long userId) {
+        return PREFIX + userId;
+    }
+}
@@ -1,5 +1,7 @@
 package com.pro.Journal_Entry.service;
 
+import com.pro.Journal_Entry.diagnostics.KafkaSendEvent;
+import com.pro.Journal_Entry.diagnostics.RequestCost;
 import com.pro.Journal_Entry.dto.JournalEvent;
 import com.pro.Journal_Entry.entity.JournalEntry;
 import com.pro.Journal_Entry.enums.EventType;
@@ -36,15 +38,34 @@ public class KafkaProducerService {
                 .username(journal.getUser().getUsername())
                 .journalDate(journal.getJournalDate())
                 .title(journal.getTitle())
+                .mood(journal.getMood())
+                .wordCount(countWords(journal.getContent()))
                 .timestamp(LocalDateTime.now())
                 .build();
 
+        //JFR journal.KafkaSend - recorded when the ack takes longer than its threshold
+        KafkaSendEvent sendEvent = new KafkaSendEvent();
+        sendEvent.begin();
+
         //Send to Kafka (asynchronous)
+        RequestCost cost = RequestCost.current();
+        long start = cost == null ? 0 : System.nanoTime();
         CompletableFuture<SendResult<String,JournalEvent>> future = kafkaTemplate
                 .send(topicName,String.valueOf(journal.getId()),event);
+        //time on the request thread only (metadata / buffer wait), the ack is async
+        if (cost != null) {
+            cost.add(RequestCost.Stage.KAFKA, System.nanoTime() - start);
+        }
 
         //Handle success/failure
         future.whenComplete((result,ex)->{
+            sendEvent.end();
+            if(sendEvent.shouldCommit()){
+                sendEvent.topic = topicName;
+                sendEvent.eventType = eventType.name();
+                sendEvent.failed = ex != null;
+                sendEvent.commit();
+            }
             if(ex == null){
                 log.info("Kafka event send: topic={},event={},offset={}",topicName,eventType,result.getRecordMetadata().offset());
             }else{
@@ -52,4 +73,24 @@ public class KafkaProducerService {
             }
         });
     }
+
+    /**
+     * Count whitespace-separated words
+     */
+    static int countWords(String text){
+        if(text == null){
+            return 0;
+        }
+        int words = 0;
+        boolean inWord = false;
+        for(int i = 0; i < text.length(); i++){
+            if(Character.isWhitespace(text.charAt(i))){
+                inWord = false;
+            }else if(!inWord){
+                inWord = true;
+                words++;
+            }
+        }
+        return words;
+    }
 }
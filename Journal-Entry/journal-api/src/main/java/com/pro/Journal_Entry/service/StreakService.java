@@ -0,0 +1,198 @@
+package com.pro.Journal_Entry.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pro.Journal_Entry.analytics.StreakCalendar;
+import com.pro.Journal_Entry.analytics.StreakKeys;
+import com.pro.Journal_Entry.dto.JournalEvent;
+import com.pro.Journal_Entry.dto.StreakResponse;
+import com.pro.Journal_Entry.enums.EventType;
+import com.pro.Journal_Entry.repository.JournalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writing streaks (current / longest / per month)
+ *
+ * WRITE: the worker (StreakRecorderService) does SETBIT on the per-year Redis bitmaps
+ * READ: per-user StreakCalendar kept in memory (bounded Caffeine cache),
+ *       loaded from Redis on first use and kept current by applyLocal()
+ *       which every node runs from its broadcast listener (CacheInvalidationService)
+ *
+ * RACE: the broadcast listener and the worker consume the same event independently, so a load
+ * may read the bitmaps before the worker's SETBIT. An event that arrives WHILE its user is
+ * loading waits for the load and is applied to the result (applyLocal). One that arrived before
+ * the load started is lost to this copy - entries expire after write (streak.cache.expire-after-write),
+ * not after access, so such a divergence is gone after that long at the latest.
+ *
+ * The first load of a user without bitmaps backfills them from the database, once.
+ */
+@Service
+@Slf4j
+public class StreakService {
+
+    private static final Duration BACKFILL_LOCK = Duration.ofSeconds(30);
+    private static final RedisScript<Long> RELEASE_LOCK =
+            RedisScript.of(new ClassPathResource("scripts/release-lock.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JournalRepository journalRepository;
+    private final Cache<Long, StreakCalendar> calendars;
+
+    public StreakService(StringRedisTemplate redisTemplate,
+                         JournalRepository journalRepository,
+                         @Value("${streak.cache.maximum-size:100000}") long maximumSize,
+                         @Value("${streak.cache.expire-after-write:PT1H}") Duration expireAfterWrite) {
+        this.redisTemplate = redisTemplate;
+        this.journalRepository = journalRepository;
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public StreakResponse getStreaks(Long userId, YearMonth month) {
+        StreakCalendar calendar = calendars.get(userId, this::load);
+
+        return StreakResponse.builder()
+                .currentStreak(calendar.currentStreak(LocalDate.now()))
+                .longestStreak(calendar.longestStreak())
+                .month(month)
+                .daysWrittenInMonth(calendar.daysWritten(month))
+                .longestStreakInMonth(calendar.longestStreak(month))
+                .build();
+    }
+
+    /**
+     * Update this node's in-memory copy, if the user is loaded (every node, broadcast listener)
+     *
+     * compute, not getIfPresent: while calendars.get() is loading this user, the map entry is
+     * reserved and compute waits for the load, then applies the event to its result. getIfPresent
+     * (and computeIfPresent, which looks the key up first) answer "absent" meanwhile and the event
+     * would be dropped - if the load read Redis before the worker's SETBIT, the day would be missing
+     * until the entry expires. Not loaded -> null, nothing is cached.
+     * Setting / clearing a bit twice is harmless, so it does not matter whether the load saw it.
+     */
+    public void applyLocal(JournalEvent event) {
+        if (event.getUserId() == null || event.getJournalDate() == null) {
+            return;
+        }
+        calendars.asMap().compute(event.getUserId(), (userId, calendar) -> {
+            if (calendar == null) {
+                return null;
+            }
+            if (event.getEventType() == EventType.JOURNAL_CREATED) {
+                calendar.set(event.getJournalDate());
+            } else if (event.getEventType() == EventType.JOURNAL_DELETED) {
+                calendar.clear(event.getJournalDate());
+            }
+            return calendar;
+        });
+    }
+
+    private StreakCalendar load(Long userId) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(StreakKeys.ready(userId)))) {
+            return loadFromRedis(userId);
+        }
+        return backfill(userId);
+    }
+
+    private StreakCalendar loadFromRedis(Long userId) {
+        Set<String> years = redisTemplate.opsForSet().members(StreakKeys.years(userId));
+        StreakCalendar calendar = new StreakCalendar();
+        if (years == null || years.isEmpty()) {
+            return calendar;
+        }
+
+        List<Integer> yearList = years.stream().map(Integer::valueOf).toList();
+        List<Object> bitmaps = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Integer year : yearList) {
+                connection.stringCommands().get(bytes(StreakKeys.year(userId, year)));
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        for (int i = 0; i < yearList.size(); i++) {
+            calendar.putYear(yearList.get(i), StreakCalendar.fromRedisBitmap((byte[]) bitmaps.get(i)));
+        }
+        return calendar;
+    }
+
+    /**
+     * Build the bitmaps from the database for a user seen for the first time.
+     *
+     * RACE: the read and the SETBITs are not atomic - a journal deleted in between is cleared by
+     * the worker (SETBIT 0) and could be set again here, bringing the deleted day back. So:
+     * - streak:{userId}:backfill (SET NX, random token) - only one node writes, the others just use
+     *   the DB read. Released with compare-and-delete: a backfill slower than the lock TTL must not
+     *   delete the lock of the node that took it over.
+     * - after writing, the dates are read AGAIN and bits of days deleted meanwhile are cleared.
+     *   Deletes after the re-read come later than these writes, the worker's SETBIT 0 wins.
+     * Only then is the ready marker set.
+     */
+    private StreakCalendar backfill(Long userId) {
+        List<LocalDate> dates = journalRepository.findJournalDatesByUserId(userId);
+        StreakCalendar calendar = new StreakCalendar();
+        dates.forEach(calendar::set);
+
+        String lock = StreakKeys.backfill(userId);
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lock, token, BACKFILL_LOCK))) {
+            log.debug("Streak backfill of userId={} runs on another node", userId);
+            return calendar;
+        }
+        try {
+            setBits(userId, dates, true);
+
+            Set<LocalDate> current = new HashSet<>(journalRepository.findJournalDatesByUserId(userId));
+            List<LocalDate> deleted = dates.stream().filter(date -> !current.contains(date)).toList();
+            setBits(userId, deleted, false);
+            deleted.forEach(calendar::clear);
+            // created meanwhile: the worker sets those bits itself
+            current.forEach(calendar::set);
+
+            redisTemplate.opsForValue().set(StreakKeys.ready(userId), "1");
+            log.info("Streak bitmaps backfilled: userId={}, days={}, deleted meanwhile={}",
+                    userId, dates.size(), deleted.size());
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK, List.of(lock), token);
+        }
+        return calendar;
+    }
+
+    private void setBits(Long userId, List<LocalDate> dates, boolean written) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (LocalDate date : dates) {
+                connection.stringCommands().setBit(bytes(StreakKeys.year(userId, date.getYear())),
+                        date.getDayOfYear() - 1, written);
+                if (written) {
+                    connection.setCommands().sAdd(bytes(StreakKeys.years(userId)),
+                            bytes(String.valueOf(date.getYear())));
+                }
+            }
+            return null;
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
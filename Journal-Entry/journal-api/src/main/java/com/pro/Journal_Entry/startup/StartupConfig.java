@@ -0,0 +1,43 @@
+package com.pro.Journal_Entry.startup;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Keeps the application correct if spring.main.lazy-initialization is turned on
+ *
+ * WHY?
+ * No profile enables it: StartupBenchmark measured fast-start with lazy beans SLOWER to its first
+ * 200 than the default (the skipped beans are created by the first requests instead, on the same
+ * cores). It is still a one-line switch someone will try - this filter keeps it from breaking things.
+ *
+ * NEVER LAZY: beans with @Scheduled or @KafkaListener methods.
+ * Those annotations are processed when the bean is created, and nobody ever asks for e.g. the
+ * cache-invalidation listener or the revocation sync - lazy, they would silently never run.
+ * SmartLifecycle beans (JFR recording, listener containers, Tomcat) are started by Spring anyway.
+ */
+@Configuration
+public class StartupConfig {
+
+    // static: consumed by a BeanFactoryPostProcessor, before regular beans exist
+    @Bean
+    static LazyInitializationExcludeFilter eagerScheduledAndListenerBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasTriggeredMethods(beanType);
+    }
+
+    private static boolean hasTriggeredMethods(Class<?> beanType) {
+        Map<Method, Boolean> triggered = MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                                || AnnotatedElementUtils.hasAnnotation(method, KafkaListener.class) ? Boolean.TRUE : null);
+        return !triggered.isEmpty() || AnnotatedElementUtils.hasAnnotation(beanType, KafkaListener.class);
+    }
+}
@@ -0,0 +1,168 @@
+package com.pro.Journal_Entry.startup;
+
+import com.pro.Journal_Entry.dto.JournalEvent;
+import com.pro.Journal_Entry.security.TokenRevocationService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection warm-up before the instance reports ready
+ *
+ * WHY?
+ * In the fast-start profile nothing connects during startup any more (no schema update, no JDBC
+ * metadata, no revocation rebuild on the main thread) - so without this the first users after a
+ * scale-out would pay for opening the pools. Only that profile turns it on (startup.warmup.enabled);
+ * without it startup has already connected everything. Runs once Tomcat is up (ApplicationRunner),
+ * the steps in parallel:
+ * - database   - one connection from each Hikari pool (starts the pool, it then fills to minimum-idle)
+ * - redis      - PING (opens the shared Lettuce connection)
+ * - kafka      - metadata of journal-events (creates the producer)
+ * - revocation - TokenRevocationService.sync() (the first Bloom filter rebuild if not done yet)
+ *
+ * Runners finish before ApplicationReadyEvent, so readiness waits for the steps - at most
+ * startup.warmup.timeout. A step that fails or is still running then is logged and left to the
+ * first request; the warm-up never fails startup.
+ *
+ * Metrics: startup.warmup{step, outcome=success|failure}
+ */
+@Component
+@ConditionalOnProperty(name = "startup.warmup.enabled", havingValue = "true")
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+    private final ObjectProvider<HikariDataSource> dataSources;
+    private final ObjectProvider<RedisConnectionFactory> redisConnectionFactory;
+    private final ObjectProvider<KafkaTemplate<String, JournalEvent>> kafkaTemplate;
+    private final ObjectProvider<TokenRevocationService> tokenRevocationService;
+    private final MeterRegistry meterRegistry;
+    private final String topic;
+    private final Duration timeout;
+
+    public StartupWarmup(ObjectProvider<HikariDataSource> dataSources,
+                         ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+                         ObjectProvider<KafkaTemplate<String, JournalEvent>> kafkaTemplate,
+                         ObjectProvider<TokenRevocationService> tokenRevocationService,
+                         MeterRegistry meterRegistry,
+                         @Value("${kafka.topic.journal-events}") String topic,
+                         @Value("${startup.warmup.timeout:PT10S}") Duration timeout) {
+        this.dataSources = dataSources;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.tokenRevocationService = tokenRevocationService;
+        this.meterRegistry = meterRegistry;
+        this.topic = topic;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "startup-warmup-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Map<String, Future<?>> steps = new LinkedHashMap<>();
+        steps.put("database", executor.submit(() -> step("database", this::database)));
+        steps.put("redis", executor.submit(() -> step("redis", this::redis)));
+        steps.put("kafka", executor.submit(() -> step("kafka", this::kafka)));
+        steps.put("revocation", executor.submit(() -> step("revocation", this::revocation)));
+
+        long deadline = start + timeout.toNanos();
+        StringBuilder pending = new StringBuilder();
+        for (Map.Entry<String, Future<?>> step : steps.entrySet()) {
+            try {
+                step.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                pending.append(pending.isEmpty() ? "" : ", ").append(step.getKey());
+            } catch (ExecutionException e) {
+                // not thrown: step() catches and logs
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (pending.isEmpty()) {
+            log.info("Warm-up done in {} ms", millis);
+        } else {
+            log.warn("Warm-up not finished after {} ms, still running: {}", millis, pending);
+        }
+
+        // threads end once their step is done; daemon, so a hanging step never blocks shutdown
+        executor.shutdown();
+    }
+
+    private void step(String name, WarmupStep step) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            step.run();
+            outcome = "success";
+        } catch (Exception e) {
+            log.warn("Warm-up step {} failed, the first request will retry: {}", name, e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("startup.warmup", "step", name, "outcome", outcome));
+        }
+    }
+
+    private void database() throws SQLException {
+        for (HikariDataSource dataSource : dataSources) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.isValid(1);
+            }
+        }
+    }
+
+    private void redis() {
+        RedisConnectionFactory connectionFactory = redisConnectionFactory.getIfAvailable();
+        if (connectionFactory != null) {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.ping();
+            }
+        }
+    }
+
+    private void kafka() {
+        KafkaTemplate<String, JournalEvent> template = kafkaTemplate.getIfAvailable();
+        if (template != null) {
+            template.partitionsFor(topic);
+        }
+    }
+
+    private void revocation() {
+        tokenRevocationService.ifAvailable(TokenRevocationService::sync);
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,252 @@
+package com.pro.Journal_Entry.stream;
+
+import com.pro.Journal_Entry.dto.JournalEvent;
+import com.pro.Journal_Entry.security.JwtPrincipal;
+import com.pro.Journal_Entry.security.TokenRevocationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Journal changes pushed to clients over SSE (GET /api/journals/stream)
+ *
+ * WHY?
+ * Web and desktop clients polled /api/journals and /calendar every few seconds to see
+ * edits from other devices - almost every poll returned nothing new.
+ * Now they keep one idle connection open and refetch only when an event arrives.
+ *
+ * HOW:
+ * - fed by the per-node broadcast listener (CacheInvalidationService), after the local
+ *   copies are evicted for the second time - a client that refetches on the event
+ *   cannot get the stale cached version
+ * - fan-out per userId: userId -> open connections of that user
+ * - no thread per connection: SseEmitter is Servlet async, an idle connection is only a socket
+ *   (server.tomcat.max-connections bounds how many); a few sender threads do all writes
+ * - each connection has a bounded queue (StreamConnection) - slow clients are dropped, not buffered
+ * - heartbeat comment every stream.heartbeat keeps proxies from closing idle connections
+ *   and finds dead ones
+ * - resume: the last stream.ring-buffer-size events are kept in memory. Event ids are stream
+ *   positions, one offset per partition (StreamEvent); a reconnect with Last-Event-ID gets the
+ *   user's buffered events above the client's offset of their partition - per partition, since
+ *   the order across partitions is not the same on every node. A partition missing from the id
+ *   is replayed from the first event this node saw of it. If the buffer no longer covers the
+ *   position (events above it were overwritten, or this node started after it) the client gets
+ *   a "reset" event and refetches.
+ * - a stream lives at most until its access token expires (the emitter times out and the
+ *   client reconnects with a fresh token), and is closed once the token is revoked (logout,
+ *   on any node - checked on every event and heartbeat, from the in-memory revocation filter)
+ *
+ * Events are appended AND handed to the connections under the ring lock, and a new connection
+ * registers and replays under the same lock: no event is missed or sent out of order between
+ * the replay and the live events, and each id covers every event the client got before it.
+ * Offering is non-blocking (a bounded queue), so the lock is never held over a socket write.
+ */
+@Service
+@Slf4j
+public class JournalStreamService {
+
+    private final Map<Long, Set<StreamConnection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final TokenRevocationService tokenRevocationService;
+
+    // ring buffer of recent events and the per-partition positions below, guarded by the ring
+    private final StreamEvent[] ring;
+    private long written;
+    // newest offset published, per partition
+    private final Map<Integer, Long> latest = new HashMap<>();
+    // first offset this node published, per partition
+    private final Map<Integer, Long> firstSeen = new HashMap<>();
+    // newest offset overwritten in the ring, per partition
+    private final Map<Integer, Long> evicted = new HashMap<>();
+
+    private final ExecutorService sender;
+    private final Duration timeout;
+    private final int queueCapacity;
+    private final Counter dropped;
+    private final Counter revoked;
+
+    public JournalStreamService(@Value("${stream.ring-buffer-size:10000}") int ringBufferSize,
+                                @Value("${stream.queue-capacity:64}") int queueCapacity,
+                                @Value("${stream.timeout:PT30M}") Duration timeout,
+                                @Value("${stream.sender-threads:4}") int senderThreads,
+                                TokenRevocationService tokenRevocationService,
+                                MeterRegistry meterRegistry) {
+        this.tokenRevocationService = tokenRevocationService;
+        this.ring = new StreamEvent[ringBufferSize];
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dropped = meterRegistry.counter("journal.stream.dropped");
+        this.revoked = meterRegistry.counter("journal.stream.revoked");
+        meterRegistry.gauge("journal.stream.connections", connectionCount);
+    }
+
+    /**
+     * Open a stream for the caller, replaying what was missed since lastEventId (may be null)
+     */
+    public SseEmitter subscribe(JwtPrincipal principal, String lastEventId) {
+        // ends with the token - the client reconnects with a fresh one
+        long untilExpiry = Duration.between(Instant.now(), principal.expiresAt()).toMillis();
+        SseEmitter emitter = new SseEmitter(Math.max(1, Math.min(timeout.toMillis(), untilExpiry)));
+        StreamConnection connection = new StreamConnection(principal.userId(), principal.tokenId(),
+                emitter, queueCapacity, sender);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onError(error -> unregister(connection));
+
+        synchronized (ring) {
+            register(connection);
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                SortedMap<Integer, Long> position = StreamEvent.position(lastEventId);
+                List<StreamEvent> missed = position == null ? null : eventsAfter(principal.userId(), position);
+                if (missed == null || missed.size() >= queueCapacity) {
+                    connection.offer(SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON));
+                } else {
+                    missed.forEach(event -> connection.offer(toSse(event)));
+                }
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * A journal event from Kafka - remember it and push it to the user's connections
+     */
+    public void publish(JournalEvent event, int partition, long offset) {
+        String name = event.getEventType() == null ? "change" : event.getEventType().name();
+        synchronized (ring) {
+            int slot = (int) (written++ % ring.length);
+            if (ring[slot] != null) {
+                evicted.merge(ring[slot].partition(), ring[slot].offset(), Math::max);
+            }
+            firstSeen.putIfAbsent(partition, offset);
+            latest.merge(partition, offset, Math::max);
+            StreamEvent streamEvent = new StreamEvent(partition, offset, StreamEvent.id(latest),
+                    event.getUserId(), name, event);
+            ring[slot] = streamEvent;
+
+            Set<StreamConnection> userConnections = connections.get(event.getUserId());
+            if (userConnections == null) {
+                return;
+            }
+            for (StreamConnection connection : userConnections) {
+                if (closeIfRevoked(connection)) {
+                    continue;
+                }
+                if (!connection.offer(toSse(streamEvent)) && !connection.isClosed()) {
+                    dropped.increment();
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        // the ping carries the current position: an idle client resumes from here, not from its
+        // last event long gone from the buffer. An older position than an event already sent
+        // only means that event is replayed once more.
+        String position;
+        synchronized (ring) {
+            position = StreamEvent.id(latest);
+        }
+        for (Set<StreamConnection> userConnections : connections.values()) {
+            for (StreamConnection connection : userConnections) {
+                if (!closeIfRevoked(connection) && connection.isIdle()) {
+                    SseEmitter.SseEventBuilder ping = SseEmitter.event().comment("ping");
+                    connection.offer(position.isEmpty() ? ping : ping.id(position));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(StreamConnection::close));
+        sender.shutdown();
+    }
+
+    /**
+     * @return the user's buffered events above the client's position, oldest first -
+     * null if the buffer does not cover that position (the client has to reset)
+     */
+    List<StreamEvent> eventsAfter(Long userId, Map<Integer, Long> position) {
+        synchronized (ring) {
+            Map<Integer, Long> from = new HashMap<>();
+            for (Map.Entry<Integer, Long> partition : latest.entrySet()) {
+                long first = firstSeen.get(partition.getKey());
+                long seen = position.getOrDefault(partition.getKey(), first - 1);
+                // this node started after the client's offset, or overwrote events above it
+                if (first > seen + 1 || evicted.getOrDefault(partition.getKey(), Long.MIN_VALUE) > seen) {
+                    return null;
+                }
+                from.put(partition.getKey(), seen);
+            }
+            List<StreamEvent> missed = new ArrayList<>();
+            for (long i = Math.max(0, written - ring.length); i < written; i++) {
+                StreamEvent event = ring[(int) (i % ring.length)];
+                if (userId.equals(event.userId()) && event.offset() > from.get(event.partition())) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+    }
+
+    /**
+     * Logged out (on any node) - the stream must not outlive the token
+     */
+    private boolean closeIfRevoked(StreamConnection connection) {
+        if (connection.isClosed() || !tokenRevocationService.isRevoked(connection.tokenId())) {
+            return false;
+        }
+        revoked.increment();
+        connection.close();
+        return true;
+    }
+
+    private void register(StreamConnection connection) {
+        connections.computeIfAbsent(connection.userId(), id -> ConcurrentHashMap.newKeySet()).add(connection);
+        connectionCount.incrementAndGet();
+    }
+
+    private void unregister(StreamConnection connection) {
+        connections.computeIfPresent(connection.userId(), (id, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    // a new builder per connection - a built SseEventBuilder cannot be sent twice
+    private static SseEmitter.SseEventBuilder toSse(StreamEvent event) {
+        return SseEmitter.event()
+                .id(event.id())
+                .name(event.name())
+                .data(event.data(), MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,101 @@
+package com.pro.Journal_Entry.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open SSE connection
+ *
+ * Publishers (the Kafka listener, the heartbeat) only offer to a bounded queue and never
+ * write to the socket themselves - one slow client cannot block the listener.
+ * A sender thread drains the queue; at most one drain task per connection is scheduled.
+ * A full queue means the client does not keep up: the connection is closed and the
+ * client resumes with Last-Event-ID from the ring buffer.
+ */
+class StreamConnection {
+
+    private final Long userId;
+    private final String tokenId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final Executor sender;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    StreamConnection(Long userId, String tokenId, SseEmitter emitter, int queueCapacity, Executor sender) {
+        this.userId = userId;
+        this.tokenId = tokenId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sender = sender;
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    /**
+     * jti of the access token the stream was opened with - a logout of that token closes it
+     */
+    String tokenId() {
+        return tokenId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    boolean isIdle() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * @return false if the queue is full (the caller closes the connection)
+     */
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        if (closed || !queue.offer(event)) {
+            return false;
+        }
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+        return true;
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+        try {
+            emitter.complete();
+        } catch (RuntimeException ignored) {
+            // already completed
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed && (event = queue.poll()) != null) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client went away - the emitter callbacks unregister the connection
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // an offer may have slipped in between the last poll and draining.set(false)
+        if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.pro.Journal_Entry.stream;
+
+import com.pro.Journal_Entry.dto.JournalEvent;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * One journal change as sent on /api/journals/stream
+ *
+ * partition / offset: the Kafka record of this event.
+ * id: the stream position after this event - the newest offset of EVERY partition this node had
+ * published at that moment, "0-1042,1-977,2-1310". Every node consumes the same records, so a
+ * Last-Event-ID from one node means the same position on any other node, and a resume can
+ * replay each partition from its own offset (the arrival order across partitions differs per node).
+ */
+record StreamEvent(int partition, long offset, String id, Long userId, String name, JournalEvent data) {
+
+    static String id(Map<Integer, Long> position) {
+        StringBuilder id = new StringBuilder();
+        new TreeMap<>(position).forEach((partition, offset) -> {
+            if (!id.isEmpty()) {
+                id.append(',');
+            }
+            id.append(partition).append('-').append(offset);
+        });
+        return id.toString();
+    }
+
+    /**
+     * @return partition -> offset, null if lastEventId is not a stream position
+     */
+    static SortedMap<Integer, Long> position(String lastEventId) {
+        SortedMap<Integer, Long> position = new TreeMap<>();
+        try {
+            for (String part : lastEventId.split(",")) {
+                int separator = part.indexOf('-');
+                position.put(Integer.parseInt(part.substring(0, separator).trim()),
+                        Long.parseLong(part.substring(separator + 1).trim()));
+            }
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,37 @@
+-- Token buckets (GCRA) shared by every API node
+-- KEYS[i]        bucket key, value = theoretical arrival time in microseconds (Redis clock)
+-- ARGV[2i-1]     interval in microseconds (period / capacity)
+-- ARGV[2i]       burst in microseconds (capacity * interval)
+-- Returns 0 when every bucket has a token (all are taken), otherwise the wait in microseconds
+-- (nothing is taken, so a request rejected by the global bucket does not use the user's budget)
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+
+local nexts = {}
+local wait = 0
+for i, key in ipairs(KEYS) do
+    local interval = tonumber(ARGV[2 * i - 1])
+    local burst = tonumber(ARGV[2 * i])
+    local tat = tonumber(redis.call('GET', key) or now)
+    if tat < now then
+        tat = now
+    end
+    local next = tat + interval
+    local ahead = next - now
+    if ahead > burst then
+        wait = math.max(wait, ahead - burst)
+    end
+    nexts[i] = next
+end
+
+if wait > 0 then
+    return wait
+end
+
+for i, key in ipairs(KEYS) do
+    -- the bucket is full again once now reaches tat, so it can expire then
+    local ttl = math.ceil((nexts[i] - now) / 1000) + 1
+    redis.call('SET', key, string.format('%.0f', nexts[i]), 'PX', ttl)
+end
+return 0
@@ -0,0 +1,12 @@
+-- Release a lock only if this holder still owns it (compare-and-delete)
+--
+-- KEYS[1]  lock key
+-- ARGV[1]  token the holder stored with SET NX
+--
+-- Returns 1 when released, 0 when the lock expired and was taken by someone else meanwhile
+-- (a plain DEL would release THEIR lock)
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
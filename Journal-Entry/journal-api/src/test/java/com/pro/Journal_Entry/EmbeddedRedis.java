@@ -0,0 +1,49 @@
+package com.pro.Journal_Entry;
+
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * One real redis-server (embedded-redis) for the tests that need Redis semantics -
+ * Lua scripts, ETag versions, the revocation check of a full request.
+ * Started on first use on a free port, stopped when the JVM exits.
+ */
+public final class EmbeddedRedis {
+
+    private static int port;
+
+    private EmbeddedRedis() {
+    }
+
+    public static synchronized int port() {
+        if (port == 0) {
+            port = start();
+        }
+        return port;
+    }
+
+    private static int start() {
+        try {
+            int freePort;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                freePort = socket.getLocalPort();
+            }
+            RedisServer server = RedisServer.newRedisServer().port(freePort).bind("127.0.0.1")
+                    .setting("save \"\"").setting("appendonly no").build();
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.stop();
+                } catch (IOException ignored) {
+                    // the JVM is going away anyway
+                }
+            }));
+            return freePort;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
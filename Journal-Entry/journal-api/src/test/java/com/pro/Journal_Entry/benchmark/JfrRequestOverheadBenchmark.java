@@ -0,0 +1,119 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.pro.Journal_Entry.EmbeddedRedis;
+import com.pro.Journal_Entry.JournalEntryApplication;
+import com.pro.Journal_Entry.entity.JournalEntry;
+import com.pro.Journal_Entry.entity.User;
+import com.pro.Journal_Entry.repository.JournalRepository;
+import com.pro.Journal_Entry.repository.UserRepository;
+import com.pro.Journal_Entry.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the always-on JFR recording per REQUEST - JfrOverheadBenchmark (journal-benchmarks) measures single
+ * instrumented calls, this one a whole HTTP round trip against the application
+ *
+ * jfr=off   - diagnostics.jfr.enabled=false, no recording at all
+ * jfr=on    - the production setup (application.yml): JDK "default" settings plus the
+ *             journal.* events at their thresholds
+ * jfr=every - "default" settings and every journal.* event recorded (thresholds 0) - the worst case
+ *
+ * cachedRead   - GET /api/journals/date/{date}, served from L1 (auth + cache lookup)
+ * uncachedRead - GET /api/journals, one repository query per request (auth + db + render)
+ *
+ * Real Tomcat on a random port, H2 and an embedded redis-server (test config); the client
+ * is java.net.http on the same machine, so the numbers include its share of the CPU.
+ *
+ * Lives here, not in journal-benchmarks with the other suites: it boots the whole application
+ * on this module's test setup (H2 config, EmbeddedRedis), and it is a one-off A/B behind the
+ * ContinuousRecording defaults rather than a hot path to watch for regressions.
+ *
+ * Run:
+ * mvn test-compile exec:exec -pl journal-api -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main JfrRequestOverheadBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JfrRequestOverheadBenchmark {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 5);
+
+    @Param({"off", "on", "every"})
+    public String jfr;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest cached;
+    private HttpRequest uncached;
+
+    @Setup
+    public void setup() {
+        String threshold = "every".equals(jfr) ? "0ms" : null;
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--management.server.port=0",
+                "--spring.data.redis.host=127.0.0.1",
+                "--spring.data.redis.port=" + EmbeddedRedis.port(),
+                "--rate-limit.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.pro.Journal_Entry=WARN",
+                "--diagnostics.jfr.enabled=" + !"off".equals(jfr)));
+        if (threshold != null) {
+            for (String event : List.of("auth", "cache", "repository", "kafka-send")) {
+                args.add("--diagnostics.jfr.thresholds." + event + "=" + threshold);
+            }
+        }
+        context = new SpringApplicationBuilder(JournalEntryApplication.class).run(args.toArray(String[]::new));
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .username("bench").email("bench@example.com").password("x").build());
+        context.getBean(JournalRepository.class).save(JournalEntry.builder()
+                .title("t").content("c").journalDate(DATE).user(user).deleted(false).build());
+        String bearer = "Bearer " + context.getBean(JwtUtil.class).generateToken("bench", user.getId(), "ROLE_USER");
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+        cached = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/journals/date/" + DATE))
+                .header("Authorization", bearer).build();
+        uncached = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/journals"))
+                .header("Authorization", bearer).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] cachedRead() throws Exception {
+        return send(cached);
+    }
+
+    @Benchmark
+    public byte[] uncachedRead() throws Exception {
+        return send(uncached);
+    }
+
+    private byte[] send(HttpRequest request) throws Exception {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " -> " + response.statusCode() + " " + new String(response.body()));
+        }
+        return response.body();
+    }
+}
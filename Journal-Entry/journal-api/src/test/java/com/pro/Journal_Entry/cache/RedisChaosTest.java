@@ -0,0 +1,141 @@
+package com.pro.Journal_Entry.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Redis stops answering (StandInRedis.pause) - the caches must keep answering fast
+ */
+class RedisChaosTest {
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofMillis(100);
+    private static final Duration OPEN_DURATION = Duration.ofMillis(300);
+
+    private StandInRedis redis;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisCircuitBreaker circuitBreaker;
+    private SimpleMeterRegistry meterRegistry;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        redis = new StandInRedis();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("127.0.0.1", redis.port()),
+                LettuceClientConfiguration.builder().commandTimeout(COMMAND_TIMEOUT).build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        warmUp();
+
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new RedisCircuitBreaker(connectionFactory, meterRegistry, 3, OPEN_DURATION);
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(new StringRedisSerializer())))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        cache = new TieredCacheManager(redisCacheManager, Duration.ofMinutes(1), 100,
+                connectionFactory, circuitBreaker, meterRegistry).getCache("journals");
+    }
+
+    /**
+     * The first command also pays for the connection handshake - keep it out of the 100ms budget
+     */
+    private void warmUp() throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.ping();
+                return;
+            } catch (RuntimeException e) {
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        redis.resume();
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    void pausedRedisOpensTheCircuitAndRecoversAfterProbe() throws Exception {
+        cache.put("1", "cached");
+        assertTrue(redis.contains("journals::1"));
+
+        redis.pause();
+
+        // every call is bounded by the command timeout and degrades to a miss / L1
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            assertNull(cache.get("missing-" + i));
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+        }
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertEquals(3, meterRegistry.counter("cache.errors", "cache", "journals", "operation", "get").count());
+
+        // open: Redis is not called at all
+        long commands = redis.commands();
+        for (int i = 0; i < 100; i++) {
+            assertNull(cache.get("missing-" + i));
+        }
+        assertEquals(commands, redis.commands());
+        assertEquals(100, meterRegistry.counter("cache.redis.bypassed", "cache", "journals").count());
+        assertEquals("cached", cache.get("1").get());
+        assertEquals("loaded", cache.get("2", () -> "loaded"));
+
+        // this eviction cannot reach Redis
+        cache.evict("1");
+        assertTrue(redis.contains("journals::1"));
+
+        // probe while still paused - stays open
+        Thread.sleep(OPEN_DURATION.toMillis());
+        circuitBreaker.probe();
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.state());
+
+        redis.resume();
+        Thread.sleep(OPEN_DURATION.toMillis());
+        circuitBreaker.probe();
+        assertEquals(RedisCircuitBreaker.State.CLOSED, circuitBreaker.state());
+
+        // the missed eviction is repaired: no stale L2 entry survives the outage
+        assertFalse(redis.contains("journals::1"));
+        assertNull(cache.get("1"));
+        cache.put("3", "after");
+        assertTrue(redis.contains("journals::3"));
+    }
+
+    @Test
+    void failedL2WriteDoesNotLoadTwice() {
+        redis.rejectWrites(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("loaded-1", cache.get("1", () -> "loaded-" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertFalse(redis.contains("journals::1"));
+        // kept in L1 all the same
+        assertEquals("loaded-1", cache.get("1", () -> "loaded-" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,229 @@
+package com.pro.Journal_Entry.cache;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal RESP2 server for chaos tests - GET/SET/DEL/MGET/KEYS/PING, nothing else
+ *
+ * pause(): commands are read but not answered until resume(), like a Redis stuck
+ * in a long command, a fork or a GC-paused proxy. Clients see timeouts, not errors.
+ * rejectWrites(): SET answers an error (OOM with maxmemory-policy noeviction).
+ * commands(): how many commands arrived - "Redis was not called" without a stopwatch.
+ */
+class StandInRedis implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, byte[]> data = new ConcurrentHashMap<>();
+    private final Object pauseLock = new Object();
+    private volatile boolean paused;
+    private volatile boolean rejectWrites;
+    private final AtomicLong commands = new AtomicLong();
+    private final List<Socket> clients = new ArrayList<>();
+
+    StandInRedis() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "stand-in-redis");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    boolean contains(String key) {
+        return data.containsKey(key);
+    }
+
+    long commands() {
+        return commands.get();
+    }
+
+    void rejectWrites(boolean reject) {
+        rejectWrites = reject;
+    }
+
+    void pause() {
+        paused = true;
+    }
+
+    void resume() {
+        synchronized (pauseLock) {
+            paused = false;
+            pauseLock.notifyAll();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        resume();
+        serverSocket.close();
+        synchronized (clients) {
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                synchronized (clients) {
+                    clients.add(client);
+                }
+                Thread handler = new Thread(() -> serve(client), "stand-in-redis-client");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client) {
+            InputStream in = new BufferedInputStream(client.getInputStream());
+            OutputStream out = client.getOutputStream();
+            List<byte[]> command;
+            while ((command = readCommand(in)) != null) {
+                commands.incrementAndGet();
+                awaitResume();
+                out.write(execute(command));
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // client gone / server closed
+        }
+    }
+
+    private void awaitResume() throws InterruptedException {
+        synchronized (pauseLock) {
+            while (paused) {
+                pauseLock.wait();
+            }
+        }
+    }
+
+    private byte[] execute(List<byte[]> command) {
+        String name = string(command.get(0)).toUpperCase();
+        switch (name) {
+            case "PING":
+                return simple("+PONG");
+            case "CLIENT":
+            case "SELECT":
+            case "QUIT":
+                return simple("+OK");
+            case "GET":
+                return bulk(data.get(string(command.get(1))));
+            case "SET":
+                if (rejectWrites) {
+                    return simple("-OOM command not allowed when used memory > 'maxmemory'");
+                }
+                // PX / EX ignored - tests do not wait for expiry
+                data.put(string(command.get(1)), command.get(2));
+                return simple("+OK");
+            case "DEL": {
+                long removed = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    if (data.remove(string(command.get(i))) != null) {
+                        removed++;
+                    }
+                }
+                return simple(":" + removed);
+            }
+            case "MGET": {
+                List<byte[]> values = new ArrayList<>();
+                for (int i = 1; i < command.size(); i++) {
+                    values.add(data.get(string(command.get(i))));
+                }
+                return array(values);
+            }
+            case "KEYS": {
+                // prefix patterns only ("journals::*")
+                String prefix = string(command.get(1)).replace("*", "");
+                List<byte[]> keys = new ArrayList<>();
+                for (String key : data.keySet()) {
+                    if (key.startsWith(prefix)) {
+                        keys.add(key.getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                return array(keys);
+            }
+            default:
+                // HELLO included - Lettuce falls back to RESP2
+                return simple("-ERR unknown command '" + name + "'");
+        }
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<byte[]> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] arg = in.readNBytes(length);
+            in.readNBytes(2);
+            args.add(arg);
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return null;
+    }
+
+    private static byte[] simple(String line) {
+        return (line + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bulk(byte[] value) {
+        if (value == null) {
+            return simple("$-1");
+        }
+        byte[] header = simple("$" + value.length);
+        byte[] result = new byte[header.length + value.length + 2];
+        System.arraycopy(header, 0, result, 0, header.length);
+        System.arraycopy(value, 0, result, header.length, value.length);
+        result[result.length - 2] = '\r';
+        result[result.length - 1] = '\n';
+        return result;
+    }
+
+    private static byte[] array(List<byte[]> values) {
+        java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+        out.writeBytes(simple("*" + values.size()));
+        for (byte[] value : values) {
+            out.writeBytes(bulk(value));
+        }
+        return out.toByteArray();
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
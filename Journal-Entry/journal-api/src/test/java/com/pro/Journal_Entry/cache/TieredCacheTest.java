@@ -0,0 +1,62 @@
+package com.pro.Journal_Entry.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Batch backfill (BatchLoad) - a key evicted while its value was read elsewhere is not cached
+ */
+class TieredCacheTest {
+
+    private final ConcurrentMapCache remote = new ConcurrentMapCache("journals");
+    private final TieredCache cache = new TieredCache("journals", Caffeine.newBuilder().build(), remote, null,
+            new RedisCircuitBreaker(null, new SimpleMeterRegistry(), 5, Duration.ofSeconds(5)));
+
+    @Test
+    void keysEvictedDuringTheLoadAreNotBackfilled() {
+        try (TieredCache.BatchLoad load = cache.batchLoad(List.of("1_2026-01-01", "1_2026-01-02", "1_2026-01-03"))) {
+            // a write on this node, and one seen through the broadcast, while the query runs
+            cache.evict("1_2026-01-01");
+            cache.evictLocal("1_2026-01-02");
+            load.putAll(Map.of("1_2026-01-01", "old", "1_2026-01-02", "old",
+                    "1_2026-01-03", "current", "1_2026-01-04", "not watched"));
+        }
+
+        assertNull(cache.get("1_2026-01-01"));
+        assertNull(cache.get("1_2026-01-02"));
+        assertEquals("current", cache.get("1_2026-01-03").get());
+        assertNull(cache.get("1_2026-01-04"));
+    }
+
+    @Test
+    void clearDuringTheLoadSkipsTheWholeBackfill() {
+        try (TieredCache.BatchLoad load = cache.batchLoad(List.of("1_2026-01-01"))) {
+            cache.clear();
+            load.putAll(Map.of("1_2026-01-01", "old"));
+        }
+
+        assertNull(cache.get("1_2026-01-01"));
+    }
+
+    @Test
+    void evictionsAfterTheLoadAreNotTracked() {
+        try (TieredCache.BatchLoad load = cache.batchLoad(List.of("1_2026-01-01"))) {
+            load.putAll(Map.of("1_2026-01-01", "current"));
+        }
+        cache.evict("1_2026-01-01");
+
+        try (TieredCache.BatchLoad load = cache.batchLoad(List.of("1_2026-01-01"))) {
+            load.putAll(Map.of("1_2026-01-01", "again"));
+        }
+        assertEquals("again", cache.get("1_2026-01-01").get());
+    }
+}
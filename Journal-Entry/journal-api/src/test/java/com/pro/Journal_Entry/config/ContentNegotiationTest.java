@@ -0,0 +1,128 @@
+package com.pro.Journal_Entry.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.pro.Journal_Entry.EmbeddedRedis;
+import com.pro.Journal_Entry.entity.JournalEntry;
+import com.pro.Journal_Entry.entity.User;
+import com.pro.Journal_Entry.repository.JournalRepository;
+import com.pro.Journal_Entry.repository.UserRepository;
+import com.pro.Journal_Entry.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The same journal as JSON, CBOR and Smile - same fields, dates as ISO strings, one ETag each
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ContentNegotiationTest {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", EmbeddedRedis::port);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        String username = "negotiation-" + UUID.randomUUID();
+        User user = userRepository.save(User.builder()
+                .username(username).email(username + "@example.com").password("x").build());
+        journalRepository.save(JournalEntry.builder()
+                .title("t").content("c").journalDate(LocalDate.of(2026, 1, 5)).user(user).deleted(false).build());
+        bearer = "Bearer " + jwtUtil.generateToken(username, user.getId(), "ROLE_USER");
+    }
+
+    @Test
+    void everyFormatWritesDatesAsIsoStrings() throws Exception {
+        Set<String> eTags = new HashSet<>();
+        for (MediaType mediaType : List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE)) {
+            MockHttpServletResponse response = journal(mediaType, null);
+            assertEquals(200, response.getStatus(), mediaType.toString());
+            assertTrue(MediaType.parseMediaType(response.getContentType()).isCompatibleWith(mediaType));
+            assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT), mediaType.toString());
+            eTags.add(response.getHeader(HttpHeaders.ETAG));
+
+            JsonNode body = mapper(mediaType).readTree(response.getContentAsByteArray());
+            assertEquals("2026-01-05", body.get("journalDate").asText(), mediaType.toString());
+            assertTrue(body.get("journalDate").isTextual(), mediaType.toString());
+            assertTrue(body.get("createdAt").isTextual(), mediaType + ": " + body.get("createdAt"));
+        }
+        assertEquals(3, eTags.size(), eTags.toString());
+    }
+
+    @Test
+    void jsonETagDoesNotRevalidateACborRequest() throws Exception {
+        String jsonETag = journal(MediaType.APPLICATION_JSON, null).getHeader(HttpHeaders.ETAG);
+
+        assertEquals(200, journal(MediaType.APPLICATION_CBOR, jsonETag).getStatus());
+        assertEquals(304, journal(MediaType.APPLICATION_JSON, jsonETag).getStatus());
+    }
+
+    @Test
+    void wildcardAcceptGetsJson() {
+        assertNull(ContentNegotiationConfig.representation(List.of(MediaType.ALL)));
+        assertEquals("cbor", ContentNegotiationConfig.representation(
+                MediaType.parseMediaTypes("application/json;q=0.5, application/cbor")));
+        assertNull(ContentNegotiationConfig.representation(
+                MediaType.parseMediaTypes("application/json, application/cbor")));
+        assertEquals("smile", ContentNegotiationConfig.representation(
+                MediaType.parseMediaTypes("text/html, application/x-jackson-smile")));
+    }
+
+    private MockHttpServletResponse journal(MediaType accept, String ifNoneMatch) throws Exception {
+        var request = get("/api/journals/date/2026-01-05")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .accept(accept);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static ObjectMapper mapper(MediaType mediaType) {
+        if (MediaType.APPLICATION_CBOR.equals(mediaType)) {
+            return new CBORMapper();
+        }
+        return SMILE.equals(mediaType) ? new SmileMapper() : new ObjectMapper();
+    }
+}
@@ -0,0 +1,121 @@
+package com.pro.Journal_Entry.controller;
+
+import com.pro.Journal_Entry.EmbeddedRedis;
+import com.pro.Journal_Entry.entity.JournalEntry;
+import com.pro.Journal_Entry.entity.User;
+import com.pro.Journal_Entry.repository.JournalRepository;
+import com.pro.Journal_Entry.repository.UserRepository;
+import com.pro.Journal_Entry.security.JwtUtil;
+import com.pro.Journal_Entry.service.JournalVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag / If-None-Match on the calendar - versions in a real redis-server (JournalVersionService)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 5);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", EmbeddedRedis::port);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private JournalVersionService journalVersionService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Long userId;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        String username = "etag-" + UUID.randomUUID();
+        User user = userRepository.save(User.builder()
+                .username(username).email(username + "@example.com").password("x").build());
+        journalRepository.save(JournalEntry.builder()
+                .title("t").content("c").journalDate(DATE).user(user).deleted(false).build());
+        userId = user.getId();
+        bearer = "Bearer " + jwtUtil.generateToken(username, userId, "ROLE_USER");
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnEmpty304() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/journals/calendar").param("month", "2026-01")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        // Spring Security's no-store would stop the browser from keeping the body
+        assertNull(first.getResponse().getHeader(HttpHeaders.PRAGMA));
+
+        mockMvc.perform(get("/api/journals/calendar").param("month", "2026-01")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void bumpChangesTheETag() throws Exception {
+        String before = mockMvc.perform(get("/api/journals/calendar").param("month", "2026-01")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        journalVersionService.bump(userId, DATE);
+
+        String after = mockMvc.perform(get("/api/journals/calendar").param("month", "2026-01")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(after);
+        assertNotEquals(before, after);
+
+        // another month is not affected
+        String february = journalVersionService.calendarETag(userId, YearMonth.of(2026, 2));
+        journalVersionService.bump(userId, DATE);
+        assertEquals(february, journalVersionService.calendarETag(userId, YearMonth.of(2026, 2)));
+    }
+}
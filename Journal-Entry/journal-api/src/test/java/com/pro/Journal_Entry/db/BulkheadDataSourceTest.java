@@ -0,0 +1,41 @@
+package com.pro.Journal_Entry.db;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkheadDataSourceTest {
+
+    @Test
+    void callersBeyondThePermitsFailFastUntilAConnectionIsClosed() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BulkheadDataSource bulkhead = new BulkheadDataSource("user", pool, 1, Duration.ofMillis(50), registry);
+
+        Connection first = bulkhead.getConnection();
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+        assertEquals(1.0, registry.counter("db.bulkhead.rejected", "pool", "user").count());
+
+        first.close();
+        // closing twice must not hand out a second permit
+        first.close();
+        verify(pooled, times(2)).close();
+
+        Connection second = bulkhead.getConnection();
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+        second.close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.pro.Journal_Entry.db;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bind shapes, placeholder numbering and the plan of a slow statement (H2, generic - no values)
+ */
+class SlowQueryLogTest {
+
+    private static final String SQL = "select id from journal_entries where user_id = ? and title = ?";
+
+    @Test
+    void bindShapeHasTypesInParameterOrder() throws Exception {
+        List<ParameterSetOperation> binds = List.of(
+                bind("setString", 2, "secret title"),
+                bind("setLong", 1, 42L),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                        new Object[]{3, Types.DATE}));
+
+        assertEquals("(Long, String, null)", SlowQueryLog.bindShape(List.of(binds)));
+        assertEquals("(Long, String, null) x2", SlowQueryLog.bindShape(List.of(binds, binds)));
+        assertEquals("()", SlowQueryLog.bindShape(List.of()));
+    }
+
+    @Test
+    void numbersPlaceholdersOutsideQuotes() {
+        SlowQueryLog.Numbered numbered = SlowQueryLog.numberParameters(
+                "select \"a?\" from t where b = ? and c = 'what?' and d ?? 'key' and e in (?, ?)");
+
+        assertEquals("select \"a?\" from t where b = $1 and c = 'what?' and d ? 'key' and e in ($2, $3)", numbered.sql());
+        assertEquals(3, numbered.parameters());
+    }
+
+    @Test
+    void slowStatementGetsAPlanWithoutItsBindValues() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:slow-query-log;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table journal_entries (id bigint primary key, user_id bigint, title varchar(255))");
+        }
+        SlowQueryLog slowQueryLog = new SlowQueryLog(dataSource, new SimpleMeterRegistry(), Duration.ofMillis(100), 10, "EXPLAIN");
+        try {
+            ExecutionInfo execution = new ExecutionInfo();
+            execution.setElapsedTime(250);
+            execution.setSuccess(true);
+            execution.setStatementType(StatementType.PREPARED);
+            QueryInfo query = new QueryInfo(SQL);
+            query.getParametersList().add(List.of(bind("setLong", 1, 42L), bind("setString", 2, "secret title")));
+
+            slowQueryLog.afterQuery(execution, List.of(query));
+
+            SlowQueryLog.Entry entry = slowQueryLog.top(10, "total").get(0);
+            assertEquals(SQL, entry.sql());
+            assertEquals(List.of("(Long, String)"), entry.bindShapes());
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (slowQueryLog.top(10, "total").get(0).plan() == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            String plan = slowQueryLog.top(10, "total").get(0).plan();
+            assertNotNull(plan);
+            assertFalse(plan.startsWith("EXPLAIN failed"), plan);
+            assertTrue(plan.toLowerCase().contains("journal_entries"), plan);
+            assertFalse(plan.contains("secret") || plan.contains("42"), plan);
+        } finally {
+            slowQueryLog.shutdown();
+        }
+    }
+
+    private static ParameterSetOperation bind(String setter, int index, Object value) throws NoSuchMethodException {
+        Class<?> type = value instanceof Long ? long.class : String.class;
+        return new ParameterSetOperation(PreparedStatement.class.getMethod(setter, int.class, type), new Object[]{index, value});
+    }
+}
@@ -0,0 +1,114 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import com.pro.Journal_Entry.EmbeddedRedis;
+import com.pro.Journal_Entry.entity.JournalEntry;
+import com.pro.Journal_Entry.entity.User;
+import com.pro.Journal_Entry.repository.JournalRepository;
+import com.pro.Journal_Entry.repository.UserRepository;
+import com.pro.Journal_Entry.security.JwtUtil;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The journal.* events of a real request end up in GET /api/admin/jfr
+ * (thresholds 0 - every event is recorded; "none" - no JDK events, a small dump)
+ */
+@SpringBootTest(properties = {
+        "diagnostics.jfr.settings=none",
+        "diagnostics.jfr.thresholds.auth=0ms",
+        "diagnostics.jfr.thresholds.cache=0ms",
+        "diagnostics.jfr.thresholds.repository=0ms"
+})
+@AutoConfigureMockMvc
+class ContinuousRecordingTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 5);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", EmbeddedRedis::port);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String user;
+    private String admin;
+
+    @BeforeEach
+    void setUp() {
+        String username = "jfr-" + UUID.randomUUID();
+        User saved = userRepository.save(User.builder()
+                .username(username).email(username + "@example.com").password("x").build());
+        journalRepository.save(JournalEntry.builder()
+                .title("t").content("c").journalDate(DATE).user(saved).deleted(false).build());
+        user = "Bearer " + jwtUtil.generateToken(username, saved.getId(), "ROLE_USER");
+        admin = "Bearer " + jwtUtil.generateToken("admin-" + username, saved.getId() + 1_000_000, "ROLE_ADMIN");
+    }
+
+    @Test
+    void dumpHasTheEventsOfARequest() throws Exception {
+        mockMvc.perform(get("/api/journals/date/" + DATE).header(HttpHeaders.AUTHORIZATION, user))
+                .andExpect(status().isOk());
+
+        byte[] dump = mockMvc.perform(get("/api/admin/jfr").param("minutes", "5")
+                        .header(HttpHeaders.AUTHORIZATION, admin))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.createTempFile("dump-", ".jfr");
+        try {
+            Files.write(file, dump);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(AuthEvent.NAME)
+                    && "authenticated".equals(e.getString("outcome"))), "journal.Auth");
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(RepositoryEvent.NAME)
+                    && "findByUserIdAndJournalDateAndDeletedFalse".equals(e.getString("method"))), "journal.Repository");
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(CacheEvent.NAME)
+                    && "load".equals(e.getString("operation"))), "journal.Cache");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void dumpNeedsAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/jfr").header(HttpHeaders.AUTHORIZATION, user))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,114 @@
+package com.pro.Journal_Entry.diagnostics;
+
+import com.pro.Journal_Entry.EmbeddedRedis;
+import com.pro.Journal_Entry.entity.JournalEntry;
+import com.pro.Journal_Entry.entity.User;
+import com.pro.Journal_Entry.repository.JournalRepository;
+import com.pro.Journal_Entry.repository.UserRepository;
+import com.pro.Journal_Entry.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Server-Timing and the request log line - the formatting, and the filter in a full request
+ */
+@SpringBootTest(properties = "diagnostics.request-cost.enabled=true")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class RequestCostConfigTest {
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", EmbeddedRedis::port);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void formatsOnlyTheStagesThatRan() {
+        RequestCost cost = RequestCost.begin();
+        try {
+            cost.add(RequestCost.Stage.AUTH, 410_000);
+            cost.add(RequestCost.Stage.DB, 2_000_000);
+            cost.add(RequestCost.Stage.DB, 3_100_000);
+            cost.add(RequestCost.Stage.RENDER, 800_000);
+            RequestCost.annotate("userId", 42L);
+        } finally {
+            RequestCost.end();
+        }
+
+        assertEquals("auth;dur=0.41, db;dur=5.10;desc=\"2\", render;dur=0.80, total;dur=9.70",
+                RequestCostConfig.RequestCostFilter.serverTiming(cost, 9_700_000));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/journals/calendar");
+        request.setQueryString("month=2026-01");
+        assertEquals("request method=GET uri=/api/journals/calendar?month=2026-01 status=200 total=9.70ms"
+                        + " auth=0.41ms db=5.10ms/2 render=0.80ms userId=42",
+                RequestCostConfig.RequestCostFilter.logLine(request, 200, cost, 9_700_000));
+    }
+
+    @Test
+    void annotateWithoutAContextIsANoOp() {
+        assertNull(RequestCost.current());
+        assertFalse(RequestCost.annotate("action", "journal.created"));
+    }
+
+    @Test
+    void requestGetsServerTimingAndOneLogLine(CapturedOutput output) throws Exception {
+        // a month no other test caches - the embedded redis-server is shared
+        String username = "cost-" + UUID.randomUUID();
+        User user = userRepository.save(User.builder()
+                .username(username).email(username + "@example.com").password("x").build());
+        journalRepository.save(JournalEntry.builder()
+                .title("t").content("c").journalDate(LocalDate.of(2026, 3, 5)).user(user).deleted(false).build());
+        String bearer = "Bearer " + jwtUtil.generateToken(username, user.getId(), "ROLE_USER");
+
+        mockMvc.perform(get("/api/journals/calendar?month=2026-03")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", matchesPattern(
+                        "auth;dur=[0-9.]+, .*db;dur=[0-9.]+;desc=\"\\d+\", .*render;dur=[0-9.]+, total;dur=[0-9.]+")))
+                .andExpect(header().string("Server-Timing", containsString("cache-get;dur=")));
+
+        String line = output.getOut().lines()
+                .filter(l -> l.contains("request method=GET uri=/api/journals/calendar?month=2026-03"))
+                .findFirst().orElseThrow();
+        assertTrue(line.contains(" status=200 "), line);
+        assertTrue(line.contains(" userId=" + user.getId()), line);
+        assertTrue(line.contains(" action=calendar.loaded"), line);
+    }
+}
@@ -0,0 +1,128 @@
+package com.pro.Journal_Entry.ratelimit;
+
+import com.pro.Journal_Entry.EmbeddedRedis;
+import com.pro.Journal_Entry.cache.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * REDIS mode - scripts/rate-limit.lua against a real redis-server
+ */
+class RateLimiterRedisTest {
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RateLimiter limiter;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("127.0.0.1", EmbeddedRedis.port()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // the redis-server is shared with other tests - only the buckets are dropped
+        redisTemplate.delete(redisTemplate.keys("rl:*"));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMode(RateLimitProperties.Mode.REDIS);
+        limiter = new RateLimiter(properties, redisTemplate,
+                new RedisCircuitBreaker(connectionFactory, new SimpleMeterRegistry(), 5, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void burstThenRejectWithTheWaitUntilTheNextToken() {
+        RateLimitProperties.EndpointClass search = endpointClass(budget(3, Duration.ofHours(1)), null);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire(search, "u1"), "burst token " + i);
+        }
+        long wait = limiter.acquire(search, "u1");
+        // one token per 20 minutes, minus the few millis the burst took
+        assertTrue(wait > Duration.ofMinutes(19).toNanos() && wait <= Duration.ofMinutes(20).toNanos(), "wait " + wait);
+        // other subjects have their own bucket
+        assertEquals(0, limiter.acquire(search, "u2"));
+    }
+
+    @Test
+    void globalRejectionDoesNotUseTheUserBudget() {
+        RateLimitProperties.EndpointClass search = endpointClass(budget(2, Duration.ofHours(1)), budget(1, Duration.ofHours(1)));
+
+        assertEquals(0, limiter.acquire(search, "u1"));
+        // global empty: u2 is rejected, and the script takes nothing from either bucket
+        assertTrue(limiter.acquire(search, "u2") > 0);
+        assertTrue(limiter.acquire(search, "u2") > 0);
+        redisTemplate.delete("rl:{search}:g");
+        // the global bucket is full again - both user tokens of u2 are still there
+        assertEquals(0, limiter.acquire(search, "u2"));
+        redisTemplate.delete("rl:{search}:g");
+        assertEquals(0, limiter.acquire(search, "u2"));
+        redisTemplate.delete("rl:{search}:g");
+        assertTrue(limiter.acquire(search, "u2") > 0);
+    }
+
+    @Test
+    void openCircuitSkipsRedisAndUsesTheLocalBuckets() {
+        StringRedisTemplate failing = mock(StringRedisTemplate.class);
+        when(failing.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("timed out"));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMode(RateLimitProperties.Mode.REDIS);
+        RedisCircuitBreaker circuitBreaker =
+                new RedisCircuitBreaker(connectionFactory, new SimpleMeterRegistry(), 2, Duration.ofHours(1));
+        RateLimiter failingLimiter = new RateLimiter(properties, failing, circuitBreaker);
+        RateLimitProperties.EndpointClass search = endpointClass(budget(10, Duration.ofHours(1)), null);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, failingLimiter.acquire(search, "u1"), "local token " + i);
+        }
+        // two failed EVALs open the circuit - the other requests never wait for Redis
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.state());
+        verify(failing, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    private static RateLimitProperties.EndpointClass endpointClass(RateLimitProperties.Budget perUser,
+                                                                   RateLimitProperties.Budget global) {
+        RateLimitProperties.EndpointClass endpointClass = new RateLimitProperties.EndpointClass();
+        endpointClass.setName("search");
+        endpointClass.setPerUser(perUser);
+        endpointClass.setGlobal(global);
+        return endpointClass;
+    }
+
+    private static RateLimitProperties.Budget budget(int capacity, Duration period) {
+        RateLimitProperties.Budget budget = new RateLimitProperties.Budget();
+        budget.setCapacity(capacity);
+        budget.setPeriod(period);
+        return budget;
+    }
+}
@@ -0,0 +1,65 @@
+package com.pro.Journal_Entry.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstThenRefillAtTheConfiguredRate() {
+        // 5 per 5 seconds -> one token per second, burst of 5
+        TokenBucket bucket = new TokenBucket(SECOND, 5);
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(now), "burst token " + i);
+        }
+        long wait = bucket.tryAcquire(now);
+        assertEquals(SECOND, wait);
+
+        assertTrue(bucket.tryAcquire(now + SECOND / 2) > 0);
+        assertEquals(0, bucket.tryAcquire(now + SECOND));
+        assertTrue(bucket.tryAcquire(now + SECOND) > 0);
+
+        // idle long enough -> full burst again, never more
+        long later = now + 60 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(later));
+        }
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void globalRejectionDoesNotUseTheUserBudget() {
+        // user: 2 per hour (no refill within the test), global: 1 per second
+        RateLimitProperties.Budget perUser = new RateLimitProperties.Budget();
+        perUser.setCapacity(2);
+        perUser.setPeriod(Duration.ofHours(1));
+        RateLimitProperties.Budget global = new RateLimitProperties.Budget();
+        global.setCapacity(1);
+        global.setPeriod(Duration.ofSeconds(1));
+        RateLimitProperties.EndpointClass search = new RateLimitProperties.EndpointClass();
+        search.setName("search");
+        search.setPerUser(perUser);
+        search.setGlobal(global);
+
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties(), null, null);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, limiter.acquireLocal(search, "u1", now));
+        // global bucket empty - u2 is rejected and must get its user token back
+        assertTrue(limiter.acquireLocal(search, "u2", now) > 0);
+        // one global token per second: u2 can still use BOTH of its user tokens
+        assertEquals(0, limiter.acquireLocal(search, "u2", now + SECOND));
+        assertEquals(0, limiter.acquireLocal(search, "u2", now + 2 * SECOND));
+        // and no more - the user budget rejects now, not the global one
+        assertTrue(limiter.acquireLocal(search, "u2", now + 3 * SECOND) > 0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.pro.Journal_Entry.repository;
+
+import com.pro.Journal_Entry.entity.JournalEntry;
+import com.pro.Journal_Entry.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class JournalRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    private User user;
+    private JournalEntry first;
+    private JournalEntry second;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder().username("alice").email("alice@example.com").password("x").build());
+        User other = entityManager.persist(User.builder().username("bob").email("bob@example.com").password("x").build());
+        first = entityManager.persist(journal(user, LocalDate.of(2026, 1, 5), false));
+        second = entityManager.persist(journal(user, LocalDate.of(2026, 1, 6), false));
+        entityManager.persist(journal(user, LocalDate.of(2026, 1, 7), true));
+        entityManager.persist(journal(other, LocalDate.of(2026, 1, 5), false));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void batchByDatesOrIdsInOneQuery() {
+        List<JournalEntry> byDates = journalRepository.findByUserIdAndDatesOrIds(user.getId(),
+                List.of(LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 7)), List.of());
+        assertEquals(List.of(first.getId()), byDates.stream().map(JournalEntry::getId).toList());
+
+        List<JournalEntry> mixed = journalRepository.findByUserIdAndDatesOrIds(user.getId(),
+                List.of(LocalDate.of(2026, 1, 5)), List.of(second.getId()));
+        assertEquals(2, mixed.size());
+        assertEquals("alice", mixed.get(0).getUser().getUsername());
+    }
+
+    @Test
+    void otherUsersIdsAreNotReturned() {
+        List<JournalEntry> result = journalRepository.findByUserIdAndDatesOrIds(user.getId() + 1,
+                List.of(), List.of(first.getId()));
+        assertEquals(0, result.size());
+    }
+
+    @Test
+    void sparseFieldsSelectOnlyRequestedColumns() {
+        JournalEntry longEntry = journal(user, LocalDate.of(2026, 2, 1), false);
+        longEntry.setContent("word ".repeat(100));
+        entityManager.persistAndFlush(longEntry);
+
+        Page<Map<String, Object>> page = journalRepository.findFields(user.getId(), null,
+                JournalField.parse("title,excerpt,username"),
+                PageRequest.of(0, 10, Sort.by("journalDate").descending()));
+
+        assertEquals(3, page.getTotalElements());
+        Map<String, Object> first = page.getContent().get(0);
+        assertEquals(List.of("id", "title", "excerpt", "username"), List.copyOf(first.keySet()));
+        assertEquals("alice", first.get("username"));
+        String excerpt = (String) first.get("excerpt");
+        assertTrue(excerpt.endsWith("…") && excerpt.length() <= 201, excerpt);
+        assertEquals("c", page.getContent().get(1).get("excerpt"));
+    }
+
+    private static JournalEntry journal(User user, LocalDate date, boolean deleted) {
+        return JournalEntry.builder()
+                .title("t").content("c").journalDate(date).user(user).deleted(deleted)
+                .build();
+    }
+}
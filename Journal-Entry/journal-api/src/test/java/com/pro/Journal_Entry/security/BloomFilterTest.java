@@ -0,0 +1,40 @@
+package com.pro.Journal_Entry.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void noFalseNegativesAndFalsePositiveRateNearTarget() {
+        int inserted = 100_000;
+        double fpp = 0.001;
+        BloomFilter filter = new BloomFilter(inserted, fpp);
+
+        List<String> revoked = new ArrayList<>(inserted);
+        for (int i = 0; i < inserted; i++) {
+            String tokenId = UUID.randomUUID().toString();
+            revoked.add(tokenId);
+            filter.put(tokenId);
+        }
+        for (String tokenId : revoked) {
+            assertTrue(filter.mightContain(tokenId), "false negative for " + tokenId);
+        }
+
+        int probes = 1_000_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+        // full filter (n = expected insertions): observed rate should be close to the configured one
+        assertTrue(observed < fpp * 2, "observed FP rate " + observed + " for target " + fpp);
+    }
+}
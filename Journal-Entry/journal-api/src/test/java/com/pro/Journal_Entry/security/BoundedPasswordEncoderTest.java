@@ -0,0 +1,82 @@
+package com.pro.Journal_Entry.security;
+
+import com.pro.Journal_Entry.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void rejectsWith429WhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                blocking, 1, 1, Duration.ofSeconds(10), 3, new SimpleMeterRegistry());
+
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            while (encoder.queued() == 0) {
+                Thread.onSpinWait();
+            }
+
+            ServiceBusyException busy = assertThrows(ServiceBusyException.class, () -> encoder.encode("c"));
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, busy.getStatus());
+            assertEquals(3, busy.getRetryAfterSeconds());
+
+            release.countDown();
+            assertEquals("a", running.get(5, TimeUnit.SECONDS));
+            assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void rehashIsRequestedOnlyForLowerCost() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(5), 1, 1, Duration.ofSeconds(10), 1, new SimpleMeterRegistry());
+        try {
+            String weak = new BCryptPasswordEncoder(4).encode("secret");
+            String current = encoder.encode("secret");
+
+            assertTrue(encoder.matches("secret", weak));
+            assertTrue(encoder.upgradeEncoding(weak));
+            assertFalse(encoder.upgradeEncoding(current));
+        } finally {
+            encoder.shutdown();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pro.Journal_Entry.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Before the first rebuild (rebuild-on-startup=false, as in fast-start) - exact check, fail closed
+ */
+class TokenRevocationServiceTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final TokenRevocationService service = new TokenRevocationService(
+            redisTemplate, new SimpleMeterRegistry(), 1_000, 0.001, 900_000, false);
+
+    @Test
+    void unsyncedCheckAsksRedis() {
+        when(redisTemplate.hasKey("auth:revoked:logged-out")).thenReturn(true);
+        when(redisTemplate.hasKey("auth:revoked:live")).thenReturn(false);
+
+        assertFalse(service.isReady());
+        assertTrue(service.isRevoked("logged-out"));
+        assertFalse(service.isRevoked("live"));
+    }
+
+    @Test
+    void unsyncedCheckFailsClosedWithoutRedis() {
+        when(redisTemplate.hasKey("auth:revoked:live")).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(service.isRevoked("live"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.pro.Journal_Entry.service;
+
+import com.pro.Journal_Entry.exception.InvalidTokenException;
+import com.pro.Journal_Entry.repository.RoleRepository;
+import com.pro.Journal_Entry.repository.UserRepository;
+import com.pro.Journal_Entry.security.JwtUtil;
+import com.pro.Journal_Entry.security.RefreshTokenStore;
+import com.pro.Journal_Entry.security.TokenRevocationService;
+import com.pro.Journal_Entry.security.UserDetailsCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AuthServiceTest {
+
+    private static final String SECRET = "YXV0aC1zZXJ2aWNlLXRlc3Qtc2lnbmluZy1rZXktMDAwMDAwMDAwMDAx";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 900_000L, 1_209_600_000L);
+    private final RefreshTokenStore refreshTokenStore = mock(RefreshTokenStore.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final AuthService authService = new AuthService(mock(UserRepository.class), mock(RoleRepository.class),
+            mock(PasswordEncoder.class), jwtUtil, mock(AuthenticationManager.class), mock(UserDetailsCache.class),
+            refreshTokenStore, tokenRevocationService);
+
+    @Test
+    void logoutDropsTheCallersOwnRefreshToken() {
+        String access = jwtUtil.generateToken("alice", 1L, "ROLE_USER");
+        String refresh = jwtUtil.generateRefreshToken("alice", 1L, "ROLE_USER", "refresh-alice");
+
+        authService.logout(access, refresh);
+
+        verify(tokenRevocationService).revoke(anyString(), any());
+        verify(refreshTokenStore).delete("refresh-alice");
+    }
+
+    @Test
+    void logoutRejectsAnotherUsersRefreshToken() {
+        String access = jwtUtil.generateToken("mallory", 2L, "ROLE_USER");
+        String refresh = jwtUtil.generateRefreshToken("alice", 1L, "ROLE_USER", "refresh-alice");
+
+        assertThrows(InvalidTokenException.class, () -> authService.logout(access, refresh));
+
+        verify(refreshTokenStore, never()).delete(anyString());
+        verify(tokenRevocationService, never()).revoke(anyString(), any());
+    }
+}
@@ -0,0 +1,87 @@
+package com.pro.Journal_Entry.service;
+
+import com.pro.Journal_Entry.analytics.StreakKeys;
+import com.pro.Journal_Entry.dto.JournalEvent;
+import com.pro.Journal_Entry.enums.EventType;
+import com.pro.Journal_Entry.repository.JournalRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StreakServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final JournalRepository journalRepository = mock(JournalRepository.class);
+    private final StreakService streakService =
+            new StreakService(redisTemplate, journalRepository, 100, Duration.ofHours(1));
+
+    @Test
+    void eventDuringALoadIsAppliedToItsResult() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // the load reads the bitmaps before the worker's SETBIT of today - an empty calendar
+        when(redisTemplate.hasKey(StreakKeys.ready(USER_ID))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return true;
+        });
+        @SuppressWarnings("unchecked")
+        SetOperations<String, String> sets = mock(SetOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(sets);
+        when(sets.members(StreakKeys.years(USER_ID))).thenReturn(Set.of());
+
+        LocalDate today = LocalDate.now();
+        Thread reader = new Thread(() -> streakService.getStreaks(USER_ID, YearMonth.from(today)));
+        reader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Thread listener = new Thread(() -> streakService.applyLocal(JournalEvent.builder()
+                .eventType(EventType.JOURNAL_CREATED).userId(USER_ID).journalDate(today).build()));
+        listener.start();
+        listener.join(200);
+        assertTrue(listener.isAlive(), "the event waits for the load");
+
+        release.countDown();
+        reader.join(5_000);
+        listener.join(5_000);
+
+        assertEquals(1, streakService.getStreaks(USER_ID, YearMonth.from(today)).getCurrentStreak());
+    }
+
+    @Test
+    void backfillReleasesOnlyItsOwnLock() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.hasKey(StreakKeys.ready(USER_ID))).thenReturn(false);
+        when(values.setIfAbsent(eq(StreakKeys.backfill(USER_ID)), anyString(), any(Duration.class))).thenReturn(true);
+        when(journalRepository.findJournalDatesByUserId(USER_ID)).thenReturn(List.of());
+
+        streakService.getStreaks(USER_ID, YearMonth.now());
+
+        verify(redisTemplate, never()).delete(anyString());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(StreakKeys.backfill(USER_ID))), anyString());
+    }
+}
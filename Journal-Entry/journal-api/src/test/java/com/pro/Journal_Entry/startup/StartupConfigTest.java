@@ -0,0 +1,58 @@
+package com.pro.Journal_Entry.startup;
+
+import com.pro.Journal_Entry.EmbeddedRedis;
+import com.pro.Journal_Entry.cache.RedisCircuitBreaker;
+import com.pro.Journal_Entry.config.CacheConfig;
+import com.pro.Journal_Entry.config.kafkaConsumerConfig;
+import com.pro.Journal_Entry.controller.DiagnosticsController;
+import com.pro.Journal_Entry.security.TokenRevocationService;
+import com.pro.Journal_Entry.service.CacheInvalidationService;
+import com.pro.Journal_Entry.stream.JournalStreamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * With lazy initialization on, beans with @Scheduled / @KafkaListener methods are still created
+ * at startup - nothing would ever ask for them otherwise
+ */
+@SpringBootTest(properties = "spring.main.lazy-initialization=true")
+class StartupConfigTest {
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", EmbeddedRedis::port);
+    }
+
+    // not injected - asking for a bean would create it
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void scheduledAndListenerBeansAreEager() {
+        for (Class<?> type : List.of(CacheInvalidationService.class, TokenRevocationService.class,
+                JournalStreamService.class, RedisCircuitBreaker.class, CacheConfig.class, kafkaConsumerConfig.class)) {
+            assertTrue(created(type), type.getSimpleName());
+        }
+    }
+
+    @Test
+    void otherBeansStayLazy() {
+        assertFalse(created(DiagnosticsController.class));
+    }
+
+    private boolean created(Class<?> type) {
+        String[] names = beanFactory.getBeanNamesForType(type, true, false);
+        assertTrue(names.length == 1, type.getSimpleName() + " " + List.of(names));
+        return beanFactory.containsSingleton(names[0]);
+    }
+}
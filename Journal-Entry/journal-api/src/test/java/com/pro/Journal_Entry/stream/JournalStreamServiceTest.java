@@ -0,0 +1,105 @@
+package com.pro.Journal_Entry.stream;
+
+import com.pro.Journal_Entry.dto.JournalEvent;
+import com.pro.Journal_Entry.enums.EventType;
+import com.pro.Journal_Entry.security.JwtPrincipal;
+import com.pro.Journal_Entry.security.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JournalStreamServiceTest {
+
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JournalStreamService service = new JournalStreamService(4, 16, Duration.ofMinutes(1), 1,
+            tokenRevocationService, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void idsArePositionsOfEveryPartition() {
+        service.publish(event(1L), 0, 10);
+        service.publish(event(2L), 1, 5);
+
+        List<StreamEvent> all = service.eventsAfter(1L, Map.of(0, 9L));
+        assertEquals(List.of("0-10"), all.stream().map(StreamEvent::id).toList());
+        assertEquals(Map.of(0, 10L, 1, 5L), StreamEvent.position("0-10,1-5"));
+        assertNull(StreamEvent.position("abc"));
+    }
+
+    @Test
+    void resumeReplaysEachPartitionFromItsOwnOffset() {
+        service.publish(event(1L), 0, 10);
+        service.publish(event(2L), 0, 11);
+        service.publish(event(1L), 1, 5);
+        service.publish(event(1L), 0, 12);
+
+        // another node delivered 0-12 before 1-5: partition 1 is still replayed
+        assertEquals(List.of("1-5"), positions(service.eventsAfter(1L, Map.of(0, 12L, 1, 4L))));
+        assertEquals(List.of("0-12"), positions(service.eventsAfter(1L, Map.of(0, 11L, 1, 5L))));
+        // partition 1 unknown to the client: from the first event this node saw of it
+        assertEquals(List.of("1-5", "0-12"), positions(service.eventsAfter(1L, Map.of(0, 10L))));
+        assertEquals(List.of(), service.eventsAfter(1L, Map.of(0, 12L, 1, 5L)));
+    }
+
+    @Test
+    void positionNoLongerCoveredMeansReset() {
+        for (int offset = 100; offset < 106; offset++) {
+            service.publish(event(1L), 0, offset);
+        }
+        // capacity 4: offsets 100 and 101 are overwritten
+        assertNull(service.eventsAfter(1L, Map.of(0, 100L)));
+        assertEquals(4, service.eventsAfter(1L, Map.of(0, 101L)).size());
+        // this node started at offset 100 - it never saw 51..99
+        assertNull(service.eventsAfter(1L, Map.of(0, 50L)));
+    }
+
+    @Test
+    void streamEndsWithTheAccessToken() {
+        SseEmitter emitter = service.subscribe(principal("jti-1", Instant.now().plusSeconds(10)), null);
+        assertTrue(emitter.getTimeout() <= 10_000, "timeout " + emitter.getTimeout());
+
+        SseEmitter longLived = service.subscribe(principal("jti-2", Instant.now().plus(Duration.ofHours(2))), null);
+        assertEquals(Duration.ofMinutes(1).toMillis(), longLived.getTimeout());
+    }
+
+    @Test
+    void revokedTokenClosesTheStream() {
+        service.subscribe(principal("jti-1", Instant.now().plusSeconds(600)), null);
+        service.subscribe(principal("jti-2", Instant.now().plusSeconds(600)), null);
+        when(tokenRevocationService.isRevoked("jti-1")).thenReturn(true);
+
+        service.publish(event(1L), 0, 10);
+        service.heartbeat();
+
+        assertEquals(1, meterRegistry.counter("journal.stream.revoked").count());
+    }
+
+    private static List<String> positions(List<StreamEvent> events) {
+        return events.stream().map(event -> event.partition() + "-" + event.offset()).toList();
+    }
+
+    private static JwtPrincipal principal(String tokenId, Instant expiresAt) {
+        return new JwtPrincipal(1L, "alice", "ROLE_USER", tokenId, expiresAt);
+    }
+
+    private static JournalEvent event(Long userId) {
+        return JournalEvent.builder().eventType(EventType.JOURNAL_UPDATED).userId(userId).build();
+    }
+}
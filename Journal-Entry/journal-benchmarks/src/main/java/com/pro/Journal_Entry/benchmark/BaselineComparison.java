@@ -0,0 +1,143 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result (-rf json) with the baseline, exit code 1 on a regression
+ *
+ * Benchmarks are matched by name + @Param values. A benchmark regressed when it is more than
+ * `threshold` % slower than the baseline AND the difference is larger than both runs' error
+ * margins together (99.9% confidence intervals from JMH) - a noisy run alone does not fail.
+ * "Slower" is a higher score for time modes (avgt, sample, ss), a lower one for thrpt.
+ *
+ * Usage: BaselineComparison <result.json> <baseline.json> <threshold %>
+ * -Dbenchmarks.update-baseline=true: report, then copy the result over the baseline (exit 0)
+ */
+public final class BaselineComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: BaselineComparison <result.json> <baseline.json> <threshold %>");
+            System.exit(2);
+        }
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean update = Boolean.getBoolean("benchmarks.update-baseline");
+
+        Map<String, Score> current = read(result);
+        int regressions = 0;
+        if (Files.exists(baseline)) {
+            regressions = compare(read(baseline), current, threshold);
+        } else {
+            System.out.println("No baseline at " + baseline + " - nothing to compare");
+        }
+
+        if (update) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baseline);
+        } else if (regressions > 0) {
+            System.out.printf("%d benchmark(s) more than %.0f%% slower than the baseline%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static int compare(Map<String, Score> baseline, Map<String, Score> current, double threshold) {
+        int regressions = 0;
+        int width = current.keySet().stream().mapToInt(String::length).max().orElse(20);
+        String row = "%-" + width + "s  %14s  %14s  %8s  %s%n";
+        System.out.printf(row, "benchmark", "baseline", "current", "change", "");
+
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(row, entry.getKey(), "-", now.format(), "", "new");
+                continue;
+            }
+            if (!before.unit.equals(now.unit) || !before.mode.equals(now.mode)) {
+                System.out.printf(row, entry.getKey(), before.format(), now.format(), "", "unit/mode changed, not compared");
+                continue;
+            }
+            // positive = slower, whatever the mode
+            double slower = now.higherIsBetter()
+                    ? (before.score - now.score) / before.score * 100
+                    : (now.score - before.score) / before.score * 100;
+            boolean beyondNoise = Math.abs(now.score - before.score) > before.error + now.error;
+            String verdict = "";
+            if (beyondNoise && slower > threshold) {
+                verdict = "REGRESSION";
+                regressions++;
+            } else if (beyondNoise && slower < -threshold) {
+                verdict = "faster";
+            } else if (!beyondNoise) {
+                verdict = "within noise";
+            }
+            System.out.printf(row, entry.getKey(), before.format(), now.format(),
+                    String.format("%+.1f%%", slower), verdict);
+        }
+        for (String removed : baseline.keySet()) {
+            if (!current.containsKey(removed)) {
+                System.out.printf(row, removed, baseline.get(removed).format(), "-", "", "not run");
+            }
+        }
+        return regressions;
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (!params.isMissingNode()) {
+                Map<String, String> sorted = new TreeMap<>();
+                for (Map.Entry<String, JsonNode> param : params.properties()) {
+                    sorted.put(param.getKey(), param.getValue().asText());
+                }
+                sorted.forEach((name, value) -> key.append(key.indexOf(":") < 0 ? ":" : ",").append(name).append('=').append(value));
+            }
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(shorten(key.toString()), new Score(
+                    run.path("mode").asText(),
+                    metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error,
+                    metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    /**
+     * com.pro.Journal_Entry.benchmark.JwtBenchmark.parse -> JwtBenchmark.parse
+     */
+    private static String shorten(String benchmark) {
+        String prefix = BaselineComparison.class.getPackageName() + ".";
+        return benchmark.startsWith(prefix) ? benchmark.substring(prefix.length()) : benchmark;
+    }
+
+    private record Score(String mode, double score, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        String format() {
+            return String.format("%.3f %s", score, unit);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.pro.Journal_Entry.dto.CalendarDayResponse;
+import com.pro.Journal_Entry.service.JournalService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JournalService.getCalendarMonth - assembling the 31 days of a month from its journals
+ *
+ * journals: how many days of the month have an entry (0 = empty month, 31 = every day)
+ * The repository is in memory, so this is the assembly only, what every calendar cache miss pays on top of the query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class CalendarBenchmark {
+
+    @Param({"0", "15", "31"})
+    public int journals;
+
+    private JournalService journalService;
+
+    @Setup
+    public void setup() {
+        journalService = new JournalService(Fixtures.repository(Fixtures.month(journals)), null, null, null);
+    }
+
+    @Benchmark
+    public List<CalendarDayResponse> assemble() {
+        return journalService.getCalendarMonth(Fixtures.USER_ID, Fixtures.MONTH);
+    }
+}
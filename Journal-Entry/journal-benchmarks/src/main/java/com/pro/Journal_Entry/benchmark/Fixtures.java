@@ -0,0 +1,148 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.pro.Journal_Entry.dto.CalendarDayResponse;
+import com.pro.Journal_Entry.dto.JournalEvent;
+import com.pro.Journal_Entry.dto.JournalResponse;
+import com.pro.Journal_Entry.entity.JournalEntry;
+import com.pro.Journal_Entry.entity.User;
+import com.pro.Journal_Entry.enums.EventType;
+import com.pro.Journal_Entry.enums.Mood;
+import com.pro.Journal_Entry.repository.JournalRepository;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data shared by the suites - same shapes as production rows, fixed values so runs compare
+ */
+final class Fixtures {
+
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    static final String OTHER_SECRET = "5A7134743777217A25432A462D4A614E645267556B58703273357638792F423F";
+    static final YearMonth MONTH = YearMonth.of(2026, 1);
+    static final long USER_ID = 42L;
+
+    private static final Mood[] MOODS = Mood.values();
+
+    private Fixtures() {
+    }
+
+    static User user() {
+        return User.builder().id(USER_ID).username("alice").email("alice@example.com").password("x").build();
+    }
+
+    /**
+     * ~600 characters of content, like a typical entry
+     */
+    static JournalEntry journal(User user, LocalDate date) {
+        LocalDateTime created = date.atTime(21, 30);
+        return JournalEntry.builder()
+                .id(1_000L + date.getDayOfYear())
+                .title("Entry for " + date)
+                .content("Walked to the river before work, wrote down three things that went well. ".repeat(8))
+                .journalDate(date)
+                .mood(MOODS[date.getDayOfMonth() % MOODS.length])
+                .user(user)
+                .deleted(false)
+                .createdAt(created)
+                .updatedAt(created.plusMinutes(5))
+                .build();
+    }
+
+    /**
+     * One entry on each of the first `count` days of MONTH
+     */
+    static List<JournalEntry> month(int count) {
+        User user = user();
+        List<JournalEntry> journals = new ArrayList<>(count);
+        for (int day = 1; day <= count; day++) {
+            journals.add(journal(user, MONTH.atDay(day)));
+        }
+        return journals;
+    }
+
+    static JournalResponse response(LocalDate date) {
+        JournalEntry journal = journal(user(), date);
+        return JournalResponse.builder()
+                .id(journal.getId())
+                .title(journal.getTitle())
+                .content(journal.getContent())
+                .journalDate(journal.getJournalDate())
+                .mood(journal.getMood())
+                .userId(USER_ID)
+                .username("alice")
+                .createdAt(journal.getCreatedAt())
+                .updatedAt(journal.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * GET /api/journals body - the first page of 10, out of 240
+     */
+    static PageImpl<JournalResponse> page() {
+        List<JournalResponse> journals = new ArrayList<>();
+        for (int day = 1; day <= 10; day++) {
+            journals.add(response(MONTH.atDay(day)));
+        }
+        return new PageImpl<>(journals, PageRequest.of(0, 10), 240);
+    }
+
+    /**
+     * GET /api/journals/calendar body - a journal on every other day
+     */
+    static List<CalendarDayResponse> calendar() {
+        List<CalendarDayResponse> days = new ArrayList<>();
+        for (int day = 1; day <= MONTH.lengthOfMonth(); day++) {
+            boolean hasJournal = day % 2 == 1;
+            days.add(CalendarDayResponse.builder()
+                    .date(MONTH.atDay(day))
+                    .hasJournal(hasJournal)
+                    .journalId(hasJournal ? 1_000L + day : null)
+                    .title(hasJournal ? "Entry for " + MONTH.atDay(day) : null)
+                    .build());
+        }
+        return days;
+    }
+
+    static JournalEvent event() {
+        return JournalEvent.builder()
+                .eventType(EventType.JOURNAL_CREATED)
+                .journalId(1_005L)
+                .userId(USER_ID)
+                .username("alice")
+                .journalDate(MONTH.atDay(5))
+                .title("Entry for " + MONTH.atDay(5))
+                .mood(Mood.HAPPY)
+                .wordCount(112)
+                .timestamp(MONTH.atDay(5).atTime(21, 30))
+                .build();
+    }
+
+    /**
+     * JournalRepository answering the reads JournalService makes from the given rows, in memory -
+     * only the service's own CPU work is measured
+     */
+    static JournalRepository repository(List<JournalEntry> journals) {
+        return (JournalRepository) Proxy.newProxyInstance(
+                JournalRepository.class.getClassLoader(),
+                new Class<?>[]{JournalRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUserIdAndDateRange" -> journals;
+                    case "findByUserIdAndJournalDateAndDeletedFalse" -> journals.stream()
+                            .filter(journal -> journal.getJournalDate().equals(args[1]))
+                            .findFirst();
+                    case "findByUserIdAndDeletedFalse" -> new PageImpl<>(journals, (Pageable) args[1], journals.size());
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "JournalRepository(fixtures)";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,100 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pro.Journal_Entry.cache.RedisCircuitBreaker;
+import com.pro.Journal_Entry.cache.TieredCache;
+import com.pro.Journal_Entry.diagnostics.ContinuousRecording;
+import com.pro.Journal_Entry.security.JwtAuthenticationFilter;
+import com.pro.Journal_Entry.security.JwtUtil;
+import com.pro.Journal_Entry.security.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the always-on JFR recording (ContinuousRecording) on instrumented hot paths
+ *
+ * jfr=off - no recording; the journal.* events are disabled, begin/end/shouldCommit only
+ * jfr=events - only the journal.* events at their thresholds (settings: none)
+ * jfr=on  - the continuous recording as configured in application.yml: JDK "default"
+ *           settings plus journal.* events at their production thresholds
+ *
+ * authenticate - JwtAuthenticationFilter with a valid token (journal.Auth)
+ * cacheLookup  - TieredCache L1 miss -> L2 hit (journal.Cache), L2 is an in-memory map
+ *
+ * These are micro paths, so the events show up as a fixed cost per instrumented call
+ * (two clock reads + a threshold check), not as a percentage. The cost per request -
+ * including the JDK's own events - is measured by JfrRequestOverheadBenchmark (journal-api tests).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class JfrOverheadBenchmark {
+
+    @Param({"off", "events", "on"})
+    public String jfr;
+
+    private ContinuousRecording recording;
+    private JwtAuthenticationFilter filter;
+    private String header;
+    private TieredCache cache;
+
+    @Setup
+    public void setup() {
+        if (!"off".equals(jfr)) {
+            recording = new ContinuousRecording("on".equals(jfr) ? "default" : "none", Duration.ofMinutes(30), DataSize.ofMegabytes(256),
+                    Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(20), Duration.ofMillis(50));
+            recording.start();
+        }
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtUtil jwtUtil = new JwtUtil(Fixtures.SECRET, 86_400_000L, 1_209_600_000L);
+        UserDetailsCache userDetailsCache = new UserDetailsCache(null, 1_000, Duration.ofMinutes(5));
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsCache,
+                JwtFilterBenchmark.revocationWithEmptyLog(), "claims", meterRegistry);
+        header = "Bearer " + jwtUtil.generateToken("alice", 42L, "ROLE_USER");
+
+        cache = new TieredCache("journals",
+                Caffeine.newBuilder().maximumSize(1_000).build(),
+                new ConcurrentMapCache("journals"),
+                null,
+                new RedisCircuitBreaker(null, meterRegistry, 5, Duration.ofSeconds(5)));
+        cache.put("42_2026-01-01", "journal");
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (recording != null) {
+            recording.stop();
+        }
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/journals");
+        request.addHeader("Authorization", header);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object cacheLookup() {
+        cache.evictLocal("42_2026-01-01");
+        return cache.get("42_2026-01-01");
+    }
+}
@@ -0,0 +1,55 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.pro.Journal_Entry.dto.JournalEvent;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JournalEvent on the journal-events topic - configured like the producer (KafkaProducerConfig)
+ * and the consumers (kafkaConsumerConfig, WorkerKafkaConfig: JournalEvent target, no type headers)
+ *
+ * encode - every journal write in journal-api
+ * decode - every record in journal-worker and in each API node's invalidation listener
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class JournalEventBenchmark {
+
+    private static final String TOPIC = "journal-events";
+
+    private JsonSerializer<JournalEvent> serializer;
+    private JsonDeserializer<JournalEvent> deserializer;
+    private JournalEvent event;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        serializer = new JsonSerializer<>();
+        deserializer = new JsonDeserializer<>(JournalEvent.class, false);
+        event = Fixtures.event();
+        bytes = serializer.serialize(TOPIC, event);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public JournalEvent decode() {
+        return deserializer.deserialize(TOPIC, bytes);
+    }
+}
@@ -0,0 +1,48 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.pro.Journal_Entry.dto.JournalResponse;
+import com.pro.Journal_Entry.service.JournalService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JournalService.mapToResponse - entity -> JournalResponse on every read that misses the cache
+ *
+ * single - getJournalByDate: one lookup + one mapping
+ * page   - getUserJournals: a page of 20 mapped through Page.map
+ *
+ * The service is used without its Spring proxy (no cache, no @Timed) on an in-memory repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class JournalMappingBenchmark {
+
+    private JournalService journalService;
+    private LocalDate date;
+    private PageRequest pageRequest;
+
+    @Setup
+    public void setup() {
+        journalService = new JournalService(Fixtures.repository(Fixtures.month(20)), null, null, null);
+        date = Fixtures.MONTH.atDay(1);
+        pageRequest = PageRequest.of(0, 20);
+    }
+
+    @Benchmark
+    public JournalResponse single() {
+        return journalService.getJournalByDate(Fixtures.USER_ID, date);
+    }
+
+    @Benchmark
+    public Page<JournalResponse> page() {
+        return journalService.getUserJournals(Fixtures.USER_ID, pageRequest);
+    }
+}
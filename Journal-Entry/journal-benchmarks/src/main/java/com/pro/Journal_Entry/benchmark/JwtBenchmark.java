@@ -0,0 +1,55 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.pro.Journal_Entry.security.JwtPrincipal;
+import com.pro.Journal_Entry.security.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil - runs on every request (parse) and on every login / refresh (generate)
+ *
+ * generate - access token: claims map, header + payload JSON, HMAC-SHA256, Base64url
+ * parse    - a valid access token: signature + expiration + typ check -> JwtPrincipal
+ * validate - a token signed with another key: the rejection path (forged tokens, old secret)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String forged;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(Fixtures.SECRET, 900_000L, 1_209_600_000L);
+        token = jwtUtil.generateToken("alice", Fixtures.USER_ID, "ROLE_USER");
+        forged = new JwtUtil(Fixtures.OTHER_SECRET, 900_000L, 1_209_600_000L)
+                .generateToken("alice", Fixtures.USER_ID, "ROLE_ADMIN");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("alice", Fixtures.USER_ID, "ROLE_USER");
+    }
+
+    @Benchmark
+    public JwtPrincipal parse() {
+        return jwtUtil.parse(token);
+    }
+
+    @Benchmark
+    public Object validate() {
+        try {
+            return jwtUtil.parse(forged);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+}
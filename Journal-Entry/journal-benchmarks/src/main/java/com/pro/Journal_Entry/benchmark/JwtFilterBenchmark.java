@@ -0,0 +1,128 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.pro.Journal_Entry.security.JwtAuthenticationFilter;
+import com.pro.Journal_Entry.security.JwtPrincipal;
+import com.pro.Journal_Entry.security.JwtUtil;
+import com.pro.Journal_Entry.security.TokenRevocationService;
+import com.pro.Journal_Entry.security.UserDetailsCache;
+import com.pro.Journal_Entry.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request with a valid Bearer token
+ *
+ * legacy  - the old pipeline: key rebuilt from the Base64 secret on every call,
+ *           token verified in extractUsername, twice in validateToken and once
+ *           more in JournalController.getUserIdFromToken (4 HMAC verifications)
+ * current - JwtAuthenticationFilter + JwtUtil.parse (1 verification, key built once),
+ *           revocation check (Bloom negative), authorities from the role claim,
+ *           then reading the userId from the JwtPrincipal like the controller does
+ * currentUserDetails - the same filter with security.jwt.authorities=user-details
+ *           (UserDetailsCache hit)
+ *
+ * The user lookup and Redis are stubbed so only the in-process work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class JwtFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private JwtAuthenticationFilter userDetailsFilter;
+    private UserDetailsServiceImpl userDetailsService;
+    private String header;
+
+    @Setup
+    public void setup() {
+        UserDetails user = User.withUsername("alice").password("x").authorities("ROLE_USER").build();
+        userDetailsService = new UserDetailsServiceImpl(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        };
+
+        JwtUtil jwtUtil = new JwtUtil(Fixtures.SECRET, 86_400_000L, 1_209_600_000L);
+        UserDetailsCache userDetailsCache = new UserDetailsCache(userDetailsService, 1_000, Duration.ofMinutes(5));
+        TokenRevocationService revocation = revocationWithEmptyLog();
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsCache, revocation, "claims", new SimpleMeterRegistry());
+        userDetailsFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsCache, revocation, "user-details", new SimpleMeterRegistry());
+        header = "Bearer " + jwtUtil.generateToken("alice", 42L, "ROLE_USER");
+    }
+
+    @Benchmark
+    public Long current() throws Exception {
+        return authenticate(filter);
+    }
+
+    @Benchmark
+    public Long currentUserDetails() throws Exception {
+        return authenticate(userDetailsFilter);
+    }
+
+    private Long authenticate(JwtAuthenticationFilter jwtFilter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/journals");
+        request.addHeader("Authorization", header);
+        try {
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            JwtPrincipal principal = (JwtPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            return principal.userId();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Long legacy() {
+        String jwt = header.substring(7);
+        String username = parseLegacy(jwt).getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        boolean valid = parseLegacy(jwt).getSubject().equals(userDetails.getUsername())
+                && !parseLegacy(jwt).getExpiration().before(new Date());
+        if (!valid) {
+            throw new IllegalStateException("token rejected");
+        }
+        return parseLegacy(header.substring(7)).get("userId", Long.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static TokenRevocationService revocationWithEmptyLog() {
+        StringRedisTemplate redis = Mockito.mock(StringRedisTemplate.class);
+        ZSetOperations<String, String> zSet = Mockito.mock(ZSetOperations.class);
+        Mockito.when(redis.opsForZSet()).thenReturn(zSet);
+        Mockito.when(zSet.rangeByScoreWithScores(Mockito.anyString(), Mockito.anyDouble(), Mockito.anyDouble()))
+                .thenReturn(Set.of());
+        TokenRevocationService revocation = new TokenRevocationService(
+                redis, new SimpleMeterRegistry(), 100_000, 0.001, 900_000L, true);
+        revocation.rebuild();
+        return revocation;
+    }
+
+    private static Claims parseLegacy(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(Fixtures.SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
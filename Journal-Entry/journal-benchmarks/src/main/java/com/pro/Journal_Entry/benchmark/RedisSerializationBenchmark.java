@@ -0,0 +1,55 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.pro.Journal_Entry.config.RedisConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis values - the serializer RedisConfig builds (Jackson with default typing, JavaTimeModule)
+ * The cache manager's L2 uses the same ObjectMapper configuration.
+ *
+ * payload:
+ * journal  - one JournalResponse ("journals" cache, ~600 characters of content)
+ * calendar - 31 CalendarDayResponse ("calendar" cache)
+ *
+ * serialize   - put / backfill
+ * deserialize - every L2 hit (the type ids are read back and checked)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class RedisSerializationBenchmark {
+
+    @Param({"journal", "calendar"})
+    public String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        // never started - the template only needs a factory to be built
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory();
+        serializer = (RedisSerializer<Object>) new RedisConfig().redisTemplate(connectionFactory).getValueSerializer();
+        value = "journal".equals(payload) ? Fixtures.response(Fixtures.MONTH.atDay(5)) : Fixtures.calendar();
+        bytes = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+}
@@ -0,0 +1,116 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pro.Journal_Entry.config.ContentNegotiationConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs CBOR vs Smile for typical responses (see ContentNegotiationConfig)
+ *
+ * payload:
+ * page     - Page of 10 JournalResponse (GET /api/journals), ~600 characters of content each
+ * calendar - 31 CalendarDayResponse (GET /api/journals/calendar), about half with a journal
+ *
+ * write - server side encode, read - client side parse (to a tree, no typed DTO on the client)
+ * Both use the mappers the API serves with (servedMapper), not freshly built ones.
+ * The payload sizes are reported by PayloadSizeTest, not here - they don't depend on the machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class SerializationBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"page", "calendar"})
+    public String payload;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper mapper;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        context = jacksonContext();
+        mapper = servedMapper(context, mediaType(format));
+        value = payload(payload);
+        encoded = mapper.writeValueAsBytes(value);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Spring Boot's Jackson setup (application.yml) and ContentNegotiationConfig, started
+     * without the web server
+     */
+    static ConfigurableApplicationContext jacksonContext() {
+        return new SpringApplicationBuilder(JacksonAutoConfiguration.class, ContentNegotiationConfig.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run();
+    }
+
+    /**
+     * The mapper of the converter the API writes this media type with
+     */
+    static ObjectMapper servedMapper(ConfigurableApplicationContext context, MediaType mediaType) {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter(context.getBean(ObjectMapper.class)));
+        context.getBean(ContentNegotiationConfig.class).extendMessageConverters(converters);
+        return converters.stream()
+                .filter(converter -> converter.getSupportedMediaTypes().contains(mediaType))
+                .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        return mapper.readTree(encoded);
+    }
+
+    static MediaType mediaType(String format) {
+        return switch (format) {
+            case "json" -> MediaType.APPLICATION_JSON;
+            case "cbor" -> MediaType.APPLICATION_CBOR;
+            case "smile" -> new MediaType("application", "x-jackson-smile");
+            default -> throw new IllegalArgumentException(format);
+        };
+    }
+
+    static Object payload(String payload) {
+        return switch (payload) {
+            case "page" -> Fixtures.page();
+            case "calendar" -> Fixtures.calendar();
+            default -> throw new IllegalArgumentException(payload);
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.pro.Journal_Entry.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Size of the SerializationBenchmark payloads per format, raw and gzipped, with the mappers the API
+ * serves with. The sizes are logged at INFO - they are the same on every machine, so they are
+ * checked here instead of being printed from a benchmark.
+ */
+class PayloadSizeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PayloadSizeTest.class);
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() {
+        context = SerializationBenchmark.jacksonContext();
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"page", "calendar"})
+    void binaryFormatsAreSmallerThanJson(String payload) throws IOException {
+        int json = size(payload, "json");
+        int cbor = size(payload, "cbor");
+        int smile = size(payload, "smile");
+
+        assertTrue(cbor < json, () -> payload + ": cbor " + cbor + " bytes, json " + json);
+        assertTrue(smile < json, () -> payload + ": smile " + smile + " bytes, json " + json);
+    }
+
+    private static int size(String payload, String format) throws IOException {
+        byte[] encoded = SerializationBenchmark.servedMapper(context, SerializationBenchmark.mediaType(format))
+                .writeValueAsBytes(SerializationBenchmark.payload(payload));
+        log.info("{} {}: {} bytes, {} gzip", payload, format, encoded.length, gzip(encoded));
+        return encoded.length;
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
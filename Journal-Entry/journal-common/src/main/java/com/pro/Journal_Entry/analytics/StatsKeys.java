@@ -0,0 +1,41 @@
+package com.pro.Journal_Entry.analytics;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Redis key layout for journal analytics rollups
+ *
+ * stats:{userId}:entry:{journalId}  - hash, last applied contribution of one journal (for idempotency)
+ * stats:{userId}:day:{yyyy-MM-dd}   - hash, daily rollup
+ * stats:{userId}:month:{yyyy-MM}    - hash, monthly rollup
+ *
+ * Rollup fields: entries, words, mood:{MOOD}, weekday:{DAY_OF_WEEK} (monthly only)
+ * {userId} is a Redis Cluster hash tag - all keys of one user live on the same slot
+ */
+public final class StatsKeys {
+
+    public static final String ENTRIES = "entries";
+    public static final String WORDS = "words";
+    public static final String MOOD_PREFIX = "mood:";
+    public static final String WEEKDAY_PREFIX = "weekday:";
+
+    private StatsKeys() {
+    }
+
+    public static String userPrefix(Long userId) {
+        return "stats:{" + userId + "}";
+    }
+
+    public static String entry(Long userId, Long journalId) {
+        return userPrefix(userId) + ":entry:" + journalId;
+    }
+
+    public static String day(Long userId, LocalDate date) {
+        return userPrefix(userId) + ":day:" + date;
+    }
+
+    public static String month(Long userId, YearMonth month) {
+        return userPrefix(userId) + ":month:" + month;
+    }
+}
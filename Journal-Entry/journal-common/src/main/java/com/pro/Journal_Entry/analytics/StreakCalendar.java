@@ -0,0 +1,217 @@
+package com.pro.Journal_Entry.analytics;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Compact set of the days a user wrote a journal
+ *
+ * One long[6] (384 bits, 366 used) per year, bit (dayOfYear - 1) = journal written.
+ * Ten years of history = 60 longs = 480 bytes.
+ * Streaks are answered with word-level bit operations instead of walking dates one by one.
+ *
+ * Redis keeps the same bits as a bitmap per year (SETBIT offset = dayOfYear - 1),
+ * see fromRedisBitmap / toRedisBitmap for the byte order conversion.
+ *
+ * Thread-safe: event consumers update while HTTP threads read.
+ */
+public class StreakCalendar {
+
+    public static final int WORDS_PER_YEAR = 6;
+
+    private final NavigableMap<Integer, long[]> years = new TreeMap<>();
+
+    public synchronized void set(LocalDate date) {
+        int index = date.getDayOfYear() - 1;
+        years.computeIfAbsent(date.getYear(), y -> new long[WORDS_PER_YEAR])[index >>> 6] |= 1L << index;
+    }
+
+    public synchronized void clear(LocalDate date) {
+        long[] words = years.get(date.getYear());
+        if (words != null) {
+            int index = date.getDayOfYear() - 1;
+            words[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    public synchronized boolean contains(LocalDate date) {
+        long[] words = years.get(date.getYear());
+        int index = date.getDayOfYear() - 1;
+        return words != null && (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public synchronized void putYear(int year, long[] words) {
+        years.put(year, words.clone());
+    }
+
+    /**
+     * Consecutive days ending today, or ending yesterday if today is not written yet
+     * (the streak is still alive until the day is over)
+     */
+    public synchronized int currentStreak(LocalDate today) {
+        if (contains(today)) {
+            return countBackwards(today);
+        }
+        LocalDate yesterday = today.minusDays(1);
+        return contains(yesterday) ? countBackwards(yesterday) : 0;
+    }
+
+    /**
+     * Longest run of consecutive days over the whole history
+     */
+    public synchronized int longestStreak() {
+        RunTracker tracker = new RunTracker();
+        Integer previousYear = null;
+
+        for (Map.Entry<Integer, long[]> entry : years.entrySet()) {
+            int year = entry.getKey();
+            if (previousYear != null && previousYear != year - 1) {
+                tracker.breakRun();  // a year without any journal in between
+            }
+            scan(entry.getValue(), 0, Year.of(year).length(), tracker);
+            previousYear = year;
+        }
+        return tracker.best;
+    }
+
+    /**
+     * Longest run of consecutive days inside one month
+     */
+    public synchronized int longestStreak(YearMonth month) {
+        long[] words = years.get(month.getYear());
+        if (words == null) {
+            return 0;
+        }
+        RunTracker tracker = new RunTracker();
+        scan(words, firstIndex(month), firstIndex(month) + month.lengthOfMonth(), tracker);
+        return tracker.best;
+    }
+
+    /**
+     * Number of days written inside one month
+     */
+    public synchronized int daysWritten(YearMonth month) {
+        long[] words = years.get(month.getYear());
+        if (words == null) {
+            return 0;
+        }
+        int from = firstIndex(month);
+        int to = from + month.lengthOfMonth();
+        int count = 0;
+        for (int w = from >>> 6; w <= (to - 1) >>> 6; w++) {
+            int lo = Math.max(from, w << 6) - (w << 6);
+            int hi = Math.min(to, (w + 1) << 6) - (w << 6);
+            count += Long.bitCount((words[w] >>> lo) & mask(hi - lo));
+        }
+        return count;
+    }
+
+    // ===== Redis bitmap conversion =====
+
+    /**
+     * Redis bitmaps are MSB-first per byte (offset 0 = bit 7 of byte 0),
+     * the words here are LSB-first, so every byte is bit-reversed
+     */
+    public static long[] fromRedisBitmap(byte[] bitmap) {
+        long[] words = new long[WORDS_PER_YEAR];
+        if (bitmap == null) {
+            return words;
+        }
+        int length = Math.min(bitmap.length, WORDS_PER_YEAR * 8);
+        for (int i = 0; i < length; i++) {
+            long reversed = Integer.reverse(bitmap[i] & 0xFF) >>> 24;
+            words[i >>> 3] |= reversed << ((i & 7) << 3);
+        }
+        return words;
+    }
+
+    public static byte[] toRedisBitmap(long[] words) {
+        byte[] bitmap = new byte[WORDS_PER_YEAR * 8];
+        for (int i = 0; i < bitmap.length; i++) {
+            int value = (int) (words[i >>> 3] >>> ((i & 7) << 3)) & 0xFF;
+            bitmap[i] = (byte) (Integer.reverse(value) >>> 24);
+        }
+        return bitmap;
+    }
+
+    // ===== Bit helpers =====
+
+    private int countBackwards(LocalDate from) {
+        int count = 0;
+        int year = from.getYear();
+        int index = from.getDayOfYear() - 1;
+
+        while (true) {
+            long[] words = years.get(year);
+            if (words == null) {
+                return count;
+            }
+            while (index >= 0) {
+                int bit = index & 63;
+                // move bit "index" to the top, then count leading ones
+                int ones = Long.numberOfLeadingZeros(~(words[index >>> 6] << (63 - bit)));
+                count += ones;
+                if (ones < bit + 1) {
+                    return count;
+                }
+                index -= ones;
+            }
+            year--;
+            index = Year.of(year).length() - 1;
+        }
+    }
+
+    private static void scan(long[] words, int from, int to, RunTracker tracker) {
+        for (int w = from >>> 6; w <= (to - 1) >>> 6; w++) {
+            int lo = Math.max(from, w << 6) - (w << 6);
+            int hi = Math.min(to, (w + 1) << 6) - (w << 6);
+            int n = hi - lo;
+            tracker.accept((words[w] >>> lo) & mask(n), n);
+        }
+    }
+
+    private static int firstIndex(YearMonth month) {
+        return month.atDay(1).getDayOfYear() - 1;
+    }
+
+    private static long mask(int bits) {
+        return bits == 64 ? -1L : (1L << bits) - 1;
+    }
+
+    /**
+     * Tracks the longest run across consecutive chunks of bits (lowest bit = earliest day)
+     */
+    private static final class RunTracker {
+        int run;
+        int best;
+
+        void accept(long bits, int n) {
+            if (bits == mask(n)) {
+                run += n;
+                best = Math.max(best, run);
+                return;
+            }
+            // ones at the low end continue the previous run
+            run += Long.numberOfTrailingZeros(~bits);
+            best = Math.max(best, run);
+
+            // longest run fully inside this chunk
+            int inner = 0;
+            for (long x = bits; x != 0; x &= x << 1) {
+                inner++;
+            }
+            best = Math.max(best, inner);
+
+            // ones at the high end start the next run
+            run = Long.numberOfLeadingZeros(~(bits << (64 - n)));
+        }
+
+        void breakRun() {
+            run = 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.pro.Journal_Entry.analytics;
+
+/**
+ * Redis key layout for writing streaks
+ *
+ * streak:{userId}:{year}  - bitmap, offset (dayOfYear - 1) set when a journal exists
+ * streak:{userId}:years   - set of years that have a bitmap
+ * streak:{userId}:ready   - marker, bitmaps were backfilled from the database
+ * streak:{userId}:backfill - marker (SET NX, expiring), one node is backfilling right now
+ */
+public final class StreakKeys {
+
+    private StreakKeys() {
+    }
+
+    public static String year(Long userId, int year) {
+        return "streak:{" + userId + "}:" + year;
+    }
+
+    public static String years(Long userId) {
+        return "streak:{" + userId + "}:years";
+    }
+
+    public static String ready(Long userId) {
+        return "streak:{" + userId + "}:ready";
+    }
+
+    public static String backfill(Long userId) {
+        return "streak:{" + userId + "}:backfill";
+    }
+}
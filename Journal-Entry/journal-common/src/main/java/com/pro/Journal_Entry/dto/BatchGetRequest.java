@@ -0,0 +1,28 @@
+package com.pro.Journal_Entry.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * POST /api/journals/batch-get - dates and/or ids of the caller's journals
+ */
+@Data
+public class BatchGetRequest {
+
+    @Size(max = 100, message = "At most 100 dates per request")
+    private List<@NotNull LocalDate> dates = new ArrayList<>();
+
+    @Size(max = 100, message = "At most 100 ids per request")
+    private List<@NotNull Long> ids = new ArrayList<>();
+
+    @AssertTrue(message = "dates or ids is required")
+    public boolean isNotEmpty() {
+        return (dates != null && !dates.isEmpty()) || (ids != null && !ids.isEmpty());
+    }
+}
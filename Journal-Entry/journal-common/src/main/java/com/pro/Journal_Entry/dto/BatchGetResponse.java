@@ -0,0 +1,21 @@
+package com.pro.Journal_Entry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetResponse {
+    // ordered by journalDate
+    private List<JournalResponse> journals;
+    // requested but not found (or not the caller's)
+    private List<LocalDate> missingDates;
+    private List<Long> missingIds;
+}
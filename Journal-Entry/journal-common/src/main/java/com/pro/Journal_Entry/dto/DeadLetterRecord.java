@@ -0,0 +1,27 @@
+package com.pro.Journal_Entry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A record parked in the dead-letter topic (admin view)
+ * payload is the raw record value as text - it may not be valid JSON
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterRecord {
+    private int partition;
+    private long offset;
+    private String key;
+    private Instant timestamp;
+    private String originalTopic;
+    private String exceptionClass;
+    private String exceptionMessage;
+    private String payload;
+}
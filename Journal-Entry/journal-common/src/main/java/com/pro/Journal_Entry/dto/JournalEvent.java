@@ -1,6 +1,7 @@
 package com.pro.Journal_Entry.dto;
 
 import com.pro.Journal_Entry.enums.EventType;
+import com.pro.Journal_Entry.enums.Mood;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,5 +26,7 @@ public class JournalEvent {
     private String username;
     private LocalDate journalDate;
     private String title;
+    private Mood mood;
+    private Integer wordCount;  // for analytics rollups - content itself is not sent
     private LocalDateTime timestamp;
 }
@@ -0,0 +1,24 @@
+package com.pro.Journal_Entry.dto;
+
+import com.pro.Journal_Entry.enums.Mood;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalStatsResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private long totalEntries;
+    private long totalWords;
+    private Map<Mood, Long> moodCounts;
+    private Map<DayOfWeek, Long> weekdayCounts;
+}
@@ -0,0 +1,20 @@
+package com.pro.Journal_Entry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreakResponse {
+    private int currentStreak;
+    private int longestStreak;
+    private YearMonth month;
+    private int daysWrittenInMonth;
+    private int longestStreakInMonth;
+}
@@ -0,0 +1,90 @@
+package com.pro.Journal_Entry.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreakCalendarTest {
+
+    @Test
+    void currentStreakCrossesWordAndYearBoundaries() {
+        StreakCalendar calendar = new StreakCalendar();
+        LocalDate today = LocalDate.of(2025, 1, 3);
+        for (LocalDate day = LocalDate.of(2024, 2, 20); !day.isAfter(today); day = day.plusDays(1)) {
+            calendar.set(day);
+        }
+
+        int expected = (int) (today.toEpochDay() - LocalDate.of(2024, 2, 20).toEpochDay()) + 1;
+        assertEquals(expected, calendar.currentStreak(today));
+        // today not written yet - the streak ending yesterday is still current
+        assertEquals(expected, calendar.currentStreak(today.plusDays(1)));
+        assertEquals(0, calendar.currentStreak(today.plusDays(2)));
+    }
+
+    @Test
+    void longestStreakMatchesNaiveScan() {
+        Random random = new Random(42);
+        StreakCalendar calendar = new StreakCalendar();
+        TreeSet<LocalDate> days = new TreeSet<>();
+        for (LocalDate day = LocalDate.of(2015, 1, 1); day.getYear() < 2025; day = day.plusDays(1)) {
+            if (random.nextInt(10) < 8) {
+                calendar.set(day);
+                days.add(day);
+            }
+        }
+
+        assertEquals(naiveLongest(days), calendar.longestStreak());
+
+        YearMonth month = YearMonth.of(2020, 2);
+        TreeSet<LocalDate> monthDays = new TreeSet<>(days.subSet(month.atDay(1), true, month.atEndOfMonth(), true));
+        assertEquals(monthDays.size(), calendar.daysWritten(month));
+        assertEquals(naiveLongest(monthDays), calendar.longestStreak(month));
+    }
+
+    @Test
+    void yearWithoutJournalsBreaksTheRun() {
+        StreakCalendar calendar = new StreakCalendar();
+        calendar.set(LocalDate.of(2020, 12, 31));
+        calendar.set(LocalDate.of(2022, 1, 1));
+        calendar.set(LocalDate.of(2022, 1, 2));
+
+        assertEquals(2, calendar.longestStreak());
+
+        calendar.clear(LocalDate.of(2022, 1, 2));
+        assertEquals(1, calendar.longestStreak());
+    }
+
+    @Test
+    void redisBitmapRoundTrip() {
+        StreakCalendar calendar = new StreakCalendar();
+        calendar.set(LocalDate.of(2024, 1, 1));    // offset 0
+        calendar.set(LocalDate.of(2024, 12, 31));  // offset 365
+
+        long[] words = new long[StreakCalendar.WORDS_PER_YEAR];
+        words[0] = 1L;
+        words[5] = 1L << (365 - 320);
+        byte[] bitmap = StreakCalendar.toRedisBitmap(words);
+
+        // Redis: offset 0 is the most significant bit of byte 0
+        assertEquals((byte) 0x80, bitmap[0]);
+        assertArrayEquals(words, StreakCalendar.fromRedisBitmap(bitmap));
+    }
+
+    private int naiveLongest(TreeSet<LocalDate> days) {
+        int best = 0;
+        int run = 0;
+        LocalDate previous = null;
+        for (LocalDate day : days) {
+            run = previous != null && previous.plusDays(1).equals(day) ? run + 1 : 1;
+            best = Math.max(best, run);
+            previous = day;
+        }
+        return best;
+    }
+}
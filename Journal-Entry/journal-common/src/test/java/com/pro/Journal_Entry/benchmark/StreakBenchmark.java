@@ -0,0 +1,95 @@
+package com.pro.Journal_Entry.benchmark;
+
+import com.pro.Journal_Entry.analytics.StreakCalendar;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streak queries for a user with ten years of history (~80% of days written)
+ *
+ * bitset*  - StreakCalendar (what StreakService uses)
+ * dates*   - the same answers computed from the LocalDate list that
+ *            findByUserIdAndDateRange would return
+ *
+ * Run:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main StreakBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreakBenchmark {
+
+    private StreakCalendar calendar;
+    private List<LocalDate> dates;
+    private LocalDate today;
+    private YearMonth month;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        calendar = new StreakCalendar();
+        dates = new ArrayList<>();
+        today = LocalDate.of(2026, 1, 15);
+        month = YearMonth.of(2025, 6);
+
+        for (LocalDate day = today.minusYears(10); !day.isAfter(today); day = day.plusDays(1)) {
+            // keep the last 400 days unbroken so currentStreak has real work to do
+            if (day.isAfter(today.minusDays(400)) || random.nextInt(10) < 8) {
+                calendar.set(day);
+                dates.add(day);
+            }
+        }
+    }
+
+    @Benchmark
+    public int bitsetCurrentStreak() {
+        return calendar.currentStreak(today);
+    }
+
+    @Benchmark
+    public int bitsetLongestStreak() {
+        return calendar.longestStreak();
+    }
+
+    @Benchmark
+    public int bitsetMonth() {
+        return calendar.daysWritten(month) + calendar.longestStreak(month);
+    }
+
+    @Benchmark
+    public int datesCurrentStreak() {
+        Set<LocalDate> written = new HashSet<>(dates);
+        LocalDate day = written.contains(today) ? today : today.minusDays(1);
+        int streak = 0;
+        while (written.contains(day)) {
+            streak++;
+            day = day.minusDays(1);
+        }
+        return streak;
+    }
+
+    @Benchmark
+    public int datesLongestStreak() {
+        int best = 0;
+        int run = 0;
+        LocalDate previous = null;
+        for (LocalDate day : dates) {
+            run = previous != null && previous.plusDays(1).equals(day) ? run + 1 : 1;
+            best = Math.max(best, run);
+            previous = day;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,37 @@
+package com.pro.Journal_Entry.loadtest;
+
+/**
+ * The requests of the workload mix, reported separately
+ */
+enum Endpoint {
+    CREATE("create", "POST /api/journals"),
+    GET("get", "GET /api/journals/date/{date}"),
+    CALENDAR("calendar", "GET /api/journals/calendar?month="),
+    LIST("list", "GET /api/journals?page=&size=20"),
+    SEARCH("search", "GET /api/journals/search?keyword=");
+
+    private final String key;
+    private final String request;
+
+    Endpoint(String key, String request) {
+        this.key = key;
+        this.request = request;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String request() {
+        return request;
+    }
+
+    static Endpoint of(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in mix: " + key);
+    }
+}
@@ -0,0 +1,120 @@
+package com.pro.Journal_Entry.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pro.Journal_Entry.JournalEntryApplication;
+import com.pro.Journal_Entry.db.SlowQueryLog;
+import com.pro.Journal_Entry.security.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test of journal-api, no docker-compose needed
+ *
+ * 1. StandIns: H2 (PostgreSQL mode), redis-server, one Kafka broker
+ * 2. journal-api boots in this JVM with profile "loadtest" on a random port
+ * 3. Seeder writes users and years of journals; tokens come from the app's JwtUtil
+ *    (no login per user - BCrypt is deliberately slow and not what we measure)
+ * 4. Workload: warm-up (discarded), then the measured run
+ * 5. Per endpoint p50/p95/p99/max and throughput -> console + JSON (settings.result),
+ *    compared with settings.baseline; exit code 1 when something regressed
+ *
+ * Client and server share the machine, so absolute numbers are lower than a real deployment -
+ * the point is comparing two builds with the same settings on the same machine.
+ * Run: see journal-loadtest/pom.xml
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        int regressions;
+
+        try (StandIns standIns = StandIns.start();
+             ConfigurableApplicationContext app = new SpringApplicationBuilder(JournalEntryApplication.class)
+                     .profiles("loadtest")
+                     .run(standIns.arguments())) {
+
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            List<Seeder.SeededUser> users = seed(app, settings);
+
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Workload workload = new Workload(http, baseUrl, users, settings, objectMapper);
+
+            log.info("Warm-up: {} clients for {}", settings.clients(), settings.warmup());
+            workload.run(settings.warmup());
+            // the slow-query table should show the measured run, not seeding and warm-up
+            app.getBeanProvider(SlowQueryLog.class).ifAvailable(SlowQueryLog::reset);
+
+            log.info("Measuring: {} clients for {}", settings.clients(), settings.duration());
+            Map<String, Object> summary = workload.run(settings.duration()).summary(settings.duration());
+            LoadTestReport.print(summary, settings.duration());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("timestamp", Instant.now().toString());
+            result.put("settings", settings.describe());
+            result.put("endpoints", summary);
+            Files.createDirectories(settings.result().toAbsolutePath().getParent());
+            objectMapper.writeValue(settings.result().toFile(), result);
+            System.out.println("Result saved to " + settings.result());
+
+            regressions = compare(settings, objectMapper);
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static List<Seeder.SeededUser> seed(ConfigurableApplicationContext app, LoadTestSettings settings) {
+        String passwordHash = app.getBean(PasswordEncoder.class).encode(Seeder.PASSWORD);
+        List<Seeder.SeededUser> users = new Seeder(new JdbcTemplate(app.getBean(DataSource.class)), passwordHash, settings)
+                .seed();
+        JwtUtil jwtUtil = app.getBean(JwtUtil.class);
+        for (Seeder.SeededUser user : users) {
+            user.token(jwtUtil.generateToken(user.username(), user.id(), "ROLE_USER"));
+        }
+        return users;
+    }
+
+    private static int compare(LoadTestSettings settings, ObjectMapper objectMapper) throws Exception {
+        int regressions = 0;
+        if (Files.exists(settings.baseline())) {
+            JsonNode baseline = objectMapper.readTree(settings.baseline().toFile());
+            JsonNode current = objectMapper.readTree(settings.result().toFile());
+            regressions = LoadTestReport.compare(baseline, current, settings.threshold());
+        } else {
+            System.out.println("No baseline at " + settings.baseline() + " - nothing to compare");
+        }
+
+        if (settings.updateBaseline()) {
+            Files.createDirectories(settings.baseline().toAbsolutePath().getParent());
+            Files.copy(settings.result(), settings.baseline(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + settings.baseline());
+            return 0;
+        }
+        if (regressions > 0) {
+            System.out.printf("%d regression(s) against the baseline%n", regressions);
+        }
+        return regressions;
+    }
+}
@@ -0,0 +1,173 @@
+package com.pro.Journal_Entry.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and statuses of one run, per endpoint
+ *
+ * Latency = request sent -> response body read, in microseconds (HdrHistogram, 3 significant digits).
+ * Error = anything but 2xx, or no response at all (status -1).
+ *
+ * REGRESSION against a baseline (same settings only), per endpoint:
+ * - p95 or p99 more than threshold % higher AND at least 1 ms higher (sub-millisecond jitter is noise)
+ * - throughput more than threshold % lower
+ * - error rate more than 1 percentage point higher
+ */
+final class LoadTestReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final double MIN_LATENCY_DELTA_MS = 1.0;
+    private static final double MAX_ERROR_RATE_DELTA = 0.01;
+
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    LoadTestReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    void record(Endpoint endpoint, long nanos, int status) {
+        Stats endpointStats = stats.get(endpoint);
+        endpointStats.latencies.recordValue(Math.min(HIGHEST_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos))));
+        endpointStats.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status < 200 || status > 299) {
+            endpointStats.errors.increment();
+        }
+    }
+
+    /**
+     * endpoint -> {count, errors, throughput, p50, p95, p99, max, statuses} (latencies in ms)
+     */
+    Map<String, Object> summary(Duration duration) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        Histogram all = new Histogram(HIGHEST_MICROS, 3);
+        long allErrors = 0;
+        for (Map.Entry<Endpoint, Stats> entry : stats.entrySet()) {
+            Histogram latencies = entry.getValue().latencies.copy();
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(latencies);
+            long errors = entry.getValue().errors.sum();
+            allErrors += errors;
+            Map<String, Object> row = row(latencies, errors, duration);
+            Map<String, Long> statuses = new TreeMap<>();
+            entry.getValue().statuses.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+            row.put("statuses", statuses);
+            endpoints.put(entry.getKey().key(), row);
+        }
+        endpoints.put("all", row(all, allErrors, duration));
+        return endpoints;
+    }
+
+    static void print(Map<String, Object> summary, Duration duration) {
+        System.out.printf("%nMeasured %s%n", duration);
+        String format = "%-10s %9s %7s %10s %9s %9s %9s %9s  %s%n";
+        System.out.printf(format, "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "statuses");
+        summary.forEach((endpoint, value) -> {
+            Map<?, ?> row = (Map<?, ?>) value;
+            System.out.printf(format, endpoint, row.get("count"), row.get("errors"),
+                    String.format("%.1f", (Double) row.get("throughput")),
+                    ms(row.get("p50")), ms(row.get("p95")), ms(row.get("p99")), ms(row.get("max")),
+                    row.containsKey("statuses") ? row.get("statuses") : "");
+        });
+    }
+
+    /**
+     * @return number of regressions (0 when the runs are not comparable)
+     */
+    static int compare(JsonNode baseline, JsonNode current, double threshold) {
+        if (!baseline.path("settings").equals(current.path("settings"))) {
+            System.out.println("Baseline was run with other settings, not compared: " + baseline.path("settings"));
+            return 0;
+        }
+        int regressions = 0;
+        String format = "%-10s %-11s %12s %12s %8s  %s%n";
+        System.out.printf("%nAgainst the baseline (threshold %.0f%%)%n", threshold);
+        System.out.printf(format, "endpoint", "metric", "baseline", "current", "change", "");
+        for (var entry : current.path("endpoints").properties()) {
+            JsonNode before = baseline.path("endpoints").path(entry.getKey());
+            JsonNode now = entry.getValue();
+            if (before.isMissingNode()) {
+                System.out.printf(format, entry.getKey(), "", "-", "", "", "new");
+                continue;
+            }
+            for (String metric : new String[]{"p95", "p99"}) {
+                double was = before.path(metric).asDouble();
+                double is = now.path(metric).asDouble();
+                double change = percent(was, is);
+                boolean regressed = change > threshold && is - was >= MIN_LATENCY_DELTA_MS;
+                regressions += regressed ? 1 : 0;
+                System.out.printf(format, entry.getKey(), metric + " ms", ms(was), ms(is),
+                        String.format("%+.1f%%", change), regressed ? "REGRESSION" : "");
+            }
+            double was = before.path("throughput").asDouble();
+            double is = now.path("throughput").asDouble();
+            double change = percent(was, is);
+            boolean regressed = -change > threshold;
+            regressions += regressed ? 1 : 0;
+            System.out.printf(format, entry.getKey(), "req/s", String.format("%.1f", was), String.format("%.1f", is),
+                    String.format("%+.1f%%", change), regressed ? "REGRESSION" : "");
+
+            double wasErrors = errorRate(before);
+            double isErrors = errorRate(now);
+            regressed = isErrors - wasErrors > MAX_ERROR_RATE_DELTA;
+            regressions += regressed ? 1 : 0;
+            System.out.printf(format, entry.getKey(), "errors", String.format("%.2f%%", wasErrors * 100),
+                    String.format("%.2f%%", isErrors * 100), "", regressed ? "REGRESSION" : "");
+        }
+        return regressions;
+    }
+
+    private static Map<String, Object> row(Histogram latencies, long errors, Duration duration) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        long count = latencies.getTotalCount();
+        row.put("count", count);
+        row.put("errors", errors);
+        row.put("throughput", round(count / (duration.toMillis() / 1000.0)));
+        row.put("p50", millis(latencies.getValueAtPercentile(50)));
+        row.put("p95", millis(latencies.getValueAtPercentile(95)));
+        row.put("p99", millis(latencies.getValueAtPercentile(99)));
+        row.put("max", millis(latencies.getMaxValue()));
+        return row;
+    }
+
+    private static double errorRate(JsonNode row) {
+        long count = row.path("count").asLong();
+        return count == 0 ? 0 : (double) row.path("errors").asLong() / count;
+    }
+
+    private static double percent(double was, double is) {
+        return was == 0 ? 0 : (is - was) / was * 100;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String ms(Object value) {
+        return String.format("%.2f", ((Number) value).doubleValue());
+    }
+
+    private static final class Stats {
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+    }
+}
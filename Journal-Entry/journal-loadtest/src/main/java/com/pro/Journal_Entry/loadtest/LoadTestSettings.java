@@ -0,0 +1,96 @@
+package com.pro.Journal_Entry.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of LoadTest - name=value pairs, anything not given keeps its default
+ *
+ * users=2000        seeded users
+ * years=2           journal history per user, ending at SEED_END
+ * density=0.25      share of days with an entry (0.25 ~ 180 entries per user and year)
+ * seed=42           random seed - the same settings seed the same data
+ * clients=32        closed-loop clients (each waits for its answer before the next request)
+ * warmup=PT15S      run, then discard (JIT, caches, pools)
+ * duration=PT60S    measured run
+ * mix=create=10,get=40,calendar=20,list=20,search=10   relative weights of the endpoints
+ * threshold=20      % worse than the baseline that counts as a regression (p95, p99, throughput)
+ * result=...        where the JSON result is written
+ * baseline=...      JSON result of an earlier run to compare with (missing = no comparison)
+ * update-baseline=false   copy this run over the baseline
+ */
+record LoadTestSettings(int users, int years, double density, long seed,
+                        int clients, Duration warmup, Duration duration,
+                        Map<Endpoint, Integer> mix, double threshold,
+                        Path result, Path baseline, boolean updateBaseline) {
+
+    /**
+     * Seeded history ends here (fixed, so two runs seed the same rows); creates go after it
+     */
+    static final LocalDate SEED_END = LocalDate.of(2026, 1, 1);
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got: " + arg);
+            }
+            values.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+        return new LoadTestSettings(
+                Integer.parseInt(values.getOrDefault("users", "2000")),
+                Integer.parseInt(values.getOrDefault("years", "2")),
+                Double.parseDouble(values.getOrDefault("density", "0.25")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("clients", "32")),
+                Duration.parse(values.getOrDefault("warmup", "PT15S")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                mix(values.getOrDefault("mix", "create=10,get=40,calendar=20,list=20,search=10")),
+                Double.parseDouble(values.getOrDefault("threshold", "20")),
+                Path.of(values.getOrDefault("result", "target/loadtest-result.json")),
+                Path.of(values.getOrDefault("baseline", "baseline/loadtest-baseline.json")),
+                Boolean.parseBoolean(values.getOrDefault("update-baseline", "false")));
+    }
+
+    LocalDate seedStart() {
+        return SEED_END.minusYears(years);
+    }
+
+    /**
+     * What decides whether two runs are comparable - stored with the result
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("users", users);
+        description.put("years", years);
+        description.put("density", density);
+        description.put("seed", seed);
+        description.put("clients", clients);
+        description.put("warmup", warmup.toString());
+        description.put("duration", duration.toString());
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((endpoint, weight) -> weights.put(endpoint.key(), weight));
+        description.put("mix", weights);
+        return description;
+    }
+
+    private static Map<Endpoint, Integer> mix(String value) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.split("=");
+            int parsed = Integer.parseInt(weight[1].trim());
+            if (parsed > 0) {
+                mix.put(Endpoint.of(weight[0].trim()), parsed);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix has no endpoint with a weight above 0");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,188 @@
+package com.pro.Journal_Entry.loadtest;
+
+import com.pro.Journal_Entry.enums.Mood;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Users and years of journals, written straight to the tables with JDBC batches
+ *
+ * WHY NOT THROUGH THE API?
+ * Hundreds of thousands of POSTs would take longer than the run itself, and every one of them
+ * would also send a Kafka event and evict caches that are still empty.
+ * Everything is random from settings.seed, so the same settings always seed the same rows.
+ *
+ * - users: user{n}, all with the same BCrypt hash ("password"), role ROLE_USER
+ * - journals: on `density` of the days in [seedStart, SEED_END), 20-120 words from WORDS
+ *   (so every search keyword matches a share of the rows, like real text would)
+ */
+@Slf4j
+final class Seeder {
+
+    static final String PASSWORD = "password";
+
+    static final List<String> WORDS = List.of(
+            "morning", "coffee", "walk", "river", "work", "meeting", "friend", "family", "dinner", "book",
+            "music", "rain", "sunny", "tired", "happy", "grateful", "anxious", "calm", "project", "deadline",
+            "garden", "run", "gym", "yoga", "sleep", "dream", "travel", "train", "city", "park",
+            "movie", "cooking", "bread", "market", "phone", "email", "weekend", "holiday", "birthday", "gift",
+            "learned", "wrote", "read", "talked", "laughed", "cried", "planned", "finished", "started", "forgot",
+            "mountain", "beach", "snow", "winter", "summer", "autumn", "spring", "evening", "night", "quiet",
+            "headache", "doctor", "lunch", "office", "team", "manager", "idea", "goal", "habit", "progress");
+
+    private static final int BATCH = 1_000;
+    private static final Mood[] MOODS = Mood.values();
+
+    private final JdbcTemplate jdbc;
+    private final String passwordHash;
+    private final LoadTestSettings settings;
+
+    Seeder(JdbcTemplate jdbc, String passwordHash, LoadTestSettings settings) {
+        this.jdbc = jdbc;
+        this.passwordHash = passwordHash;
+        this.settings = settings;
+    }
+
+    List<SeededUser> seed() {
+        long start = System.nanoTime();
+        Random random = new Random(settings.seed());
+
+        jdbc.update("INSERT INTO roles (name) VALUES ('ROLE_USER'), ('ROLE_ADMIN')");
+        Long roleId = jdbc.queryForObject("SELECT id FROM roles WHERE name = 'ROLE_USER'", Long.class);
+
+        LocalDateTime now = LocalDateTime.of(LoadTestSettings.SEED_END, LocalTime.NOON);
+        List<Object[]> rows = new ArrayList<>(settings.users());
+        for (int n = 0; n < settings.users(); n++) {
+            rows.add(new Object[]{"user" + n, "user" + n + "@loadtest.local", passwordHash, now, now});
+        }
+        batch("INSERT INTO users (username, email, password, created, updated_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+        List<SeededUser> users = jdbc.query("SELECT id, username FROM users ORDER BY id",
+                (resultSet, rowNum) -> new SeededUser(resultSet.getLong(1), resultSet.getString(2)));
+        batch("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)",
+                users.stream().map(user -> new Object[]{user.id(), roleId}).toList());
+
+        String insert = "INSERT INTO journal_entries (user_id, journal_date, title, content, mood, deleted, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, false, ?, ?)";
+        LocalDate first = settings.seedStart();
+        int days = (int) (LoadTestSettings.SEED_END.toEpochDay() - first.toEpochDay());
+        long journals = 0;
+        rows = new ArrayList<>(BATCH);
+        for (SeededUser user : users) {
+            int[] dates = new int[days];
+            int count = 0;
+            for (int day = 0; day < days; day++) {
+                if (random.nextDouble() >= settings.density()) {
+                    continue;
+                }
+                LocalDate date = first.plusDays(day);
+                LocalDateTime written = date.atTime(20, 0).plusMinutes(random.nextInt(240));
+                rows.add(new Object[]{user.id(), date, title(random), content(random, 20 + random.nextInt(100)),
+                        MOODS[random.nextInt(MOODS.length)].name(), written, written});
+                dates[count++] = (int) date.toEpochDay();
+                if (rows.size() == BATCH) {
+                    batch(insert, rows);
+                    rows.clear();
+                }
+            }
+            user.dates(Arrays.copyOf(dates, count));
+            journals += count;
+        }
+        batch(insert, rows);
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Seeded {} users and {} journals ({} to {}) in {} ms",
+                users.size(), journals, first, LoadTestSettings.SEED_END.minusDays(1), millis);
+        return users;
+    }
+
+    static String title(Random random) {
+        return capitalize(word(random)) + " and " + word(random);
+    }
+
+    static String content(Random random, int words) {
+        StringBuilder content = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                content.append(i % 12 == 0 ? ". " : " ");
+            }
+            content.append(i % 12 == 0 ? capitalize(word(random)) : word(random));
+        }
+        return content.append('.').toString();
+    }
+
+    static String word(Random random) {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+        }
+    }
+
+    /**
+     * A seeded user: what the workload needs to make valid requests for them
+     */
+    static final class SeededUser {
+
+        private final long id;
+        private final String username;
+        private final AtomicInteger created = new AtomicInteger();
+        private int[] dates = new int[0];
+        private String token;
+
+        SeededUser(long id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+
+        long id() {
+            return id;
+        }
+
+        String username() {
+            return username;
+        }
+
+        /**
+         * Epoch days with a seeded journal, ascending
+         */
+        int[] dates() {
+            return dates;
+        }
+
+        void dates(int[] dates) {
+            this.dates = dates;
+        }
+
+        String token() {
+            return token;
+        }
+
+        void token(String token) {
+            this.token = token;
+        }
+
+        /**
+         * A date this user has no journal on yet - after the seeded range, one per call
+         */
+        LocalDate nextFreeDate() {
+            return LoadTestSettings.SEED_END.plusDays(created.getAndIncrement());
+        }
+    }
+}
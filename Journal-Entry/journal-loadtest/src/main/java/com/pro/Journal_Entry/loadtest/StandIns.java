@@ -0,0 +1,75 @@
+package com.pro.Journal_Entry.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * The docker-compose services, in process (or as a child process for Redis)
+ *
+ * - PostgreSQL -> H2 in memory, PostgreSQL mode (same settings as journal-api's tests)
+ * - Redis      -> the redis-server binary shipped in embedded-redis, no persistence
+ * - Kafka      -> one KRaft broker from spring-kafka-test, with the journal topics
+ *
+ * arguments() points journal-api at them; everything else comes from application-loadtest.yml.
+ * (command-line arguments, because SpringApplicationBuilder.properties() are only defaults -
+ * application.yml's "host: redis" would win over them)
+ */
+@Slf4j
+final class StandIns implements AutoCloseable {
+
+    private static final String[] TOPICS = {"journal-events", "journal-events-dlt"};
+
+    private final EmbeddedKafkaKraftBroker kafka;
+    private final RedisServer redis;
+    private final int redisPort;
+
+    private StandIns(EmbeddedKafkaKraftBroker kafka, RedisServer redis, int redisPort) {
+        this.kafka = kafka;
+        this.redis = redis;
+        this.redisPort = redisPort;
+    }
+
+    static StandIns start() throws IOException {
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 3, TOPICS);
+        kafka.afterPropertiesSet();
+
+        int redisPort = freePort();
+        RedisServer redis = RedisServer.newRedisServer()
+                .port(redisPort)
+                .bind("127.0.0.1")
+                .setting("save \"\"")
+                .setting("appendonly no")
+                .build();
+        redis.start();
+        log.info("Stand-ins up: kafka={}, redis=127.0.0.1:{}", kafka.getBrokersAsString(), redisPort);
+        return new StandIns(kafka, redis, redisPort);
+    }
+
+    String[] arguments() {
+        return new String[]{
+                "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                "--spring.data.redis.host=127.0.0.1",
+                "--spring.data.redis.port=" + redisPort
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            redis.stop();
+        } catch (IOException e) {
+            log.warn("redis-server did not stop: {}", e.getMessage());
+        }
+        kafka.destroy();
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
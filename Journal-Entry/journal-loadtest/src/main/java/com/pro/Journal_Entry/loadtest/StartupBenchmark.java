@@ -0,0 +1,401 @@
+package com.pro.Journal_Entry.loadtest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pro.Journal_Entry.JournalEntryApplication;
+import com.pro.Journal_Entry.security.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start benchmark of journal-api: time from launching the JVM to the first successful
+ * GET /api/journals, per StartupMode (default, fast-start, cds, aot and combinations)
+ *
+ * 1. StandIns: redis-server and a Kafka broker, shared by every launch
+ * 2. The schema is created once in an H2 file database (target/startup) - as in production the
+ *    tables exist before a replica starts, so ddl-auto update has something to introspect
+ * 3. cds modes: one training run writes the archive (-XX:ArchiveClassesAtExit, exit on refresh)
+ * 4. runs x modes launches, round-robin so machine noise spreads over all modes; each launch
+ *    polls GET /api/journals every 20 ms with a token signed by the benchmark's own secret,
+ *    waits for the "Started ..." log line, then stops the JVM (SIGTERM)
+ * 5. Median / min / max per mode -> console + JSON (settings.result), compared with
+ *    settings.baseline; exit code 1 when a median got slower than the threshold.
+ *    -Dstartup.update-baseline=true also appends the medians to settings.history (CSV),
+ *    which is how startup time is tracked over time.
+ *
+ * "started" = the app's own "process running for" at the end of startup (JVM start included).
+ * The launched JVMs get this JVM's class path, jars only - CDS cannot archive classes from
+ * directories. So journal-api must be installed first (mvn install) and the benchmark run
+ * with -pl journal-loadtest; aot modes need that install built with -Paot.
+ * Run: see journal-loadtest/pom.xml
+ */
+@Slf4j
+public final class StartupBenchmark {
+
+    private static final String SECRET = "am91cm5hbC1zdGFydHVwLWJlbmNobWFyay1zaWduaW5nLWtleS0wMDAx";
+    private static final Path WORK = Path.of("target", "startup");
+    private static final Pattern STARTED = Pattern.compile("process running for ([\\d.]+)\\)");
+    private static final long POLL_MILLIS = 20;
+    private static final long MIN_DELTA_MS = 100;
+
+    private final StartupSettings settings;
+    private final StandIns standIns;
+    private final String classpath;
+    private final String database;
+    private final HttpClient http;
+    private final String token;
+
+    private StartupBenchmark(StartupSettings settings, StandIns standIns) {
+        this.settings = settings;
+        this.standIns = standIns;
+        this.classpath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> entry.endsWith(".jar"))
+                .collect(Collectors.joining(File.pathSeparator));
+        this.database = WORK.resolve("journaldb").toAbsolutePath().toString();
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        this.token = new JwtUtil(SECRET, TimeUnit.HOURS.toMillis(1), TimeUnit.DAYS.toMillis(1))
+                .generateToken("startup", 1L, "ROLE_USER");
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupSettings settings = StartupSettings.parse(args);
+        // no Spring Boot in this JVM, so logback's default (DEBUG) would print every broker internal
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        ((Logger) LoggerFactory.getLogger(StartupBenchmark.class)).setLevel(Level.INFO);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Map<String, Object> modes;
+
+        try (StandIns standIns = StandIns.start()) {
+            modes = new StartupBenchmark(settings, standIns).run();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("settings", settings.describe());
+        result.put("modes", modes);
+        Files.createDirectories(settings.result().toAbsolutePath().getParent());
+        objectMapper.writeValue(settings.result().toFile(), result);
+        System.out.println("Result saved to " + settings.result());
+
+        int regressions = 0;
+        if (Files.exists(settings.baseline())) {
+            regressions = compare(objectMapper.readTree(settings.baseline().toFile()),
+                    objectMapper.readTree(settings.result().toFile()), settings.threshold());
+        } else {
+            System.out.println("No baseline at " + settings.baseline() + " - nothing to compare");
+        }
+        if (settings.updateBaseline()) {
+            Files.createDirectories(settings.baseline().toAbsolutePath().getParent());
+            Files.copy(settings.result(), settings.baseline(), StandardCopyOption.REPLACE_EXISTING);
+            appendHistory(settings, result);
+            System.out.println("Baseline updated: " + settings.baseline() + ", history: " + settings.history());
+            regressions = 0;
+        } else if (regressions > 0) {
+            System.out.printf("%d startup regression(s) against the baseline%n", regressions);
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private Map<String, Object> run() throws Exception {
+        prepareDatabase();
+        Map<String, Path> archives = new LinkedHashMap<>();
+        for (StartupMode mode : settings.modes()) {
+            if (mode.cds()) {
+                archives.put(mode.name(), train(mode));
+            }
+        }
+
+        Map<String, List<Long>> firstResponse = new LinkedHashMap<>();
+        Map<String, List<Long>> started = new LinkedHashMap<>();
+        for (int run = 1; run <= settings.runs(); run++) {
+            for (StartupMode mode : settings.modes()) {
+                List<String> jvm = new ArrayList<>();
+                if (mode.cds()) {
+                    jvm.add("-XX:SharedArchiveFile=" + archives.get(mode.name()));
+                }
+                Path logFile = WORK.resolve(fileName(mode) + "-" + run + ".log");
+                long millis = launch(mode, jvm, logFile);
+                firstResponse.computeIfAbsent(mode.name(), key -> new ArrayList<>()).add(millis);
+                long startedMillis = startedMillis(logFile);
+                if (startedMillis >= 0) {
+                    started.computeIfAbsent(mode.name(), key -> new ArrayList<>()).add(startedMillis);
+                }
+                log.info("Run {}/{} {}: first response after {} ms", run, settings.runs(), mode.name(), millis);
+            }
+        }
+
+        Map<String, Object> modes = new LinkedHashMap<>();
+        firstResponse.forEach((mode, millis) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("runs", millis);
+            row.put("median", median(millis));
+            row.put("min", Collections.min(millis));
+            row.put("max", Collections.max(millis));
+            row.put("started", median(started.getOrDefault(mode, List.of())));
+            modes.put(mode, row);
+        });
+        print(modes);
+        return modes;
+    }
+
+    /**
+     * Fresh H2 file database with the schema (Hibernate create, then exit once the context is refreshed)
+     */
+    private void prepareDatabase() throws Exception {
+        Files.createDirectories(WORK);
+        try (Stream<Path> files = Files.list(WORK)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().startsWith("journaldb")).toList()) {
+                Files.delete(file);
+            }
+        }
+        List<String> command = command(StartupMode.of("default"), List.of("-Dspring.context.exit=onRefresh"),
+                StandIns.freePort(), "--spring.jpa.hibernate.ddl-auto=create");
+        runToExit(command, WORK.resolve("schema.log"));
+    }
+
+    /**
+     * CDS training run: the classes loaded until the context is refreshed go into the archive
+     */
+    private Path train(StartupMode mode) throws Exception {
+        Path archive = WORK.resolve(fileName(mode) + ".jsa").toAbsolutePath();
+        Files.deleteIfExists(archive);
+        List<String> command = command(mode, List.of("-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh"), StandIns.freePort());
+        runToExit(command, WORK.resolve(fileName(mode) + "-training.log"));
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("No CDS archive written for " + mode.name()
+                    + ", see " + WORK.resolve(fileName(mode) + "-training.log"));
+        }
+        log.info("CDS archive for {}: {} MB", mode.name(), Files.size(archive) / (1024 * 1024));
+        return archive;
+    }
+
+    /**
+     * @return milliseconds from starting the JVM to the first 200 of GET /api/journals
+     */
+    private long launch(StartupMode mode, List<String> jvm, Path logFile) throws Exception {
+        int port = StandIns.freePort();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/journals?page=0&size=20"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        List<String> command = command(mode, jvm, port);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        try {
+            long deadline = start + settings.timeout().toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + ": journal-api exited with " + process.exitValue()
+                            + " before answering, see " + logFile);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(mode.name() + ": no successful GET /api/journals within "
+                            + settings.timeout() + ", see " + logFile);
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        awaitStarted(process, logFile, deadline);
+                        return millis;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        } finally {
+            stop(process);
+        }
+    }
+
+    private List<String> command(StartupMode mode, List<String> jvm, int port, String... overrides) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(settings.jvm());
+        command.addAll(jvm);
+        if (mode.aot()) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-cp");
+        command.add(classpath);
+        command.add(JournalEntryApplication.class.getName());
+        if (mode.fastStart()) {
+            command.add("--spring.profiles.active=fast-start");
+        }
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:file:" + database
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        command.add("--spring.datasource.username=sa");
+        command.add("--spring.datasource.password=");
+        command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        command.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        command.add("--spring.sql.init.mode=never");
+        command.add("--db.reporting.connection-init-sql=SET QUERY_TIMEOUT 5000");
+        command.add("--db.slow-query.explain=EXPLAIN");
+        command.add("--jwt.secret=" + SECRET);
+        // journal-api logs DEBUG per request and bean - that would be measured too
+        command.add("--logging.level.root=WARN");
+        command.add("--logging.level.com.pro.Journal_Entry=WARN");
+        command.add("--logging.level.org.springframework.security=WARN");
+        command.add("--logging.level.org.springframework.kafka=WARN");
+        command.add("--logging.level.org.apache.kafka=ERROR");
+        command.add("--logging.level.com.pro.Journal_Entry.JournalEntryApplication=INFO");   // "Started ... in"
+        command.add("--logging.level.com.pro.Journal_Entry.startup=INFO");
+        command.addAll(Arrays.asList(standIns.arguments()));
+        command.addAll(Arrays.asList(overrides));
+        return command;
+    }
+
+    private void runToExit(List<String> command, Path logFile) throws Exception {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        if (!process.waitFor(settings.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            stop(process);
+            throw new IllegalStateException("Did not exit within " + settings.timeout() + ", see " + logFile);
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("Exited with " + process.exitValue() + ", see " + logFile);
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    /**
+     * Tomcat answers before the refresh is over - the web server starts in an earlier lifecycle phase
+     * than ContinuousRecording and the Kafka listeners. A SIGTERM right after the first 200 cancels the
+     * refresh and the "Started ..." line is never logged, so the JVM is stopped only once it is there
+     * (or the launch timeout is up).
+     */
+    private static void awaitStarted(Process process, Path logFile, long deadline) throws Exception {
+        while (process.isAlive() && System.nanoTime() < deadline
+                && !STARTED.matcher(Files.readString(logFile, StandardCharsets.UTF_8)).find()) {
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    /**
+     * "process running for" from the startup log line, -1 when missing
+     */
+    private static long startedMillis(Path logFile) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(logFile, StandardCharsets.UTF_8));
+        return matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : -1;
+    }
+
+    private static String fileName(StartupMode mode) {
+        return mode.name().replace('+', '-');
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = values.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    private static void print(Map<String, Object> modes) {
+        System.out.printf("%nTime to the first successful GET /api/journals (from JVM launch)%n");
+        String format = "%-22s %10s %9s %9s %11s %9s%n";
+        System.out.printf(format, "mode", "median ms", "min ms", "max ms", "started ms", "change");
+        Long reference = null;
+        for (Map.Entry<String, Object> entry : modes.entrySet()) {
+            Map<?, ?> row = (Map<?, ?>) entry.getValue();
+            long median = (Long) row.get("median");
+            if (reference == null) {
+                reference = median;
+            }
+            System.out.printf(format, entry.getKey(), median, row.get("min"), row.get("max"), row.get("started"),
+                    String.format("%+.1f%%", percent(reference, median)));
+        }
+    }
+
+    /**
+     * @return number of modes whose median got slower (0 when the runs are not comparable)
+     */
+    static int compare(JsonNode baseline, JsonNode current, double threshold) {
+        if (!baseline.path("settings").equals(current.path("settings"))) {
+            System.out.println("Baseline was run with other settings, not compared: " + baseline.path("settings"));
+            return 0;
+        }
+        int regressions = 0;
+        String format = "%-22s %12s %12s %8s  %s%n";
+        System.out.printf("%nAgainst the baseline (threshold %.0f%%)%n", threshold);
+        System.out.printf(format, "mode", "baseline ms", "current ms", "change", "");
+        for (var entry : current.path("modes").properties()) {
+            long was = baseline.path("modes").path(entry.getKey()).path("median").asLong();
+            long is = entry.getValue().path("median").asLong();
+            double change = percent(was, is);
+            boolean regressed = change > threshold && is - was >= MIN_DELTA_MS;
+            regressions += regressed ? 1 : 0;
+            System.out.printf(format, entry.getKey(), was, is, String.format("%+.1f%%", change),
+                    regressed ? "REGRESSION" : "");
+        }
+        return regressions;
+    }
+
+    private static void appendHistory(StartupSettings settings, Map<String, Object> result) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        if (!Files.exists(settings.history())) {
+            lines.append("timestamp,mode,runs,median_ms,min_ms,max_ms,started_ms,jvm\n");
+        }
+        Map<?, ?> modes = (Map<?, ?>) result.get("modes");
+        modes.forEach((mode, value) -> {
+            Map<?, ?> row = (Map<?, ?>) value;
+            lines.append(String.join(",", String.valueOf(result.get("timestamp")), String.valueOf(mode),
+                    String.valueOf(settings.runs()), String.valueOf(row.get("median")), String.valueOf(row.get("min")),
+                    String.valueOf(row.get("max")), String.valueOf(row.get("started")),
+                    String.join(" ", settings.jvm()))).append('\n');
+        });
+        Files.writeString(settings.history(), lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static double percent(long was, long is) {
+        return was <= 0 ? 0 : (is - was) * 100.0 / was;
+    }
+}
@@ -0,0 +1,34 @@
+package com.pro.Journal_Entry.loadtest;
+
+/**
+ * How journal-api is launched in one StartupBenchmark mode - "default" or parts joined with '+'
+ *
+ * default     - java -cp ... JournalEntryApplication, application.yml as it is
+ * fast-start  - profile fast-start (no schema update, revocation filter loaded by StartupWarmup);
+ *               measured no faster than default, see application-fast-start.yml
+ * cds         - with a class-data-sharing archive from a training run (as the Dockerfile does) -
+ *               the mode that shortens startup
+ * aot         - -Dspring.aot.enabled=true; journal-api must be built with -Paot
+ *
+ * e.g. fast-start+cds+aot
+ */
+record StartupMode(String name, boolean fastStart, boolean cds, boolean aot) {
+
+    static StartupMode of(String name) {
+        boolean fastStart = false;
+        boolean cds = false;
+        boolean aot = false;
+        for (String part : name.split("\\+")) {
+            switch (part.trim()) {
+                case "default" -> {
+                }
+                case "fast-start" -> fastStart = true;
+                case "cds" -> cds = true;
+                case "aot" -> aot = true;
+                default -> throw new IllegalArgumentException(
+                        "Unknown startup mode part '" + part + "' (default, fast-start, cds, aot)");
+            }
+        }
+        return new StartupMode(name, fastStart, cds, aot);
+    }
+}
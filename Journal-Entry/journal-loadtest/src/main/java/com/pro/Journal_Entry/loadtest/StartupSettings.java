@@ -0,0 +1,60 @@
+package com.pro.Journal_Entry.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of StartupBenchmark - name=value pairs, anything not given keeps its default
+ *
+ * runs=5            launches per mode (the median is compared)
+ * modes=default,cds,fast-start,fast-start+cds   see StartupMode
+ * jvm=-Xmx1g        JVM options of every launch, space separated
+ * timeout=PT3M      per launch, until the first successful GET /api/journals
+ * threshold=20      % slower than the baseline (median) that counts as a regression
+ * result=...        where the JSON result is written
+ * baseline=...      JSON result of an earlier run to compare with (missing = no comparison)
+ * history=...       CSV the medians are appended to whenever the baseline is updated
+ * update-baseline=false   copy this run over the baseline
+ */
+record StartupSettings(int runs, List<StartupMode> modes, List<String> jvm, Duration timeout,
+                       double threshold, Path result, Path baseline, Path history, boolean updateBaseline) {
+
+    static StartupSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got: " + arg);
+            }
+            values.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+        return new StartupSettings(
+                Integer.parseInt(values.getOrDefault("runs", "5")),
+                Arrays.stream(values.getOrDefault("modes", "default,cds,fast-start,fast-start+cds").split(","))
+                        .map(String::trim).filter(mode -> !mode.isEmpty()).map(StartupMode::of).toList(),
+                Arrays.stream(values.getOrDefault("jvm", "-Xmx1g").trim().split("\\s+"))
+                        .filter(option -> !option.isEmpty()).toList(),
+                Duration.parse(values.getOrDefault("timeout", "PT3M")),
+                Double.parseDouble(values.getOrDefault("threshold", "20")),
+                Path.of(values.getOrDefault("result", "target/startup-result.json")),
+                Path.of(values.getOrDefault("baseline", "baseline/startup-baseline.json")),
+                Path.of(values.getOrDefault("history", "baseline/startup-history.csv")),
+                Boolean.parseBoolean(values.getOrDefault("update-baseline", "false")));
+    }
+
+    /**
+     * What decides whether two runs are comparable - stored with the result
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("runs", runs);
+        description.put("modes", modes.stream().map(StartupMode::name).toList());
+        description.put("jvm", jvm);
+        return description;
+    }
+}
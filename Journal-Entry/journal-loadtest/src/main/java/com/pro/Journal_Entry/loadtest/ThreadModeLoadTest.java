@@ -0,0 +1,145 @@
+package com.pro.Journal_Entry.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against a running journal-api - platform vs virtual-thread mode
+ *
+ * Each client sends one request, waits for the answer, sends the next:
+ * 60% GET /api/journals/date/{day} (cache -> Redis), 30% GET /api/journals (Postgres),
+ * 10% GET /api/journals/calendar. Prints throughput, p50/p99/max and the status codes
+ * (503 = database bulkhead rejected, see BulkheadDataSource).
+ *
+ * Run the same load against both modes and compare:
+ *   docker compose up                                            (platform threads, Java 17)
+ *   JAVA_VERSION=21 + SPRING_THREADS_VIRTUAL_ENABLED=true        (virtual threads)
+ *   with RATE_LIMIT_ENABLED=false so the rate limiter does not cap the run
+ *
+ * mvn -pl journal-loadtest exec:exec@thread-mode -Dthread-mode.args="http://localhost:8080 user password 1000 60"
+ * args: baseUrl username password [clients=500] [seconds=60]
+ *
+ * Unlike LoadTest this one brings no stand-ins: it measures whatever is already running.
+ */
+public class ThreadModeLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+        Duration duration = Duration.ofSeconds(args.length > 4 ? Long.parseLong(args[4]) : 60);
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        HttpClient http = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = login(http, baseUrl, args[1], args[2]);
+
+        // warm-up: JIT, caches, pool connections
+        run(http, baseUrl, token, Math.min(clients, 50), Duration.ofSeconds(10), executor);
+        Result result = run(http, baseUrl, token, clients, duration, executor);
+        result.print(clients, duration);
+        executor.shutdownNow();
+    }
+
+    private static Result run(HttpClient http, String baseUrl, String token, int clients,
+                              Duration duration, ExecutorService executor) throws InterruptedException {
+        Result result = new Result();
+        long end = System.nanoTime() + duration.toNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> {
+                List<Long> latencies = new ArrayList<>();
+                while (System.nanoTime() < end) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + nextPath()))
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    latencies.add(System.nanoTime() - start);
+                    result.statuses.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+                }
+                result.add(latencies);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return result;
+    }
+
+    private static String nextPath() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        LocalDate day = LocalDate.now().minusDays(random.nextInt(60));
+        if (roll < 60) {
+            return "/api/journals/date/" + day;
+        }
+        if (roll < 90) {
+            return "/api/journals?page=" + random.nextInt(5) + "&size=10";
+        }
+        return "/api/journals/calendar?month=" + day.toString().substring(0, 7);
+    }
+
+    private static String login(HttpClient http, String baseUrl, String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(new ObjectMapper().writeValueAsString(
+                        Map.of("username", username, "password", password))))
+                .build();
+        JsonNode body = new ObjectMapper().readTree(http.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return body.get("token").asText();
+    }
+
+    private static class Result {
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+        private final List<long[]> latencies = new ArrayList<>();
+
+        synchronized void add(List<Long> clientLatencies) {
+            latencies.add(clientLatencies.stream().mapToLong(Long::longValue).toArray());
+        }
+
+        void print(int clients, Duration duration) {
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            if (all.length == 0) {
+                System.out.println("no requests completed");
+                return;
+            }
+            System.out.printf("clients=%d duration=%ds requests=%d throughput=%.0f req/s%n",
+                    clients, duration.toSeconds(), all.length, all.length / (double) duration.toSeconds());
+            System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                    ms(all, 0.50), ms(all, 0.90), ms(all, 0.99), all[all.length - 1] / 1e6);
+            System.out.println("status codes: " + statuses);
+        }
+
+        private static double ms(long[] sorted, double quantile) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)]
+                    / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.pro.Journal_Entry.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pro.Journal_Entry.enums.Mood;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The weighted request mix, replayed by closed-loop clients
+ *
+ * Each client picks an endpoint by weight and a random seeded user, sends the request with that
+ * user's token, reads the whole body and only then sends the next one. Requests are always valid:
+ * - create   - a date the user has no journal on yet (after the seeded range)
+ * - get      - one of the user's seeded dates
+ * - calendar - a month inside the seeded range
+ * - list     - one of the first 5 pages of 20, newest first
+ * - search   - a word of Seeder.WORDS (LIKE over the user's titles and contents)
+ *
+ * Closed loop: when the server slows down the clients send less, so the latencies hide the queueing
+ * an open-loop arrival rate would see (coordinated omission). Compare runs with each other, not with
+ * an SLO.
+ */
+final class Workload {
+
+    private static final Mood[] MOODS = Mood.values();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final List<Seeder.SeededUser> users;
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    Workload(HttpClient http, String baseUrl, List<Seeder.SeededUser> users,
+             LoadTestSettings settings, ObjectMapper objectMapper) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.endpoints = settings.mix().keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += settings.mix().get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    LoadTestReport run(Duration duration) throws InterruptedException {
+        LoadTestReport report = new LoadTestReport();
+        long end = System.nanoTime() + duration.toNanos();
+        List<Thread> clients = new ArrayList<>(settings.clients());
+        for (int i = 0; i < settings.clients(); i++) {
+            Thread client = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    send(report);
+                }
+            }, "loadtest-client-" + i);
+            client.start();
+            clients.add(client);
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        return report;
+    }
+
+    private void send(LoadTestReport report) {
+        Random random = ThreadLocalRandom.current();
+        Endpoint endpoint = pick(random);
+        Seeder.SeededUser user = users.get(random.nextInt(users.size()));
+        HttpRequest request = request(endpoint, user, random);
+
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            status = -1;
+        }
+        report.record(endpoint, System.nanoTime() - start, status);
+    }
+
+    private Endpoint pick(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private HttpRequest request(Endpoint endpoint, Seeder.SeededUser user, Random random) {
+        HttpRequest.Builder builder = switch (endpoint) {
+            case CREATE -> HttpRequest.newBuilder(uri("/api/journals"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody(user.nextFreeDate(), random)));
+            case GET -> HttpRequest.newBuilder(uri("/api/journals/date/" + seededDate(user, random)));
+            case CALENDAR -> HttpRequest.newBuilder(uri("/api/journals/calendar?month=" + seededMonth(random)));
+            case LIST -> HttpRequest.newBuilder(uri("/api/journals?page=" + random.nextInt(5) + "&size=20"));
+            case SEARCH -> HttpRequest.newBuilder(uri("/api/journals/search?keyword="
+                    + URLEncoder.encode(Seeder.word(random), StandardCharsets.UTF_8)));
+        };
+        return builder
+                .header("Authorization", "Bearer " + user.token())
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private String createBody(LocalDate date, Random random) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("title", Seeder.title(random));
+        body.put("content", Seeder.content(random, 20 + random.nextInt(100)));
+        body.put("journalDate", date.toString());
+        body.put("mood", MOODS[random.nextInt(MOODS.length)].name());
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One of the user's seeded dates (users without any fall back to the last seeded day: a 404)
+     */
+    private static LocalDate seededDate(Seeder.SeededUser user, Random random) {
+        int[] dates = user.dates();
+        return dates.length == 0 ? LoadTestSettings.SEED_END.minusDays(1)
+                : LocalDate.ofEpochDay(dates[random.nextInt(dates.length)]);
+    }
+
+    private YearMonth seededMonth(Random random) {
+        return YearMonth.from(settings.seedStart()).plusMonths(random.nextInt(settings.years() * 12));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
@@ -0,0 +1,20 @@
+package com.pro.Journal_Entry;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Journal Worker - processes journal-events outside the API JVM
+ *
+ * Runs the journal-group consumers (analytics rollups, streak bitmaps,
+ * retry topics / DLT) with its own threads, Redis pool and heap,
+ * so event processing never competes with HTTP requests and can be scaled on its own.
+ */
+@SpringBootApplication
+public class JournalWorkerApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(JournalWorkerApplication.class, args);
+	}
+
+}
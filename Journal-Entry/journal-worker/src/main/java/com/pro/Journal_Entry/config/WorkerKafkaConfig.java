@@ -0,0 +1,137 @@
+package com.pro.Journal_Entry.config;
+
+import com.pro.Journal_Entry.dto.JournalEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kafka Configuration for the worker
+ *
+ * Consumers for journal-events (journal-group) and the retry topics,
+ * plus the template that forwards failed records to retry topics / DLT
+ *
+ * METRICS: spring.kafka.listener (processing time per record), spring.kafka.template,
+ * kafka.consumer.* / kafka.producer.* client metrics - consumer lag is
+ * kafka.consumer.fetch.manager.records.lag(.max) per topic / partition
+ */
+@Configuration
+@EnableKafka
+public class WorkerKafkaConfig {
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    @Value("${worker.kafka.concurrency:3}")
+    private int concurrency;
+
+    @Value("${worker.kafka.max-poll-records:200}")
+    private int maxPollRecords;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final MeterRegistry meterRegistry;
+
+    public WorkerKafkaConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Consumer Factory Configuration
+     *
+     * JsonDeserializer is wrapped in ErrorHandlingDeserializer:
+     * a payload that can't be parsed becomes a DeserializationException for that
+     * one record (sent straight to the DLT) instead of failing every poll of the partition
+     */
+    @Bean
+    public ConsumerFactory<String, JournalEvent> consumerFactory(){
+        Map<String,Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG,bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG,groupId);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG,"earliest");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,maxPollRecords);
+
+        DefaultKafkaConsumerFactory<String, JournalEvent> factory = new DefaultKafkaConsumerFactory<>(
+                config,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(JournalEvent.class,false))
+        );
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Kafka Listener Container Factory
+     * concurrency = consumer threads per listener (up to the partition count)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String,JournalEvent> kafkaListenerContainerFactory(){
+        ConcurrentKafkaListenerContainerFactory<String,JournalEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setObservationEnabled(true);
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            // virtual-thread mode: consumer threads are virtual, a consumer blocked in poll() holds no platform thread
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kafka-vt-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+        return factory;
+    }
+
+    /**
+     * Kafka Template for retry topics and the dead-letter topic
+     *
+     * Failed records are forwarded as they were received:
+     * - JournalEvent (handler threw) → JSON
+     * - byte[] (payload could not be deserialized) → original bytes, untouched
+     */
+    @Bean
+    public KafkaTemplate<String,Object> retryKafkaTemplate(){
+        Map<String,Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,bootstrapServers);
+        config.put(ProducerConfig.ACKS_CONFIG,"all");
+        config.put(ProducerConfig.RETRIES_CONFIG,3);
+
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(JournalEvent.class, new JsonSerializer<>());
+
+        DefaultKafkaProducerFactory<String,Object> factory = new DefaultKafkaProducerFactory<>(
+                config,
+                new StringSerializer(),
+                new DelegatingByTypeSerializer(delegates)
+        );
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        KafkaTemplate<String,Object> template = new KafkaTemplate<>(factory);
+        template.setObservationEnabled(true);
+        return template;
+    }
+}
@@ -0,0 +1,34 @@
+package com.pro.Journal_Entry.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Where a journal event was first written in journal-events - the ordering key of the rollups
+ *
+ * Records from retry topics (and DLT replays, see DeadLetterService.replay) carry their first
+ * position in kafka_dlt-original-partition / -offset. Every forward appends another pair,
+ * so the FIRST header is the main-topic position.
+ */
+record EventPosition(int partition, long offset) {
+
+    static EventPosition of(ConsumerRecord<?, ?> record) {
+        Header partition = first(record.headers(), KafkaHeaders.DLT_ORIGINAL_PARTITION);
+        Header offset = first(record.headers(), KafkaHeaders.DLT_ORIGINAL_OFFSET);
+        if (partition == null || offset == null) {
+            return new EventPosition(record.partition(), record.offset());
+        }
+        return new EventPosition(ByteBuffer.wrap(partition.value()).getInt(),
+                ByteBuffer.wrap(offset.value()).getLong());
+    }
+
+    private static Header first(Headers headers, String name) {
+        Iterator<Header> values = headers.headers(name).iterator();
+        return values.hasNext() ? values.next() : null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.pro.Journal_Entry.service;
+
+import com.pro.Journal_Entry.analytics.StatsKeys;
+import com.pro.Journal_Entry.dto.JournalEvent;
+import com.pro.Journal_Entry.enums.EventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Analytics writer - keeps per-user daily/monthly rollups up to date from journal events
+ *
+ * Every event carries the full current state of the journal (date, mood, word count),
+ * so the Lua script can subtract what the journal contributed before and add what it
+ * contributes now. Replayed or out-of-order events are skipped by their journal-events offset
+ * (EventPosition - all events of one journal share a partition), which makes processing idempotent
+ * under Kafka's at-least-once delivery and retries. Not by timestamp: an update in the same
+ * millisecond as its create, or from a node with a slower clock, would be dropped as stale.
+ *
+ * The script gets every key it touches in KEYS (Redis Cluster): the rollups the journal was
+ * counted in before are read first, and the script re-checks that date - if a concurrent event
+ * moved the journal in between, it answers -1 and the keys are built again.
+ */
+@Service
+@Slf4j
+public class JournalAnalyticsService {
+
+    private static final RedisScript<Long> APPLY_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/apply-journal-stats.lua"), Long.class);
+    private static final long MOVED = -1;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public JournalAnalyticsService(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * @return true when applied, false when skipped (stale or incomplete) - the streak bitmap
+     *         follows only applied events (KafkaConsumerService)
+     */
+    public boolean apply(JournalEvent event, EventPosition position) {
+        if (event.getUserId() == null || event.getJournalId() == null
+                || event.getJournalDate() == null || event.getTimestamp() == null) {
+            log.warn("Skipping analytics for incomplete event: {}", event);
+            return false;
+        }
+
+        long timestamp = event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        boolean deleted = event.getEventType() == EventType.JOURNAL_DELETED;
+        Long userId = event.getUserId();
+        LocalDate date = event.getJournalDate();
+        String entryKey = StatsKeys.entry(userId, event.getJournalId());
+
+        Long applied = MOVED;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && Long.valueOf(MOVED).equals(applied); attempt++) {
+            Object appliedDate = redisTemplate.opsForHash().get(entryKey, "date");
+            LocalDate previous = appliedDate != null ? LocalDate.parse(appliedDate.toString()) : date;
+            applied = redisTemplate.execute(
+                    APPLY_SCRIPT,
+                    List.of(entryKey,
+                            StatsKeys.day(userId, date), StatsKeys.month(userId, YearMonth.from(date)),
+                            StatsKeys.day(userId, previous), StatsKeys.month(userId, YearMonth.from(previous))),
+                    String.valueOf(position.partition()),
+                    String.valueOf(position.offset()),
+                    appliedDate != null ? appliedDate.toString() : "",
+                    date.toString(),
+                    date.getDayOfWeek().name(),
+                    event.getMood() != null ? event.getMood().name() : "",
+                    String.valueOf(event.getWordCount() != null ? event.getWordCount() : 0),
+                    deleted ? "1" : "0",
+                    String.valueOf(timestamp)
+            );
+        }
+        if (Long.valueOf(MOVED).equals(applied)) {
+            // fails the record - it goes through the retry topics
+            throw new IllegalStateException("Rollups of journal " + event.getJournalId() + " kept changing, not applied");
+        }
+
+        boolean fresh = Long.valueOf(1).equals(applied);
+        log.debug("Analytics {}: event={}, journalId={}, position={}",
+                fresh ? "applied" : "skipped (stale)",
+                event.getEventType(), event.getJournalId(), position);
+        return fresh;
+    }
+}
@@ -0,0 +1,130 @@
+package com.pro.Journal_Entry.service;
+
+import com.pro.Journal_Entry.dto.JournalEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaConsumerService {
+
+    private final JournalAnalyticsService journalAnalyticsService;
+    private final StreakRecorderService streakRecorderService;
+
+/**
+ * @KafkaListener - Automatically consumes messages from topic
+ *
+ * This method runs in background whenever message arrives
+ *
+ * @RetryableTopic - Non-blocking retries
+ * A failing record is forwarded to journal-events-retry-0, -retry-1, ... (exponential backoff)
+ * and finally to journal-events-dlt, so the main partition keeps flowing.
+ * Payloads that can't be deserialized skip the retries and go straight to the DLT.
+ * The whole record is taken: its position (EventPosition) orders the analytics rollups.
+ */
+     @RetryableTopic(
+             attempts = "${kafka.retry.attempts:4}",
+             backoff = @Backoff(
+                     delayExpression = "${kafka.retry.initial-delay:1000}",
+                     multiplierExpression = "${kafka.retry.multiplier:2.0}",
+                     maxDelayExpression = "${kafka.retry.max-delay:30000}"
+             ),
+             kafkaTemplate = "retryKafkaTemplate",
+             topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+             dltTopicSuffix = "-dlt",
+             dltStrategy = DltStrategy.FAIL_ON_ERROR
+     )
+     @KafkaListener(
+             topics = "${kafka.topic.journal-events}",
+             groupId = "${spring.kafka.consumer.group-id}"
+     )
+    public void consumerJournalEvent(ConsumerRecord<String, JournalEvent> record){
+         JournalEvent event = record.value();
+         EventPosition position = EventPosition.of(record);
+
+         log.info("==========================================");
+         log.info("Kafka Event Received:");
+         log.info("Event Type: {}", event.getEventType());
+         log.info("Journal ID: {}", event.getJournalId());
+         log.info("User: {} (ID: {})", event.getUsername(), event.getUserId());
+         log.info("Journal Date: {}", event.getJournalDate());
+         log.info("Title: {}", event.getTitle());
+         log.info("Timestamp: {}", event.getTimestamp());
+         log.info("==========================================");
+
+         //Process based on event type
+         switch(event.getEventType()){
+             case JOURNAL_CREATED :
+                 handleJournalCreated(event, position);
+                 break;
+
+             case JOURNAL_UPDATED:
+                 handleJournalUpdated(event, position);
+                 break;
+
+             case JOURNAL_DELETED:
+                 handleJournalDeleted(event, position);
+                 break;
+         }
+     }
+
+    /**
+     * Handle journal created event
+     * Future: Send welcome email
+     */
+
+    private void handleJournalCreated(JournalEvent event, EventPosition position){
+        log.info("Processing JOURNAL_CREATED for user: {}",event.getUsername());
+        // TODO: Send email notification
+        // emailService.sendNewJournalNotification(event);
+
+        // a CREATED replayed after its DELETED is stale - it must not set the day again
+        if (journalAnalyticsService.apply(event, position)) {
+            streakRecorderService.record(event);
+        }
+
+        // TODO: AI mood analysis
+        // aiService.analyzeMood(event.getJournalId());
+    }
+
+    private void handleJournalUpdated(JournalEvent event, EventPosition position){
+        log.info("Processing JOURNAL_UPDATED for journal: {}",event.getJournalId());
+        journalAnalyticsService.apply(event, position);
+    }
+
+    private void handleJournalDeleted(JournalEvent event, EventPosition position){
+        log.info("Processing JOURNAL_DELETED for journal: {}",event.getJournalId());
+        if (journalAnalyticsService.apply(event, position)) {
+            streakRecorderService.record(event);
+        }
+
+        // No archival job yet: deletes are soft (deleted = true) and the row stays in journal_entries.
+        // Archiving would need a datasource in this module (it has none - Redis and Kafka only)
+        // and an archive table, so it is not done here.
+    }
+
+    /**
+     * Dead-letter handler - record is already parked in journal-events-dlt
+     * Inspect / replay through DeadLetterController
+     * (records that can't be deserialized never reach this method, the container logs them)
+     */
+    @DltHandler
+    public void handleDeadLetter(JournalEvent event,
+                                 @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                 @Header(KafkaHeaders.OFFSET) long offset,
+                                 @Header(name = KafkaHeaders.DLT_EXCEPTION_MESSAGE, required = false) String error){
+        log.error("Journal event parked in DLT: topic={}, offset={}, journalId={}, error={}",
+                topic, offset, event.getJournalId(), error);
+    }
+}
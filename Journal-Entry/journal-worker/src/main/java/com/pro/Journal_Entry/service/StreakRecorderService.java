@@ -0,0 +1,48 @@
+package com.pro.Journal_Entry.service;
+
+import com.pro.Journal_Entry.analytics.StreakKeys;
+import com.pro.Journal_Entry.dto.JournalEvent;
+import com.pro.Journal_Entry.enums.EventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Streak writer - persists the day of a created/deleted journal into the per-year Redis bitmap
+ * (once per event, journal-group consumer). The API reads these bitmaps in StreakService.
+ * Called only for events JournalAnalyticsService applied - its offset check is the ordering guard,
+ * so a stale CREATED from a retry topic or a DLT replay cannot set a deleted day again.
+ */
+@Service
+@RequiredArgsConstructor
+public class StreakRecorderService {
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void record(JournalEvent event) {
+        if (event.getUserId() == null || event.getJournalDate() == null
+                || event.getEventType() == EventType.JOURNAL_UPDATED) {
+            return;  // an update never changes the journal date
+        }
+        LocalDate date = event.getJournalDate();
+        boolean written = event.getEventType() == EventType.JOURNAL_CREATED;
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().setBit(bytes(StreakKeys.year(event.getUserId(), date.getYear())),
+                    date.getDayOfYear() - 1, written);
+            if (written) {
+                connection.setCommands().sAdd(bytes(StreakKeys.years(event.getUserId())),
+                        bytes(String.valueOf(date.getYear())));
+            }
+            return null;
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+-- Apply one journal's contribution to the daily and monthly rollups, atomically and idempotently
+--
+-- KEYS[1]  stats:{userId}:entry:{journalId}
+-- KEYS[2]  stats:{userId}:day:{date}           of the event
+-- KEYS[3]  stats:{userId}:month:{yyyy-MM}      of the event
+-- KEYS[4]  stats:{userId}:day:{date}           applied before (= KEYS[2] when none)
+-- KEYS[5]  stats:{userId}:month:{yyyy-MM}      applied before (= KEYS[3] when none)
+-- All keys carry the {userId} hash tag - one slot, so the script is valid under Redis Cluster
+--
+-- ARGV[1]  partition of the event in journal-events
+-- ARGV[2]  offset of the event in that partition - ordering key: events of one journal share a
+--          partition (key = journalId), so a lower or equal offset is a replay or out of order
+-- ARGV[3]  date applied before, as the caller read it ('' when none) - KEYS[4]/KEYS[5] were built from it
+-- ARGV[4]  journal date (yyyy-MM-dd)
+-- ARGV[5]  weekday of the journal date (MONDAY..SUNDAY)
+-- ARGV[6]  mood ('' when none)
+-- ARGV[7]  word count
+-- ARGV[8]  '1' when the journal is deleted, '0' otherwise
+-- ARGV[9]  event timestamp (epoch millis) - stored for inspection only
+--
+-- Returns 1 when applied, 0 when skipped (stale), -1 when the applied date changed since the
+-- caller read it (KEYS[4]/KEYS[5] are wrong - read again and retry)
+
+local previous = redis.call('HMGET', KEYS[1], 'partition', 'offset', 'date', 'weekday', 'mood', 'words', 'deleted')
+if (previous[3] or '') ~= ARGV[3] then
+    return -1
+end
+-- entries written before offsets were stored have no partition: the event is applied
+if previous[2] and previous[1] == ARGV[1] and tonumber(previous[2]) >= tonumber(ARGV[2]) then
+    return 0
+end
+
+local function apply(day, month, weekday, mood, words, sign)
+    for _, key in ipairs({ day, month }) do
+        redis.call('HINCRBY', key, 'entries', sign)
+        redis.call('HINCRBY', key, 'words', sign * words)
+        if mood ~= '' then
+            redis.call('HINCRBY', key, 'mood:' .. mood, sign)
+        end
+    end
+    redis.call('HINCRBY', month, 'weekday:' .. weekday, sign)
+end
+
+-- Undo what this journal contributed before
+if previous[3] and previous[7] == '0' then
+    apply(KEYS[4], KEYS[5], previous[4], previous[5], tonumber(previous[6]), -1)
+end
+
+-- Add what it contributes now
+if ARGV[8] == '0' then
+    apply(KEYS[2], KEYS[3], ARGV[5], ARGV[6], tonumber(ARGV[7]), 1)
+end
+
+redis.call('HSET', KEYS[1],
+        'partition', ARGV[1], 'offset', ARGV[2], 'ts', ARGV[9], 'date', ARGV[4], 'weekday', ARGV[5],
+        'mood', ARGV[6], 'words', ARGV[7], 'deleted', ARGV[8])
+return 1
@@ -0,0 +1,13 @@
+package com.pro.Journal_Entry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class JournalWorkerApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}